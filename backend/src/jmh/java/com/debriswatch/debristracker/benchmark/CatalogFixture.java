@@ -0,0 +1,71 @@
+package com.debriswatch.debristracker.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.debriswatch.debristracker.fetcher.TleFetcher;
+import com.debriswatch.debristracker.model.TleData;
+
+/**
+ * Recorded tle_latest response of 1000 objects (LEO, MEO, GEO; payloads,
+ * debris, rocket bodies), served through the regular fetcher parsing so the
+ * benchmarks run offline.
+ */
+public final class CatalogFixture extends TleFetcher {
+
+    public static final String RESOURCE = "/tle-catalog-1000.json";
+
+    private final byte[] json;
+
+    public CatalogFixture() {
+        try (InputStream in = CatalogFixture.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Benchmark catalog " + RESOURCE + " not found");
+            }
+            json = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String json() {
+        return new String(json, StandardCharsets.UTF_8);
+    }
+
+    public List<TleData> parse(String body) throws Exception {
+        return parseTleJson(body);
+    }
+
+    public void stream(int batchSize, Consumer<List<TleData>> sink) throws IOException {
+        parseTleStream(new ByteArrayInputStream(json), batchSize, sink);
+    }
+
+    public List<TleData> load() {
+        List<TleData> all = new ArrayList<>();
+        try {
+            stream(DEFAULT_BATCH_SIZE, all::addAll);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return all;
+    }
+
+    @Override
+    protected void authenticate() {
+    }
+
+    @Override
+    protected String fetchRawData() {
+        return json();
+    }
+
+    @Override
+    protected void saveTleData(List<TleData> tleList) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.debriswatch.debristracker.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.debriswatch.debristracker.Factory.TleObjectFactory;
+import com.debriswatch.debristracker.Factory.TleObjectFactoryImpl;
+import com.debriswatch.debristracker.model.TleData;
+
+/**
+ * Parsing of the recorded 1000-object Space-Track response and the typing of
+ * the parsed records, the CPU side of an ingest run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IngestBenchmark {
+
+    private CatalogFixture fixture;
+    private String json;
+    private List<TleData> parsed;
+    private final TleObjectFactory factory = new TleObjectFactoryImpl();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = new CatalogFixture();
+        json = fixture.json();
+        parsed = fixture.parse(json);
+    }
+
+    @Benchmark
+    public List<TleData> parseTleJson() throws Exception {
+        return fixture.parse(json);
+    }
+
+    @Benchmark
+    public void parseTleStream(Blackhole blackhole) throws Exception {
+        fixture.stream(1000, blackhole::consume);
+    }
+
+    @Benchmark
+    public void createTypedObjects(Blackhole blackhole) {
+        for (TleData tle : parsed) {
+            blackhole.consume(factory.create(tle));
+        }
+    }
+}
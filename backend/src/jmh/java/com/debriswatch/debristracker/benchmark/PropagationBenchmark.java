@@ -0,0 +1,102 @@
+package com.debriswatch.debristracker.benchmark;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.frames.StaticTransform;
+import org.orekit.time.AbsoluteDate;
+
+import com.debriswatch.debristracker.OrekitTestData;
+import com.debriswatch.debristracker.model.CatalogStore;
+import com.debriswatch.debristracker.model.OrbitPoint;
+import com.debriswatch.debristracker.model.PositionBatch;
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.service.BatchPropagationService;
+import com.debriswatch.debristracker.service.EarthModel;
+import com.debriswatch.debristracker.service.EphemerisCache;
+import com.debriswatch.debristracker.service.OrbitService;
+import com.debriswatch.debristracker.service.TlePropagatorCache;
+
+/**
+ * SGP4 propagation and the TEME to geodetic conversion on the recorded catalog,
+ * with warm propagator caches as in the running service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropagationBenchmark {
+
+    // a few hours after the fixture epochs
+    private static final Instant INSTANT = Instant.parse("2024-05-29T18:00:00Z");
+
+    private EarthModel earthModel;
+    private OrbitService orbitService;
+    private BatchPropagationService batchPropagationService;
+    private List<TleData> tles;
+    private CatalogStore catalog;
+    private AbsoluteDate date;
+    private Vector3D temePosition;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        OrekitTestData.load();
+        earthModel = new EarthModel();
+        TlePropagatorCache propagatorCache = new TlePropagatorCache(50_000);
+        orbitService = new OrbitService(null, propagatorCache, earthModel,
+                new EphemerisCache(propagatorCache, 120, 24, 1000, 256L << 20), new SimpleMeterRegistry());
+        batchPropagationService = new BatchPropagationService(propagatorCache, earthModel, new SimpleMeterRegistry(), 0, 256);
+        tles = new CatalogFixture().load();
+        catalog = CatalogStore.from(tles);
+        date = earthModel.toAbsoluteDate(INSTANT);
+        temePosition = new Vector3D(-4_400_000, 5_100_000, 1_300_000);
+        // parse every element set once, as the snapshot loop does
+        batchPropagationService.propagate(catalog, INSTANT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        batchPropagationService.shutdown();
+    }
+
+    @Benchmark
+    public OrbitPoint singleObject() {
+        TleData tle = tles.get(next++ % tles.size());
+        return orbitService.computeOrbitPoints(List.of(tle), date)[0];
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PositionBatch batchSnapshot() {
+        return batchPropagationService.propagate(catalog, INSTANT);
+    }
+
+    @Benchmark
+    public StaticTransform temeToItrf() {
+        return earthModel.toEarthFixed(earthModel.getTemeFrame(), date);
+    }
+
+    @Benchmark
+    public OrbitPoint geodeticTransform() {
+        StaticTransform transform = earthModel.toEarthFixed(earthModel.getTemeFrame(), date);
+        return earthModel.toOrbitPoint(transform.transformPosition(temePosition), date);
+    }
+}
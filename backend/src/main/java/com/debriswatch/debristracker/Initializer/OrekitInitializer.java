@@ -2,15 +2,27 @@ package com.debriswatch.debristracker.Initializer;
 
 import jakarta.annotation.PostConstruct;
 import org.orekit.data.DataContext;
+import org.orekit.data.DataProvider;
 import org.orekit.data.DirectoryCrawler;
+import org.orekit.data.ZipJarCrawler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
 import java.io.File;
 
+/**
+ * Registers the Orekit data (EOP, leap seconds) found at orekit.data.path, either
+ * the orekit-data directory or the same tree packed into one .zip/.jar archive.
+ * Nothing is read here: Orekit loads each data set on first use, so with an
+ * archive that first use opens one file instead of crawling the directory tree.
+ */
 @Configuration
 public class OrekitInitializer {
 
+    private static final Logger log = LoggerFactory.getLogger(OrekitInitializer.class);
+
     @Value("${orekit.data.path}")
     private String orekitDataPath;
 
@@ -18,14 +30,24 @@ public class OrekitInitializer {
     public void init() {
         File orekitData = new File(orekitDataPath);
 
-        if (!orekitData.exists() || !orekitData.isDirectory()) {
+        DataProvider provider;
+        if (orekitData.isDirectory()) {
+            provider = new DirectoryCrawler(orekitData);
+        } else if (orekitData.isFile() && isArchive(orekitData)) {
+            provider = new ZipJarCrawler(orekitData);
+        } else {
             throw new RuntimeException("❌ Orekit data directory not found: " + orekitData.getAbsolutePath());
         }
 
         DataContext.getDefault()
                    .getDataProvidersManager()
-                   .addProvider(new DirectoryCrawler(orekitData));
+                   .addProvider(provider);
+
+        log.info("✅ Orekit data loaded from: {}", orekitData.getAbsolutePath());
+    }
 
-        System.out.println("✅ Orekit data loaded from: " + orekitData.getAbsolutePath());
+    private static boolean isArchive(File file) {
+        String name = file.getName().toLowerCase();
+        return name.endsWith(".zip") || name.endsWith(".jar");
     }
 }
@@ -3,21 +3,21 @@ package com.debriswatch.debristracker.controller;
 import java.util.Collections;
 import java.util.List;
 
-import com.debriswatch.debristracker.model.OrbitPoint;
-import com.debriswatch.debristracker.service.OrbitService;
+import com.debriswatch.debristracker.dto.TlePageDto;
+import com.debriswatch.debristracker.service.BatchPredictionService;
+import com.debriswatch.debristracker.service.CatalogListingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.debriswatch.debristracker.model.TleData;
-import com.debriswatch.debristracker.repository.DebrisRepository;
-import com.debriswatch.debristracker.repository.RocketBodyRepository;
-import com.debriswatch.debristracker.repository.SatelliteRepository;
 import com.debriswatch.debristracker.repository.TleRepository;
 @RestController
 // adding the CrossOrigin annotation to allow requests from any origin- ELGARCH
@@ -25,48 +25,62 @@ import com.debriswatch.debristracker.repository.TleRepository;
 @RequestMapping("/api/tle")
 @CrossOrigin(origins = "*")
 public class HomeController {
-    @Autowired 
-    private RocketBodyRepository rocketBodyRepository;
-    @Autowired 
-    private DebrisRepository debrisRepository;
-    @Autowired 
-    private SatelliteRepository satelliteRepository;
+
+    private static final Logger log = LoggerFactory.getLogger(HomeController.class);
+    private static final int MAX_PAGE_SIZE = 5000;
+
     @Autowired
     private TleRepository tleRepository;
+    @Autowired
+    private CatalogListingService catalogListingService;
 
     @GetMapping("/welcome")
     public String homePage() {
         return "🚀 Welcome to Debris Tracker API";
     }
 
+    // current element set of every object of the type, one query through the current_tle pointers
     @GetMapping("/by-type")
     public ResponseEntity<List<? extends TleData>> getTleByType(@RequestParam String type) {
         try {
-            String normalized = type.trim().toUpperCase();
-
-            switch (normalized) {
-                case "ROCKET BODY":
-                    return ResponseEntity.ok(rocketBodyRepository.findAll());
-                case "DEBRIS":
-                    return ResponseEntity.ok(debrisRepository.findAll());
-                case "SATELLITE":
-                    return ResponseEntity.ok(satelliteRepository.findAll());
-                default:
-                    return ResponseEntity.badRequest().body(Collections.emptyList());
+            Class<? extends TleData> entityType = BatchPredictionService.entityType(type);
+            if (entityType == null) {
+                return ResponseEntity.badRequest().body(Collections.emptyList());
             }
+            return ResponseEntity.ok(tleRepository.findLatestByEntityType(entityType, Pageable.unpaged()));
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to load TLEs of type {}", type, e);
             return ResponseEntity.internalServerError().body(Collections.emptyList());
         }
     }
 
+    /**
+     * Endpoint: /api/tle/by-type/page?type=DEBRIS&limit=500&fields=noradCatId,objectName,tleLine1,tleLine2
+     * then &after=<nextCursor> for the following page. Served from the in-memory catalog.
+     */
+    @GetMapping("/by-type/page")
+    public ResponseEntity<TlePageDto> getTlePageByType(
+            @RequestParam String type,
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(required = false) List<String> fields
+    ) {
+        int typeCode = CatalogListingService.typeCode(type);
+        List<String> selected = fields == null || fields.isEmpty() ? CatalogListingService.DEFAULT_FIELDS : fields;
+        if (typeCode < 0 || limit < 1 || limit > MAX_PAGE_SIZE
+                || !selected.stream().allMatch(CatalogListingService::isKnownField)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(catalogListingService.page(typeCode, after, limit, selected));
+    }
+
     @GetMapping("/latest")
     public ResponseEntity<TleData> getLatestTle() {
         try {
             return ResponseEntity.ok(tleRepository.findTopByOrderByIdDataDesc());
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to load the latest TLE", e);
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -74,9 +88,9 @@ public class HomeController {
     @GetMapping("/latest-per-object")
     public ResponseEntity<List<TleData>> getLatestTlePerObject() {
         try {
-            return ResponseEntity.ok(tleRepository.findLatestTlePerObjectName());
+            return ResponseEntity.ok(tleRepository.findCurrentElementSets());
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to load the latest TLE per object", e);
             return ResponseEntity.internalServerError().body(Collections.emptyList());
         }
     }
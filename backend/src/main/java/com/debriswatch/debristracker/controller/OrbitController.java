@@ -1,22 +1,47 @@
 package com.debriswatch.debristracker.controller;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.debriswatch.debristracker.dto.BatchPredictionDto;
+import com.debriswatch.debristracker.dto.BatchPredictionRequestDto;
+import com.debriswatch.debristracker.dto.ConjunctionAlertDto;
 import com.debriswatch.debristracker.dto.OrbitResponseDto;
+import com.debriswatch.debristracker.dto.PassPredictionDto;
+import com.debriswatch.debristracker.dto.PassPredictionRequestDto;
+import com.debriswatch.debristracker.dto.PropagationStatsDto;
+import com.debriswatch.debristracker.model.BinaryOrbitFormat;
 import com.debriswatch.debristracker.model.OrbitPoint;
 import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.model.Trajectory;
 import com.debriswatch.debristracker.repository.TleRepository;
+import com.debriswatch.debristracker.service.BatchPredictionService;
+import com.debriswatch.debristracker.service.BatchPropagationService;
+import com.debriswatch.debristracker.service.ConjunctionScreeningService;
 import com.debriswatch.debristracker.service.OrbitService;
-import com.debriswatch.debristracker.service.TleService;
+import com.debriswatch.debristracker.service.OrbitSnapshotService;
+import com.debriswatch.debristracker.service.PassPredictionService;
+import com.debriswatch.debristracker.service.PositionStreamService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
 
 @RestController
 // adding the CrossOrigin annotation to allow requests from any origin- ELGARCH
@@ -25,60 +50,281 @@ import com.debriswatch.debristracker.service.TleService;
 @CrossOrigin(origins = "*")
 public class OrbitController {
 
+    // the servlet stream belongs to the container, the generator must not close it
+    private static final JsonFactory JSON = JsonFactory.builder().disable(StreamWriteFeature.AUTO_CLOSE_TARGET).build();
+    private static final int STREAM_FLUSH_EVERY = 256;
+
     private final OrbitService orbitService;
     private final TleRepository tleRepository;
-    private final TleService tleservice;
-    public OrbitController(OrbitService orbitService, TleRepository tleRepository,TleService tleservice) {
+    private final OrbitSnapshotService snapshotService;
+    private final BatchPropagationService batchPropagationService;
+    private final ConjunctionScreeningService screeningService;
+    private final PositionStreamService positionStreamService;
+    private final BatchPredictionService batchPredictionService;
+    private final PassPredictionService passPredictionService;
+    private final int maxPredictDays;
+    private final int maxPredictPoints;
+    private final int maxBatchPoints;
+    public OrbitController(OrbitService orbitService, TleRepository tleRepository, OrbitSnapshotService snapshotService,
+                           BatchPropagationService batchPropagationService, ConjunctionScreeningService screeningService,
+                           PositionStreamService positionStreamService, BatchPredictionService batchPredictionService,
+                           PassPredictionService passPredictionService,
+                           @Value("${orbit.predict.max-days:30}") int maxPredictDays,
+                           @Value("${orbit.predict.max-points:100000}") int maxPredictPoints,
+                           @Value("${orbit.predict.batch.max-points:2000000}") int maxBatchPoints) {
         this.orbitService = orbitService;
         this.tleRepository = tleRepository;
-        this. tleservice= tleservice;
+        this.snapshotService = snapshotService;
+        this.batchPropagationService = batchPropagationService;
+        this.screeningService = screeningService;
+        this.positionStreamService = positionStreamService;
+        this.batchPredictionService = batchPredictionService;
+        this.passPredictionService = passPredictionService;
+        this.maxPredictDays = maxPredictDays;
+        this.maxPredictPoints = maxPredictPoints;
+        this.maxBatchPoints = maxBatchPoints;
     }
 
+    /**
+     * Serves the latest precomputed snapshot, see {@link OrbitSnapshotService}.
+     */
     @GetMapping("/realtime")
     public List<OrbitResponseDto> getRealTimeOrbits() {
-        tleservice.clearAllTleRelatedData(); // drop all existing data from the databse for optimisation
-        tleservice.fetchAndProcessTleData();   // fetch data and process it 
-        List<TleData> tleList = tleRepository.findLatestTlePerObjectName();   // find latest tle data per object 
-        return tleList.stream()
-                .map(tle -> {
-                    OrbitPoint point = orbitService.computeCurrentOrbitPoint(tle);
-                    if (point != null) {
-                        return new OrbitResponseDto(
-                                tle.getObjectName(),
-                                point.getLatitude(),
-                                point.getLongitude(),
-                                point.getAltitude()
-                        );
-                    } else {
-                        return null; 
-                    }
-                })
-                .filter(Objects::nonNull)
-                .toList();
+        return snapshotService.getSnapshot().getPositions();
+    }
+
+    /**
+     * Same snapshot in the compact binary layout of {@link BinaryOrbitFormat},
+     * selected with Accept: application/vnd.spaceshield.orbit.
+     */
+    @GetMapping(value = "/realtime", produces = BinaryOrbitFormat.MEDIA_TYPE)
+    public byte[] getRealTimeOrbitsBinary() {
+        return BinaryOrbitFormat.encodePositions(snapshotService.getSnapshot().getBatch());
+    }
+
+    /**
+     * Server-Sent Events feed of the same positions: one "dictionary" event, then
+     * quantized "keyframe"/"delta" frames, see {@link PositionStreamService}.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPositions() {
+        return positionStreamService.subscribe();
+    }
+
+    /**
+     * Throughput of the last whole-catalog propagation (objects per second, per core).
+     */
+    @GetMapping("/propagation-stats")
+    public PropagationStatsDto getPropagationStats() {
+        return batchPropagationService.getStats();
+    }
+
+    /**
+     * Close approaches found by the last screening run, see {@link ConjunctionScreeningService}.
+     */
+    @GetMapping("/alerts")
+    public List<ConjunctionAlertDto> getConjunctionAlerts() {
+        return screeningService.getLatestAlerts();
     }
 
 
     /**
      * Endpoint: /api/orbit/predict?objectName=EXPLORER%201&days=2
+     * Optional: start=2024-05-29T12:00:00Z (defaults to the TLE epoch), stepSeconds=600
      */
     @GetMapping("/predict")
     public ResponseEntity<List<OrbitPoint>> predictOrbit(
             @RequestParam String objectName,
-            @RequestParam(defaultValue = "1") int days
+            @RequestParam(defaultValue = "1") int days,
+            @RequestParam(required = false) Instant start,
+            @RequestParam(defaultValue = "600") double stepSeconds
     ) {
-        // Cap the max days for performance
-        if (days < 1 || days > 3) {
+        ResponseEntity<Trajectory> prediction = predictTrajectory(objectName, days, start, stepSeconds);
+        if (prediction.getStatusCode().value() == 400) {
             return ResponseEntity.badRequest().body(Collections.emptyList());
         }
+        if (prediction.getBody() == null) {
+            return ResponseEntity.status(prediction.getStatusCode()).build();
+        }
+        return ResponseEntity.ok(prediction.getBody().toOrbitPoints());
+    }
 
-        // Fetch latest TLE for given object
-        TleData tle = tleRepository.findTopByObjectNameOrderByEpochDesc(objectName);
+    /**
+     * Binary variant of /predict, see {@link BinaryOrbitFormat}.
+     */
+    @GetMapping(value = "/predict", produces = BinaryOrbitFormat.MEDIA_TYPE)
+    public ResponseEntity<byte[]> predictOrbitBinary(
+            @RequestParam String objectName,
+            @RequestParam(defaultValue = "1") int days,
+            @RequestParam(required = false) Instant start,
+            @RequestParam(defaultValue = "600") double stepSeconds
+    ) {
+        ResponseEntity<Trajectory> prediction = predictTrajectory(objectName, days, start, stepSeconds);
+        if (prediction.getBody() == null) {
+            return ResponseEntity.status(prediction.getStatusCode()).build();
+        }
+        return ResponseEntity.ok(BinaryOrbitFormat.encodeTrajectory(prediction.getBody()));
+    }
+
+    /**
+     * Streams the prediction as a JSON array of {time, latitude, longitude, altitude},
+     * written while it is computed so long horizons run in constant memory.
+     * adaptive=true picks the step from the orbit itself (samplesPerRevolution points
+     * per revolution, denser near perigee) instead of the fixed stepSeconds.
+     */
+    @GetMapping(value = "/predict/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPrediction(
+            @RequestParam String objectName,
+            @RequestParam(defaultValue = "1") int days,
+            @RequestParam(required = false) Instant start,
+            @RequestParam(defaultValue = "600") double stepSeconds,
+            @RequestParam(defaultValue = "false") boolean adaptive,
+            @RequestParam(defaultValue = "90") int samplesPerRevolution
+    ) {
+        boolean badWindow = days < 1 || days > maxPredictDays;
+        boolean badStep = adaptive ? samplesPerRevolution < 1 || samplesPerRevolution > 3600
+                : stepSeconds < 1 || days * 86400.0 / stepSeconds >= maxPredictPoints;
+        if (badWindow || badStep) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        TleData tle = tleRepository.findTopByObjectNameOrderByEpochSecondsDesc(objectName);
         if (tle == null) {
             return ResponseEntity.notFound().build();
         }
 
-        List<OrbitPoint> prediction = orbitService.predictOrbitForDays(tle, days);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = JSON.createGenerator(out)) {
+                gen.writeStartArray();
+                int[] written = {0};
+                orbitService.streamTrajectory(tle, start, days * 86400.0, stepSeconds, adaptive ? samplesPerRevolution : 0,
+                        (time, latitude, longitude, altitude) -> {
+                            gen.writeStartObject();
+                            gen.writeStringField("time", time.toString());
+                            gen.writeNumberField("latitude", latitude);
+                            gen.writeNumberField("longitude", longitude);
+                            gen.writeNumberField("altitude", altitude);
+                            gen.writeEndObject();
+                            // push what we have so the client can start drawing
+                            if (++written[0] % STREAM_FLUSH_EVERY == 0) {
+                                gen.flush();
+                            }
+                        });
+                gen.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Ground tracks of many objects in one call, on one shared time grid:
+     * POST /api/orbit/predict/batch {"noradIds":[25544,20580],"hours":2,"stepSeconds":30}
+     * or {"type":"DEBRIS","start":"2024-05-29T12:00:00Z","hours":6}.
+     */
+    @PostMapping("/predict/batch")
+    public ResponseEntity<BatchPredictionDto> predictBatch(@RequestBody BatchPredictionRequestDto request) {
+        double stepSeconds = request.getStepSeconds();
+        int steps = (int) Math.floor(request.getHours() * 3600 / stepSeconds) + 1;
+        List<TleData> tles = selectObjects(request.getNoradIds(), request.getType(), request.getHours(), stepSeconds, steps);
+        if (tles == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Instant start = request.getStart() != null ? request.getStart() : Instant.now();
+        BatchPredictionDto prediction = batchPredictionService.predict(tles, start, stepSeconds, steps);
+        if (request.getNoradIds() != null && !request.getNoradIds().isEmpty()) {
+            prediction.setNotFound(notFound(request.getNoradIds(), tles));
+        }
         return ResponseEntity.ok(prediction);
     }
+
+    /**
+     * AOS, LOS and maximum elevation of every pass of the objects over the
+     * ground stations in the window:
+     * POST /api/orbit/passes {"noradIds":[25544],"stations":[{"name":"Rabat","latitude":34.02,
+     * "longitude":-6.84,"altitude":75,"minElevation":10}],"hours":24}
+     * or {"type":"DEBRIS","stations":[...]}.
+     */
+    @PostMapping("/passes")
+    public ResponseEntity<PassPredictionDto> predictPasses(@RequestBody PassPredictionRequestDto request) {
+        List<PassPredictionRequestDto.GroundStation> stations = request.getStations();
+        if (stations == null || stations.isEmpty() || stations.size() > passPredictionService.getMaxStations()) {
+            return ResponseEntity.badRequest().build();
+        }
+        for (PassPredictionRequestDto.GroundStation station : stations) {
+            if (Math.abs(station.getLatitude()) > 90 || Math.abs(station.getLongitude()) > 360
+                    || Math.abs(station.getMinElevation()) >= 90) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        double stepSeconds = request.getStepSeconds();
+        int steps = (int) Math.ceil(request.getHours() * 3600 / stepSeconds) + 1;
+        List<TleData> tles = selectObjects(request.getNoradIds(), request.getType(), request.getHours(), stepSeconds, steps);
+        if (tles == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Instant start = request.getStart() != null ? request.getStart() : Instant.now();
+        PassPredictionDto passes = passPredictionService.predict(tles, stations, start, stepSeconds, steps);
+        if (request.getNoradIds() != null && !request.getNoradIds().isEmpty()) {
+            passes.setNotFound(notFound(request.getNoradIds(), tles));
+        }
+        return ResponseEntity.ok(passes);
+    }
+
+    /**
+     * Objects of a batch or pass request, given either by NORAD IDs or by type; a
+     * type selects as many of its objects as fit in maxBatchPoints over the steps.
+     *
+     * @return null when the request is invalid or too large
+     */
+    private List<TleData> selectObjects(List<Integer> noradIds, String typeName, double hours, double stepSeconds,
+                                        int steps) {
+        boolean hasIds = noradIds != null && !noradIds.isEmpty();
+        boolean hasType = typeName != null && !typeName.isBlank();
+        if (hasIds == hasType || hours <= 0 || hours > maxPredictDays * 24.0 || stepSeconds < 1
+                || hours * 3600 / stepSeconds >= maxPredictPoints) {
+            return null;
+        }
+        if (hasIds) {
+            if (noradIds.size() > batchPredictionService.getMaxObjects() || (long) steps * noradIds.size() > maxBatchPoints) {
+                return null;
+            }
+            return batchPredictionService.findLatest(noradIds);
+        }
+        Class<? extends TleData> type = BatchPredictionService.entityType(typeName);
+        int fitting = maxBatchPoints / steps;
+        if (type == null || fitting < 1) {
+            return null;
+        }
+        return batchPredictionService.findLatest(type, fitting);
+    }
+
+    private static List<Integer> notFound(List<Integer> requested, List<TleData> tles) {
+        Set<Integer> found = new HashSet<>();
+        for (TleData tle : tles) {
+            found.add(tle.getNoradCatId());
+        }
+        List<Integer> notFound = new ArrayList<>();
+        for (Integer id : requested) {
+            if (!found.contains(id)) {
+                notFound.add(id);
+            }
+        }
+        return notFound;
+    }
+
+    // window limits are configurable now that predictions are served from the ephemeris cache
+    private ResponseEntity<Trajectory> predictTrajectory(String objectName, int days, Instant start, double stepSeconds) {
+        if (days < 1 || days > maxPredictDays || stepSeconds < 1 || days * 86400.0 / stepSeconds >= maxPredictPoints) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Fetch latest TLE for given object
+        TleData tle = tleRepository.findTopByObjectNameOrderByEpochSecondsDesc(objectName);
+        if (tle == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(orbitService.predictTrajectory(tle, start, days * 86400.0, stepSeconds));
+    }
 }
 
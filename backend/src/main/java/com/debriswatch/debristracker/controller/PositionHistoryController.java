@@ -0,0 +1,73 @@
+package com.debriswatch.debristracker.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.debriswatch.debristracker.dto.HistoricalPositionDto;
+import com.debriswatch.debristracker.dto.HistoryFrameDto;
+import com.debriswatch.debristracker.service.PositionHistoryStore;
+
+@RestController
+@RequestMapping("/api/orbit/history")
+@CrossOrigin(origins = "*")
+public class PositionHistoryController {
+
+    private static final Logger log = LoggerFactory.getLogger(PositionHistoryController.class);
+
+    private final PositionHistoryStore historyStore;
+    private final long maxGapSeconds;
+    private final long maxWindowMinutes;
+
+    public PositionHistoryController(PositionHistoryStore historyStore,
+                                     @Value("${orbit.history.max-gap-seconds:120}") long maxGapSeconds,
+                                     @Value("${orbit.history.max-window-minutes:60}") long maxWindowMinutes) {
+        this.historyStore = historyStore;
+        this.maxGapSeconds = maxGapSeconds;
+        this.maxWindowMinutes = maxWindowMinutes;
+    }
+
+    /**
+     * Endpoint: /api/orbit/history/position?noradId=25544&time=2024-05-29T12:00:00Z
+     * The recorded position closest to the given time.
+     */
+    @GetMapping("/position")
+    public ResponseEntity<HistoricalPositionDto> getPositionAt(@RequestParam int noradId, @RequestParam Instant time) {
+        try {
+            HistoricalPositionDto position = historyStore.positionAt(noradId, time, maxGapSeconds);
+            return position == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(position);
+        } catch (IOException e) {
+            log.error("Failed to read position history for NORAD ID: {}", noradId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Endpoint: /api/orbit/history?from=2024-05-29T12:00:00Z&to=2024-05-29T12:30:00Z
+     * Every recorded frame in the window, all objects.
+     */
+    @GetMapping
+    public ResponseEntity<List<HistoryFrameDto>> getFramesBetween(@RequestParam Instant from, @RequestParam Instant to) {
+        if (to.isBefore(from) || Duration.between(from, to).toMinutes() > maxWindowMinutes) {
+            return ResponseEntity.badRequest().body(Collections.emptyList());
+        }
+        try {
+            return ResponseEntity.ok(historyStore.framesBetween(from, to));
+        } catch (IOException e) {
+            log.error("Failed to read position history between {} and {}", from, to, e);
+            return ResponseEntity.internalServerError().body(Collections.emptyList());
+        }
+    }
+}
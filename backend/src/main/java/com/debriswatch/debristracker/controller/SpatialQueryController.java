@@ -0,0 +1,101 @@
+package com.debriswatch.debristracker.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.debriswatch.debristracker.dto.SpatialQueryDto;
+import com.debriswatch.debristracker.service.SpatialQueryService;
+
+/**
+ * Spatial filters over the realtime snapshot, see {@link SpatialQueryService}.
+ * Query distances and altitudes are kilometers, the response uses meters like
+ * /api/orbit/realtime.
+ */
+@RestController
+@RequestMapping("/api/orbit/objects")
+@CrossOrigin(origins = "*")
+public class SpatialQueryController {
+
+    private final SpatialQueryService spatialQueryService;
+
+    public SpatialQueryController(SpatialQueryService spatialQueryService) {
+        this.spatialQueryService = spatialQueryService;
+    }
+
+    /**
+     * Endpoint: /api/orbit/objects/box?minLat=20&maxLat=40&minLon=-20&maxLon=10&minAltKm=0&maxAltKm=2000
+     * A box with minLon greater than maxLon crosses the antimeridian.
+     */
+    @GetMapping("/box")
+    public ResponseEntity<SpatialQueryDto> inBox(@RequestParam double minLat, @RequestParam double maxLat,
+                                                 @RequestParam double minLon, @RequestParam double maxLon,
+                                                 @RequestParam(defaultValue = "-1000") double minAltKm,
+                                                 @RequestParam(defaultValue = "1000000") double maxAltKm,
+                                                 @RequestParam(defaultValue = "1000") int limit) {
+        if (!isLatitudeRange(minLat, maxLat) || !isLongitude(minLon) || !isLongitude(maxLon)
+                || minAltKm > maxAltKm || !isLimit(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(spatialQueryService.inBox(minLat, maxLat, minLon, maxLon,
+                minAltKm * 1000, maxAltKm * 1000, limit));
+    }
+
+    /**
+     * Endpoint: /api/orbit/objects/near?lat=34.02&lon=-6.84&radiusKm=1000
+     * Objects whose ground track point is within the radius, nearest first.
+     */
+    @GetMapping("/near")
+    public ResponseEntity<SpatialQueryDto> nearPoint(@RequestParam double lat, @RequestParam double lon,
+                                                     @RequestParam double radiusKm,
+                                                     @RequestParam(defaultValue = "-1000") double minAltKm,
+                                                     @RequestParam(defaultValue = "1000000") double maxAltKm,
+                                                     @RequestParam(defaultValue = "1000") int limit) {
+        if (!isLatitudeRange(lat, lat) || !isLongitude(lon) || !(radiusKm > 0) || minAltKm > maxAltKm
+                || !isLimit(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(spatialQueryService.nearPoint(lat, lon, radiusKm * 1000,
+                minAltKm * 1000, maxAltKm * 1000, limit));
+    }
+
+    /**
+     * Endpoint: /api/orbit/objects/shell?minAltKm=500&maxAltKm=600
+     */
+    @GetMapping("/shell")
+    public ResponseEntity<SpatialQueryDto> inShell(@RequestParam double minAltKm, @RequestParam double maxAltKm,
+                                                   @RequestParam(defaultValue = "1000") int limit) {
+        if (!(minAltKm <= maxAltKm) || !isLimit(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(spatialQueryService.inShell(minAltKm * 1000, maxAltKm * 1000, limit));
+    }
+
+    /**
+     * Endpoint: /api/orbit/objects/nearest?noradId=25544&k=10
+     * The k objects closest in space to the given one, nearest first.
+     */
+    @GetMapping("/nearest")
+    public ResponseEntity<SpatialQueryDto> nearest(@RequestParam int noradId, @RequestParam(defaultValue = "10") int k) {
+        if (!isLimit(k)) {
+            return ResponseEntity.badRequest().build();
+        }
+        SpatialQueryDto nearest = spatialQueryService.nearest(noradId, k);
+        return nearest == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(nearest);
+    }
+
+    private boolean isLimit(int limit) {
+        return limit >= 1 && limit <= spatialQueryService.getMaxResults();
+    }
+
+    private static boolean isLatitudeRange(double min, double max) {
+        return min >= -90 && max <= 90 && min <= max;
+    }
+
+    private static boolean isLongitude(double longitude) {
+        return longitude >= -180 && longitude <= 180;
+    }
+}
@@ -1,11 +1,16 @@
 package com.debriswatch.debristracker.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.debriswatch.debristracker.service.OrbitSnapshotService;
 import com.debriswatch.debristracker.service.TleService;
 
 @RestController
@@ -17,10 +22,20 @@ public class TleFetchController {
     @Autowired
     private TleService tleService;
 
+    @Autowired
+    private OrbitSnapshotService snapshotService;
+
+    // async result, the servlet thread is released while the ingest runs;
+    // the new element sets reach /realtime through the catalog reload
     @GetMapping("/fetch")
-    public String fetchNow() {
-        tleService.fetchAndProcessTleData();
-        return "✅ Fetched and stored TLE data.";
+    public CompletableFuture<ResponseEntity<String>> fetchNow() {
+        return tleService.fetchAndProcessTleDataAsync().thenApply(fetched -> {
+            if (!fetched) {
+                return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body("❌ Failed to fetch TLE data from Space-Track.");
+            }
+            snapshotService.reloadCatalog();
+            return ResponseEntity.ok("✅ Fetched and stored TLE data.");
+        });
     }
 }
 
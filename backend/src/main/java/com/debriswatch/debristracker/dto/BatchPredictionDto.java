@@ -0,0 +1,32 @@
+package com.debriswatch.debristracker.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Ground tracks of several objects on one shared time grid: point i of every
+ * track is at start + i * stepSeconds. A track stops early where SGP4 failed.
+ * Latitude/longitude are degrees, altitude is meters.
+ */
+@Data
+@AllArgsConstructor
+public class BatchPredictionDto {
+    private String start;
+    private double stepSeconds;
+    private int steps;
+    private List<Track> tracks;
+    private List<Integer> notFound;
+
+    @Data
+    @AllArgsConstructor
+    public static class Track {
+        private int noradId;
+        private String objectName;
+        private String objectType;
+        private double[] latitude;
+        private double[] longitude;
+        private double[] altitude;
+    }
+}
@@ -0,0 +1,20 @@
+package com.debriswatch.debristracker.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Body of POST /api/orbit/predict/batch: either a list of NORAD IDs or an
+ * object type (Satellite, Debris or Rocket Body), plus the time window.
+ * start defaults to now, hours and stepSeconds to one day at one minute.
+ */
+@Data
+public class BatchPredictionRequestDto {
+    private List<Integer> noradIds;
+    private String type;
+    private Instant start;
+    private double hours = 24;
+    private double stepSeconds = 60;
+}
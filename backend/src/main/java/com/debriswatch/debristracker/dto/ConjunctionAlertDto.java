@@ -0,0 +1,25 @@
+package com.debriswatch.debristracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One close approach, shaped like the alerts of AdvancedAlertDebrisSystem.tsx.
+ * Distances are kilometers, velocity is km/s, timeToImpact is hours.
+ */
+@Data
+@AllArgsConstructor
+public class ConjunctionAlertDto {
+    private String id;
+    private String objectName;
+    private int objectNoradId;
+    private String targetName;
+    private int targetNoradId;
+    private String timestamp;
+    private String impactTime;
+    private double timeToImpact;
+    private double missDistance;
+    private double relativeVelocity;
+    private String severity;
+    private String orbitRegion;
+}
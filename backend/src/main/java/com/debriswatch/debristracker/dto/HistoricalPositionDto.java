@@ -0,0 +1,17 @@
+package com.debriswatch.debristracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One recorded position of one object, time is the instant it was propagated to.
+ */
+@Data
+@AllArgsConstructor
+public class HistoricalPositionDto {
+    private int noradId;
+    private String time;
+    private double latitude;
+    private double longitude;
+    private double altitude;
+}
@@ -0,0 +1,18 @@
+package com.debriswatch.debristracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * All positions recorded at one instant, column by column and sorted by NORAD ID.
+ * Latitude/longitude are degrees, altitude is meters.
+ */
+@Data
+@AllArgsConstructor
+public class HistoryFrameDto {
+    private String time;
+    private int[] noradIds;
+    private float[] latitude;
+    private float[] longitude;
+    private float[] altitude;
+}
@@ -0,0 +1,33 @@
+package com.debriswatch.debristracker.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Passes of several objects over several ground stations in [start, end],
+ * ordered by AOS. A pass already in progress at start has its AOS at start,
+ * one still in progress at end has its LOS at end. Elevation is degrees.
+ */
+@Data
+@AllArgsConstructor
+public class PassPredictionDto {
+    private String start;
+    private String end;
+    private List<Pass> passes;
+    private List<Integer> notFound;
+
+    @Data
+    @AllArgsConstructor
+    public static class Pass {
+        private int noradId;
+        private String objectName;
+        private String station;
+        private String aos;
+        private String los;
+        private String maxElevationTime;
+        private double maxElevation;
+        private double durationSeconds;
+    }
+}
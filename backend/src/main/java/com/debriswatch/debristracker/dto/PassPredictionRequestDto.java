@@ -0,0 +1,35 @@
+package com.debriswatch.debristracker.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Body of POST /api/orbit/passes: the objects (a list of NORAD IDs or an object
+ * type, as for /predict/batch), the ground stations and the time window.
+ * start defaults to now, hours to one day, stepSeconds is the coarse search
+ * step: a pass shorter than it above the mask may be missed.
+ */
+@Data
+public class PassPredictionRequestDto {
+    private List<Integer> noradIds;
+    private String type;
+    private List<GroundStation> stations;
+    private Instant start;
+    private double hours = 24;
+    private double stepSeconds = 30;
+
+    /**
+     * Geodetic site, latitude/longitude in degrees, altitude in meters above
+     * the WGS84 ellipsoid, elevation mask in degrees.
+     */
+    @Data
+    public static class GroundStation {
+        private String name;
+        private double latitude;
+        private double longitude;
+        private double altitude;
+        private double minElevation = 10;
+    }
+}
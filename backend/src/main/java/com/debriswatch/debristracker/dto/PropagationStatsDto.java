@@ -0,0 +1,17 @@
+package com.debriswatch.debristracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PropagationStatsDto {
+    private int parallelism;
+    private long batches;
+    private long objectsPropagated;
+    private int lastBatchSize;
+    private int lastBatchFailures;
+    private double lastBatchMillis;
+    private double lastObjectsPerSecond;
+    private double lastObjectsPerSecondPerCore;
+}
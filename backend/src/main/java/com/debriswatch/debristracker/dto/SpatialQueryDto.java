@@ -0,0 +1,32 @@
+package com.debriswatch.debristracker.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Objects of the realtime snapshot matching a spatial query. count is the
+ * number of matches, objects holds at most the requested limit of them.
+ * Latitude/longitude are degrees, altitude and distance are meters; distance
+ * is set for radius and nearest queries only.
+ */
+@Data
+@AllArgsConstructor
+public class SpatialQueryDto {
+    private String computedAt;
+    private int count;
+    private List<Match> objects;
+
+    @Data
+    @AllArgsConstructor
+    public static class Match {
+        private int noradId;
+        private String objectName;
+        private String objectType;
+        private double latitude;
+        private double longitude;
+        private double altitude;
+        private Double distance;
+    }
+}
@@ -0,0 +1,18 @@
+package com.debriswatch.debristracker.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One page of a type listing. Each item holds only the requested fields;
+ * pass nextCursor as "after" to continue, it is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+public class TlePageDto {
+    private List<Map<String, Object>> items;
+    private Integer nextCursor;
+}
@@ -0,0 +1,81 @@
+package com.debriswatch.debristracker.fetcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.service.TleIngestService;
+
+/**
+ * Imports a catalog file from local disk, no login and no rate limit.
+ * This class reads Space-Track JSON dumps; {@link #forFile} picks the reader
+ * for 3-line TLE text and OMM CSV files by extension.
+ */
+public class LocalTleFileFetcher extends TleFetcher {
+
+    protected final Path file;
+    private final TleIngestService ingestService;
+    private final int batchSize;
+
+    public LocalTleFileFetcher(Path file, TleIngestService ingestService, int batchSize) {
+        this.file = file;
+        this.ingestService = ingestService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reader for the file by extension: .tle/.3le/.txt text, .csv OMM, .json
+     * Space-Track records; null for anything else.
+     */
+    public static LocalTleFileFetcher forFile(Path file, TleIngestService ingestService, int batchSize) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".tle") || name.endsWith(".3le") || name.endsWith(".txt")) {
+            return new TleTextFileFetcher(file, ingestService, batchSize);
+        }
+        if (name.endsWith(".csv")) {
+            return new OmmCsvFileFetcher(file, ingestService, batchSize);
+        }
+        if (name.endsWith(".json")) {
+            return new LocalTleFileFetcher(file, ingestService, batchSize);
+        }
+        return null;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    protected void authenticate() {
+        // local file, nothing to log in to
+    }
+
+    @Override
+    protected InputStream openRawData() throws IOException {
+        return Files.newInputStream(file);
+    }
+
+    @Override
+    protected String fetchRawData() throws IOException {
+        return Files.readString(file);
+    }
+
+    @Override
+    protected int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    protected void recordParseTime(long nanos) {
+        ingestService.recordParseTime("file", nanos);
+    }
+
+    @Override
+    protected void saveTleData(List<TleData> tleList) {
+        ingestService.store(tleList);
+    }
+}
@@ -0,0 +1,25 @@
+package com.debriswatch.debristracker.fetcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.service.TleIngestService;
+
+/**
+ * Imports an OMM CSV file (CelesTrak GP data with FORMAT=csv, Space-Track gp CSV).
+ */
+public class OmmCsvFileFetcher extends LocalTleFileFetcher {
+
+    public OmmCsvFileFetcher(Path file, TleIngestService ingestService, int batchSize) {
+        super(file, ingestService, batchSize);
+    }
+
+    @Override
+    protected void parseRecords(InputStream in, int batchSize, Consumer<List<TleData>> sink) throws IOException {
+        OmmCsvParser.parse(in, batchSize, sink);
+    }
+}
@@ -0,0 +1,145 @@
+package com.debriswatch.debristracker.fetcher;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.debriswatch.debristracker.model.TleData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads OMM records in CSV form, as served by CelesTrak (FORMAT=csv) and by
+ * Space-Track gp queries. Columns are matched by header name to the same
+ * properties as the JSON records, unknown columns are ignored.
+ *
+ * CelesTrak CSV has no TLE lines, they are formatted from the mean elements.
+ */
+final class OmmCsvParser {
+
+    private static final Logger log = LoggerFactory.getLogger(OmmCsvParser.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private OmmCsvParser() {
+    }
+
+    /**
+     * Parses every row after the header, passing the records on in lists of at most batchSize.
+     *
+     * @return the number of records parsed
+     */
+    static int parse(InputStream in, int batchSize, Consumer<List<TleData>> sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return 0;
+        }
+        List<String> header = new ArrayList<>();
+        for (String column : split(headerLine.replace("\uFEFF", ""))) {
+            header.add(column.trim().toUpperCase());
+        }
+        if (!header.contains("NORAD_CAT_ID") || !header.contains("EPOCH")) {
+            throw new IOException("Expected an OMM CSV header with NORAD_CAT_ID and EPOCH, got " + headerLine);
+        }
+
+        List<TleData> batch = new ArrayList<>(batchSize);
+        int parsed = 0;
+        int skipped = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            TleData tle = toTleData(header, split(line));
+            if (tle == null) {
+                skipped++;
+                continue;
+            }
+            batch.add(tle);
+            parsed++;
+            if (batch.size() == batchSize) {
+                sink.accept(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+        }
+        if (skipped > 0) {
+            log.warn("Skipped {} malformed OMM CSV rows", skipped);
+        }
+        return parsed;
+    }
+
+    // null when the row cannot be bound or propagated
+    private static TleData toTleData(List<String> header, List<String> values) {
+        Map<String, String> record = new HashMap<>();
+        for (int i = 0; i < Math.min(header.size(), values.size()); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) {
+                record.put(header.get(i), value);
+            }
+        }
+        try {
+            TleData tle = MAPPER.convertValue(record, TleData.class);
+            if (tle.getNoradCatId() <= 0 || Double.isNaN(tle.getEpochSeconds())) {
+                return null;
+            }
+            if (tle.getObjectType() == null) {
+                tle.setObjectType(TleRecords.objectTypeFromName(tle.getObjectName()));
+            }
+            if (tle.getObjectName() == null) {
+                tle.setObjectName(String.valueOf(tle.getNoradCatId()));
+            }
+            if (tle.getTleLine1() == null || tle.getTleLine2() == null) {
+                TleRecords.formatLines(tle);
+            }
+            if (tle.getTleLine0() == null) {
+                tle.setTleLine0("0 " + tle.getObjectName());
+            }
+            TleRecords.deriveOrbitSize(tle);
+            return tle;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    // one CSV line, double quotes around fields and "" inside them
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
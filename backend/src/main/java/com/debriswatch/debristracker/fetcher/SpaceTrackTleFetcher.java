@@ -1,43 +1,60 @@
 package com.debriswatch.debristracker.fetcher;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.CookieManager;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import com.debriswatch.debristracker.Factory.TleObjectFactory;
-import com.debriswatch.debristracker.model.Debris;
-import com.debriswatch.debristracker.model.RocketBody;
-import com.debriswatch.debristracker.model.Satellite;
 import com.debriswatch.debristracker.model.TleData;
-import com.debriswatch.debristracker.repository.DebrisRepository;
-import com.debriswatch.debristracker.repository.RocketBodyRepository;
-import com.debriswatch.debristracker.repository.SatelliteRepository;
-import com.debriswatch.debristracker.repository.TleRepository;
+import com.debriswatch.debristracker.service.TleIngestService;
 
 import io.github.cdimascio.dotenv.Dotenv;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Component
 public class SpaceTrackTleFetcher extends TleFetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(SpaceTrackTleFetcher.class);
     private final Dotenv dotenv;
-    private final HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).connectTimeout(CONNECT_TIMEOUT).build();
     private String username;
     private String password;
-public SpaceTrackTleFetcher(Dotenv dotenv) {
+    final MeterRegistry meterRegistry;
+public SpaceTrackTleFetcher(Dotenv dotenv, MeterRegistry meterRegistry) {
       this.dotenv = dotenv;
+    this.meterRegistry = meterRegistry;
     this.username = dotenv.get("SPACE_TRACK_USERNAME");
     this.password = dotenv.get("SPACE_TRACK_PASSWORD");
 }
-    @Autowired SatelliteRepository satelliteRepo;
-    @Autowired DebrisRepository debrisRepo;
-    @Autowired RocketBodyRepository rocketRepo;
-    @Autowired TleRepository tleRepo;
-    @Autowired TleObjectFactory tleObjectFactory;
+    @Autowired TleIngestService ingestService;
+
+    // per request, until the response headers arrive; the body is streamed afterwards
+    @Value("${tle.http.request-timeout-ms:60000}")
+    long requestTimeoutMs = 60_000;
+    @Value("${tle.http.max-attempts:3}")
+    int maxAttempts = 3;
+    // doubled after every failed attempt
+    @Value("${tle.http.backoff-ms:2000}")
+    long backoffMs = 2_000;
 
 // authentification method
 
@@ -46,38 +63,114 @@ public SpaceTrackTleFetcher(Dotenv dotenv) {
 
         HttpRequest loginRequest = HttpRequest.newBuilder()
                 .uri(URI.create("https://www.space-track.org/ajaxauth/login"))
+                .timeout(Duration.ofMillis(requestTimeoutMs))
                 .POST(HttpRequest.BodyPublishers.ofString("identity=" + username + "&password=" + password))
                 .header("Content-Type", "application/x-www-form-urlencoded")
                 .build();
 
-        client.send(loginRequest, HttpResponse.BodyHandlers.discarding());
+        await(sendWithRetry(loginRequest, HttpResponse.BodyHandlers.discarding()));
+    }
+
+// non-blocking send with retries
+
+    /**
+     * Sends asynchronously and retries connection failures, timeouts, HTTP 429
+     * and 5xx with exponential backoff. The delays run on the shared delayed
+     * executor, no thread sleeps between attempts.
+     */
+    <T> CompletableFuture<HttpResponse<T>> sendWithRetry(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        return attempt(request, handler, 1);
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> attempt(HttpRequest request, HttpResponse.BodyHandler<T> handler, int attempt) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return client.sendAsync(request, handler).handle((response, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            // until the response headers, a streamed body is read later
+            sample.stop(meterRegistry.timer("tle.http.request", "path", request.uri().getPath(),
+                    "outcome", cause != null ? cause.getClass().getSimpleName() : String.valueOf(response.statusCode())));
+            boolean retryable = cause != null ? cause instanceof IOException : isRetryable(response.statusCode());
+            if (!retryable || attempt >= maxAttempts) {
+                return cause != null
+                        ? CompletableFuture.<HttpResponse<T>>failedFuture(cause)
+                        : CompletableFuture.completedFuture(response);
+            }
+            if (response != null) {
+                discard(response);
+            }
+            long delay = backoffMs << (attempt - 1);
+            meterRegistry.counter("tle.http.retries", "path", request.uri().getPath()).increment();
+            log.warn("Space-Track request {} failed ({}), attempt {} of {}, retrying in {} ms", request.uri().getPath(),
+                    cause != null ? cause : "HTTP " + response.statusCode(), attempt, maxAttempts, delay);
+            return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> attempt(request, handler, attempt + 1));
+        }).thenCompose(Function.identity());
+    }
+
+    private static boolean isRetryable(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    private static void discard(HttpResponse<?> response) {
+        if (response.body() instanceof InputStream body) {
+            try {
+                body.close();
+            } catch (IOException ignored) {
+                // the connection is dropped either way
+            }
+        }
+    }
+
+    // the ingest thread waits here, request threads never call the fetcher directly
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
     }
 
 // fetch raw data 
 
+    @Value("${tle.ingest.batch-size:1000}")
+    int batchSize = DEFAULT_BATCH_SIZE;
+
     @Override
-    protected String fetchRawData() throws Exception {
+    protected InputStream openRawData() throws Exception {
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create("https://www.space-track.org/basicspacedata/query/class/tle_latest/limit/100/format/json"))
+                .timeout(Duration.ofMillis(requestTimeoutMs))
                 .build();
 
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<InputStream> response = await(sendWithRetry(request, HttpResponse.BodyHandlers.ofInputStream()));
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new IOException("Space-Track returned HTTP " + response.statusCode());
+        }
         return response.body();
     }
 
-// save the tle data in the database 
-
     @Override
-    protected void saveTleData(List<TleData> tleList) {
-        tleRepo.saveAll(tleList);
-        for (TleData tle : tleList) {
-            TleData obj = tleObjectFactory.create(tle);
-            if (obj instanceof Debris d) debrisRepo.save(d);
-            else if (obj instanceof RocketBody r) rocketRepo.save(r);
-            else if (obj instanceof Satellite s) satelliteRepo.save(s);
+    protected String fetchRawData() throws Exception {
+        try (InputStream body = openRawData()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
         }
     }
 
+    @Override
+    protected int getBatchSize() {
+        return batchSize;
+    }
 
-}
+    @Override
+    protected void recordParseTime(long nanos) {
+        ingestService.recordParseTime("space-track", nanos);
+    }
+
+// save the tle data in the database 
 
+    @Override
+    protected void saveTleData(List<TleData> tleList) {
+        ingestService.store(tleList);
+    }
+}
@@ -1,30 +1,110 @@
 package com.debriswatch.debristracker.fetcher;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.debriswatch.debristracker.model.TleData;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 
 public abstract class TleFetcher {
 
+    protected static final int DEFAULT_BATCH_SIZE = 1000;
+
+    // readers are immutable and thread-safe, configure them once
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+    private static final ObjectReader TLE_READER = MAPPER.readerFor(TleData.class);
+    private static final ObjectReader TLE_LIST_READER = MAPPER.readerFor(new TypeReference<List<TleData>>() {});
+
+    /**
+     * Streams the response record by record and hands it to saveTleData in
+     * batches, so memory does not grow with the size of the catalog.
+     */
     public final void fetchAndProcess() throws Exception {
         authenticate();
-        String json = fetchRawData();
-        List<TleData> tleList = parseTleJson(json);
-        saveTleData(tleList);
+        long[] saveNanos = {0};
+        long start = System.nanoTime();
+        try (InputStream body = openRawData()) {
+            parseRecords(body, getBatchSize(), batch -> {
+                long saveStart = System.nanoTime();
+                try {
+                    saveTleData(batch);
+                } finally {
+                    saveNanos[0] += System.nanoTime() - saveStart;
+                }
+            });
+        } finally {
+            recordParseTime(System.nanoTime() - start - saveNanos[0]);
+        }
     }
 
     protected abstract void authenticate() throws Exception;
     protected abstract String fetchRawData() throws Exception;
     protected abstract void saveTleData(List<TleData> tleList);
 
+    /**
+     * Response body as a stream, the default just wraps {@link #fetchRawData()}.
+     */
+    protected InputStream openRawData() throws Exception {
+        return new ByteArrayInputStream(fetchRawData().getBytes(StandardCharsets.UTF_8));
+    }
+
+    protected int getBatchSize() {
+        return DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * Format of the raw data, a JSON array of Space-Track records unless overridden.
+     */
+    protected void parseRecords(InputStream in, int batchSize, Consumer<List<TleData>> sink) throws IOException {
+        parseTleStream(in, batchSize, sink);
+    }
+
+    /**
+     * Time spent opening, reading and binding the raw data, without saveTleData.
+     */
+    protected void recordParseTime(long nanos) {
+    }
+
+    /**
+     * Reads a JSON array of TLE records token by token, binding one record at a
+     * time and passing them on in lists of at most batchSize.
+     */
+    protected void parseTleStream(InputStream in, int batchSize, Consumer<List<TleData>> sink) throws IOException {
+        try (JsonParser parser = MAPPER.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of TLE records");
+            }
+            List<TleData> batch = new ArrayList<>(batchSize);
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                batch.add(TLE_READER.readValue(parser));
+                if (batch.size() == batchSize) {
+                    sink.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new IOException("Unexpected " + token + " in TLE array");
+            }
+            if (!batch.isEmpty()) {
+                sink.accept(batch);
+            }
+        }
+    }
+
     protected List<TleData> parseTleJson(String json) throws Exception {
-        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
-        return mapper.readValue(json, new TypeReference<>() {});
+        return TLE_LIST_READER.readValue(json);
     }
 }
 
-
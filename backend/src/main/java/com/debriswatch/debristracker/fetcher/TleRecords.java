@@ -0,0 +1,98 @@
+package com.debriswatch.debristracker.fetcher;
+
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+
+import com.debriswatch.debristracker.model.TleData;
+
+/**
+ * Fills in the fields of a {@link TleData} that Space-Track sends but plain TLE
+ * and OMM files leave out.
+ */
+final class TleRecords {
+
+    // WGS-72, the constants SGP4 and Space-Track use
+    private static final double MU_KM3_S2 = 398600.8;
+    private static final double EARTH_RADIUS_KM = 6378.135;
+    private static final double SECONDS_PER_DAY = 86400.0;
+
+    private TleRecords() {
+    }
+
+    /**
+     * DEBRIS and ROCKET BODY from the usual " DEB" / " R/B" name suffixes, UNKNOWN otherwise.
+     */
+    static String objectTypeFromName(String name) {
+        if (name == null) {
+            return "UNKNOWN";
+        }
+        String upper = name.toUpperCase();
+        if (upper.contains(" DEB")) {
+            return "DEBRIS";
+        }
+        if (upper.contains(" R/B")) {
+            return "ROCKET BODY";
+        }
+        return "UNKNOWN";
+    }
+
+    /**
+     * "98067A" to "1998-067A", null when it is not an international designator.
+     */
+    static String objectIdFromIntldes(String intldes) {
+        if (intldes == null || intldes.length() < 5 || !Character.isDigit(intldes.charAt(0))) {
+            return null;
+        }
+        int year = Integer.parseInt(intldes.substring(0, 2));
+        return (year < 57 ? 2000 + year : 1900 + year) + "-" + intldes.substring(2);
+    }
+
+    /**
+     * Semi-major axis, period, apogee and perigee heights from mean motion and eccentricity.
+     */
+    static void deriveOrbitSize(TleData tle) {
+        if (tle.getMeanMotion() <= 0 || tle.getSemimajorAxis() > 0) {
+            return;
+        }
+        double n = tle.getMeanMotion() * 2 * Math.PI / SECONDS_PER_DAY;
+        double a = Math.cbrt(MU_KM3_S2 / (n * n));
+        tle.setSemimajorAxis(round3(a));
+        tle.setPeriod(round3(1440.0 / tle.getMeanMotion()));
+        tle.setApogee(round3(a * (1 + tle.getEccentricity()) - EARTH_RADIUS_KM));
+        tle.setPerigee(round3(a * (1 - tle.getEccentricity()) - EARTH_RADIUS_KM));
+    }
+
+    /**
+     * Formats TLE lines 1 and 2 from the mean elements of an OMM record.
+     * OMM MEAN_MOTION_DOT and MEAN_MOTION_DDOT are the TLE fields (ndot/2, nddot/6).
+     */
+    static void formatLines(TleData tle) {
+        AbsoluteDate epoch = new AbsoluteDate(tle.getEpoch(), TimeScalesFactory.getUTC());
+        String objectId = tle.getObjectId();
+        int launchYear = 2000;
+        int launchNumber = 0;
+        String launchPiece = "";
+        if (objectId != null && objectId.matches("\\d{4}-\\d{3}.*")) {
+            launchYear = Integer.parseInt(objectId.substring(0, 4));
+            launchNumber = Integer.parseInt(objectId.substring(5, 8));
+            launchPiece = objectId.substring(8).trim();
+        }
+        String classification = tle.getClassificationType();
+        TLE formatted = new TLE(tle.getNoradCatId(),
+                classification == null || classification.isEmpty() ? 'U' : classification.charAt(0),
+                launchYear, launchNumber, launchPiece, tle.getEphemerisType(), tle.getElementSetNo() % 10000, epoch,
+                tle.getMeanMotion() * 2 * Math.PI / SECONDS_PER_DAY,
+                tle.getMeanMotionDot() * 4 * Math.PI / (SECONDS_PER_DAY * SECONDS_PER_DAY),
+                tle.getMeanMotionDdot() * 12 * Math.PI / (SECONDS_PER_DAY * SECONDS_PER_DAY * SECONDS_PER_DAY),
+                tle.getEccentricity(), Math.toRadians(tle.getInclination()), Math.toRadians(tle.getArgOfPericenter()),
+                Math.toRadians(tle.getRaOfAscNode()), Math.toRadians(tle.getMeanAnomaly()),
+                tle.getRevAtEpoch() % 100000, tle.getBstar());
+        tle.setTleLine1(formatted.getLine1());
+        tle.setTleLine2(formatted.getLine2());
+    }
+
+    private static double round3(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
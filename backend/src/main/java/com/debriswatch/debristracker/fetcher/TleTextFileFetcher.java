@@ -0,0 +1,64 @@
+package com.debriswatch.debristracker.fetcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.service.TleIngestService;
+
+/**
+ * Imports a 2-line or 3-line TLE text file (Space-Track 3LE, CelesTrak .tle).
+ *
+ * The file is memory-mapped and parsed in place, so a full 30k+ object catalog
+ * is read without copying it onto the heap. The mapping is released when it is
+ * garbage collected; until then Windows keeps the file locked against deletion.
+ */
+public class TleTextFileFetcher extends LocalTleFileFetcher {
+
+    public TleTextFileFetcher(Path file, TleIngestService ingestService, int batchSize) {
+        super(file, ingestService, batchSize);
+    }
+
+    @Override
+    protected InputStream openRawData() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new MappedInput(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    @Override
+    protected void parseRecords(InputStream in, int batchSize, Consumer<List<TleData>> sink) throws IOException {
+        ByteBuffer ascii = in instanceof MappedInput mapped ? mapped.buffer : ByteBuffer.wrap(in.readAllBytes());
+        TleTextParser.parse(ascii, batchSize, sink);
+    }
+
+    // hands the mapping through the InputStream based template, the parser reads the buffer directly
+    private static final class MappedInput extends InputStream {
+        private final ByteBuffer buffer;
+
+        MappedInput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.debriswatch.debristracker.fetcher;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.orekit.propagation.analytical.tle.TLE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.debriswatch.debristracker.model.TleData;
+
+/**
+ * Reads element sets in the plain text layout of Space-Track 3LE and CelesTrak
+ * files: an optional name line ("0 NAME" or "NAME") followed by line 1 and line 2.
+ *
+ * Works on the raw ASCII bytes, so a memory-mapped file is read in place; only
+ * the lines themselves become strings. Records whose lines fail the TLE format
+ * or checksum test are skipped.
+ */
+final class TleTextParser {
+
+    private static final Logger log = LoggerFactory.getLogger(TleTextParser.class);
+
+    static final int LINE_LENGTH = 69;
+    private static final DateTimeFormatter EPOCH = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSS");
+    private static final long MICROS_PER_DAY = 86_400_000_000L;
+    // alpha-5 catalog numbers skip I and O
+    private static final String ALPHA5 = "ABCDEFGHJKLMNPQRSTUVWXYZ";
+
+    private TleTextParser() {
+    }
+
+    /**
+     * Parses every record from the current position to the limit, passing them
+     * on in lists of at most batchSize.
+     *
+     * @return the number of records parsed
+     */
+    static int parse(ByteBuffer ascii, int batchSize, Consumer<List<TleData>> sink) {
+        List<TleData> batch = new ArrayList<>(batchSize);
+        byte[] line = new byte[128];
+        String name = null;
+        String line1 = null;
+        int parsed = 0;
+        int skipped = 0;
+
+        while (ascii.hasRemaining()) {
+            int length = 0;
+            while (ascii.hasRemaining()) {
+                byte b = ascii.get();
+                if (b == '\n') {
+                    break;
+                }
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, 2 * length);
+                }
+                line[length++] = b;
+            }
+            while (length > 0 && (line[length - 1] == '\r' || line[length - 1] == ' ')) {
+                length--;
+            }
+            if (length == 0) {
+                continue;
+            }
+            String text = new String(line, 0, length, StandardCharsets.US_ASCII);
+
+            if (line1 != null) {
+                String first = line1;
+                line1 = null;
+                if (text.startsWith("2 ")) {
+                    TleData tle = toTleData(name, first, text);
+                    name = null;
+                    if (tle == null) {
+                        skipped++;
+                        continue;
+                    }
+                    batch.add(tle);
+                    parsed++;
+                    if (batch.size() == batchSize) {
+                        sink.accept(batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                    continue;
+                }
+                skipped++; // line 1 without its line 2
+            }
+            if (text.startsWith("1 ") && length >= LINE_LENGTH) {
+                line1 = text;
+            } else {
+                name = text.startsWith("0 ") ? text.substring(2).trim() : text.trim();
+            }
+        }
+        if (line1 != null) {
+            skipped++;
+        }
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+        }
+        if (skipped > 0) {
+            log.warn("Skipped {} malformed TLE records", skipped);
+        }
+        return parsed;
+    }
+
+    /**
+     * Record of one element set, null when the lines are not a valid TLE.
+     */
+    static TleData toTleData(String name, String line1, String line2) {
+        try {
+            if (!TLE.isFormatOK(line1, line2)) {
+                return null;
+            }
+            int noradCatId = catalogNumber(line1.substring(2, 7));
+            int year = Integer.parseInt(line1.substring(18, 20).trim());
+            double dayOfYear = Double.parseDouble(line1.substring(20, 32).trim());
+            LocalDateTime epoch = LocalDateTime.of(year < 57 ? 2000 + year : 1900 + year, 1, 1, 0, 0)
+                    .plus(Math.round((dayOfYear - 1) * MICROS_PER_DAY), ChronoUnit.MICROS);
+
+            TleData tle = new TleData();
+            tle.setNoradCatId(noradCatId);
+            tle.setObjectNumber(noradCatId);
+            tle.setObjectName(name != null && !name.isEmpty() ? name : String.valueOf(noradCatId));
+            tle.setObjectType(TleRecords.objectTypeFromName(name));
+            tle.setClassificationType(line1.substring(7, 8));
+            tle.setIntldes(line1.substring(9, 17).trim());
+            tle.setObjectId(TleRecords.objectIdFromIntldes(tle.getIntldes()));
+            tle.setEpoch(EPOCH.format(epoch));
+            tle.setEpochMicroseconds(epoch.getNano() / 1000);
+            tle.setMeanMotionDot(Double.parseDouble(line1.substring(33, 43).trim()));
+            tle.setMeanMotionDdot(exponent(line1.substring(44, 52)));
+            tle.setBstar(exponent(line1.substring(53, 61)));
+            tle.setEphemerisType(Character.isDigit(line1.charAt(62)) ? line1.charAt(62) - '0' : 0);
+            tle.setElementSetNo(Integer.parseInt(line1.substring(64, 68).trim()));
+            tle.setInclination(Double.parseDouble(line2.substring(8, 16).trim()));
+            tle.setRaOfAscNode(Double.parseDouble(line2.substring(17, 25).trim()));
+            tle.setEccentricity(Double.parseDouble("0." + line2.substring(26, 33).trim()));
+            tle.setArgOfPericenter(Double.parseDouble(line2.substring(34, 42).trim()));
+            tle.setMeanAnomaly(Double.parseDouble(line2.substring(43, 51).trim()));
+            tle.setMeanMotion(Double.parseDouble(line2.substring(52, 63).trim()));
+            tle.setRevAtEpoch(Integer.parseInt(line2.substring(63, 68).trim()));
+            tle.setTleLine0(name != null ? "0 " + name : null);
+            tle.setTleLine1(line1);
+            tle.setTleLine2(line2);
+            TleRecords.deriveOrbitSize(tle);
+            return tle;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    // five digits, or alpha-5 (letter for the two leading digits) above 99999
+    static int catalogNumber(String field) {
+        char first = field.charAt(0);
+        if (Character.isLetter(first)) {
+            int index = ALPHA5.indexOf(Character.toUpperCase(first));
+            if (index < 0) {
+                throw new NumberFormatException("Invalid alpha-5 catalog number " + field);
+            }
+            return (index + 10) * 10000 + Integer.parseInt(field.substring(1));
+        }
+        return Integer.parseInt(field.trim());
+    }
+
+    // TLE assumed-decimal exponent fields, " 10270-3" is 0.10270e-3
+    static double exponent(String field) {
+        String value = field.trim();
+        if (value.isEmpty()) {
+            return 0;
+        }
+        double sign = 1;
+        if (value.charAt(0) == '-' || value.charAt(0) == '+') {
+            sign = value.charAt(0) == '-' ? -1 : 1;
+            value = value.substring(1);
+        }
+        int split = value.length() - 2;
+        return sign * Double.parseDouble("0." + value.substring(0, split)) * Math.pow(10, Integer.parseInt(value.substring(split)));
+    }
+}
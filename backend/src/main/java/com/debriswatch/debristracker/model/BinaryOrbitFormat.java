@@ -0,0 +1,85 @@
+package com.debriswatch.debristracker.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Compact little-endian encoding of position columns, offered next to JSON
+ * through content negotiation (Accept: application/vnd.spaceshield.orbit).
+ *
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "SSOB"
+ *      4     1  version (1)
+ *      5     1  kind: 1 = positions snapshot, 2 = trajectory
+ *      6     2  reserved
+ *      8     4  int32 count
+ *     12     4  float32 step in seconds (0 for snapshots)
+ *     16     8  int64 epoch millis (snapshot instant, trajectory start)
+ *     24        snapshots only: int32 noradId[count]
+ *               float32 latitude[count] (deg), longitude[count] (deg), altitude[count] (m)
+ * </pre>
+ * Every column starts on a 4-byte boundary so browsers can map it with typed array views.
+ */
+public final class BinaryOrbitFormat {
+
+    public static final String MEDIA_TYPE = "application/vnd.spaceshield.orbit";
+
+    public static final byte KIND_POSITIONS = 1;
+    public static final byte KIND_TRAJECTORY = 2;
+
+    private static final byte[] MAGIC = {'S', 'S', 'O', 'B'};
+    private static final byte VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+
+    private BinaryOrbitFormat() {
+    }
+
+    /**
+     * Valid rows of the batch, straight from its arrays.
+     */
+    public static byte[] encodePositions(PositionBatch batch) {
+        int count = batch.validCount();
+        ByteBuffer out = header(KIND_POSITIONS, count, 0, batch.getEpoch().toEpochMilli(), 16);
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.isValid(i)) {
+                out.putInt(batch.getNoradIds()[i]);
+            }
+        }
+        putValid(out, batch, batch.getLatitude());
+        putValid(out, batch, batch.getLongitude());
+        putValid(out, batch, batch.getAltitude());
+        return out.array();
+    }
+
+    public static byte[] encodeTrajectory(Trajectory trajectory) {
+        int count = trajectory.getSize();
+        ByteBuffer out = header(KIND_TRAJECTORY, count, trajectory.getStepSeconds(),
+                trajectory.getStart().toEpochMilli(), 12);
+        putColumn(out, trajectory.getLatitude(), count);
+        putColumn(out, trajectory.getLongitude(), count);
+        putColumn(out, trajectory.getAltitude(), count);
+        return out.array();
+    }
+
+    private static ByteBuffer header(byte kind, int count, double stepSeconds, long epochMillis, int bytesPerRow) {
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + count * bytesPerRow).order(ByteOrder.LITTLE_ENDIAN);
+        out.put(MAGIC).put(VERSION).put(kind).putShort((short) 0);
+        out.putInt(count).putFloat((float) stepSeconds).putLong(epochMillis);
+        return out;
+    }
+
+    private static void putValid(ByteBuffer out, PositionBatch batch, double[] column) {
+        for (int i = 0; i < column.length; i++) {
+            if (batch.isValid(i)) {
+                out.putFloat((float) column[i]);
+            }
+        }
+    }
+
+    private static void putColumn(ByteBuffer out, double[] column, int count) {
+        for (int i = 0; i < count; i++) {
+            out.putFloat((float) column[i]);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.debriswatch.debristracker.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Binary image of the in-memory catalog and of the positions last propagated
+ * from it, written on shutdown and periodically so a restarted node serves
+ * positions before the database and Space-Track answer.
+ *
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "SSCS"
+ *      4     4  version (1)
+ *      8     4  int32 count
+ *     12     4  flags, 1 = positions present
+ *     16     8  int64 catalog load time, epoch millis
+ *     24     8  int64 positions epoch millis (0 without positions)
+ *     32        int32 noradId[count], elementSetNo[count]
+ *               float64 epochSeconds, meanMotion, eccentricity, inclination, raOfAscNode,
+ *                       argOfPericenter, meanAnomaly, bstar, period, apogee, perigee [count each]
+ *               int8 objectType[count]
+ *               with positions: float64 x, y, z (m), latitude, longitude (deg), altitude (m) [count each]
+ *               objectName, tleLine1, tleLine2: per row int32 byte length (-1 = null) + UTF-8
+ * </pre>
+ * All little-endian, columns in {@link CatalogStore} order.
+ */
+public final class CatalogSnapshotFormat {
+
+    static final int MAGIC = 'S' | 'S' << 8 | 'C' << 16 | 'S' << 24;
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int FLAG_POSITIONS = 1;
+
+    /**
+     * Decoded snapshot; positions is null when none were saved.
+     */
+    public record Contents(CatalogStore catalog, Instant catalogLoadedAt, PositionBatch positions) {
+    }
+
+    private CatalogSnapshotFormat() {
+    }
+
+    /**
+     * Encodes the catalog, with the positions only when they were propagated from this very catalog.
+     */
+    public static ByteBuffer encode(CatalogStore catalog, Instant catalogLoadedAt, PositionBatch positions) {
+        int count = catalog.getSize();
+        boolean withPositions = positions != null && Arrays.equals(positions.getNoradIds(), catalog.getNoradIds());
+        byte[][] names = utf8(catalog.getObjectNames());
+        byte[][] line1 = utf8(catalog.getTleLine1());
+        byte[][] line2 = utf8(catalog.getTleLine2());
+
+        long bytes = HEADER_BYTES + 8L * count + 88L * count + count + (withPositions ? 48L * count : 0)
+                + stringBytes(names) + stringBytes(line1) + stringBytes(line2);
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Catalog too large for one snapshot: " + bytes + " bytes");
+        }
+        ByteBuffer out = ByteBuffer.allocate((int) bytes).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(withPositions ? FLAG_POSITIONS : 0);
+        out.putLong(catalogLoadedAt != null ? catalogLoadedAt.toEpochMilli() : 0);
+        out.putLong(withPositions ? positions.getEpoch().toEpochMilli() : 0);
+
+        putInts(out, catalog.getNoradIds());
+        putInts(out, catalog.getElementSetNo());
+        for (double[] column : doubleColumns(catalog)) {
+            putDoubles(out, column);
+        }
+        out.put(catalog.getObjectTypes());
+        if (withPositions) {
+            for (double[] column : positionColumns(positions)) {
+                putDoubles(out, column);
+            }
+        }
+        putStrings(out, names);
+        putStrings(out, line1);
+        putStrings(out, line2);
+        return out.flip();
+    }
+
+    /**
+     * Decodes a snapshot from the current position of the buffer.
+     *
+     * @throws IllegalArgumentException when the buffer is not a snapshot of this version
+     */
+    public static Contents decode(ByteBuffer buffer) {
+        ByteBuffer in = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (in.remaining() < HEADER_BYTES || in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a catalog snapshot");
+        }
+        int version = in.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported catalog snapshot version " + version);
+        }
+        int count = in.getInt();
+        boolean withPositions = (in.getInt() & FLAG_POSITIONS) != 0;
+        long loadedAtMillis = in.getLong();
+        long positionsMillis = in.getLong();
+
+        CatalogStore catalog = new CatalogStore(count);
+        getInts(in, catalog.getNoradIds());
+        getInts(in, catalog.getElementSetNo());
+        for (double[] column : doubleColumns(catalog)) {
+            getDoubles(in, column);
+        }
+        in.get(catalog.getObjectTypes());
+        PositionBatch positions = null;
+        if (withPositions) {
+            positions = new PositionBatch(Instant.ofEpochMilli(positionsMillis), count);
+            System.arraycopy(catalog.getNoradIds(), 0, positions.getNoradIds(), 0, count);
+            for (double[] column : positionColumns(positions)) {
+                getDoubles(in, column);
+            }
+        }
+        getStrings(in, catalog.getObjectNames());
+        getStrings(in, catalog.getTleLine1());
+        getStrings(in, catalog.getTleLine2());
+        catalog.index();
+        return new Contents(catalog, loadedAtMillis != 0 ? Instant.ofEpochMilli(loadedAtMillis) : null, positions);
+    }
+
+    private static double[][] doubleColumns(CatalogStore catalog) {
+        return new double[][] {
+                catalog.getEpochSeconds(), catalog.getMeanMotion(), catalog.getEccentricity(),
+                catalog.getInclination(), catalog.getRaOfAscNode(), catalog.getArgOfPericenter(),
+                catalog.getMeanAnomaly(), catalog.getBstar(), catalog.getPeriod(),
+                catalog.getApogee(), catalog.getPerigee()
+        };
+    }
+
+    private static double[][] positionColumns(PositionBatch batch) {
+        return new double[][] {
+                batch.getX(), batch.getY(), batch.getZ(),
+                batch.getLatitude(), batch.getLongitude(), batch.getAltitude()
+        };
+    }
+
+    private static void putInts(ByteBuffer out, int[] column) {
+        out.asIntBuffer().put(column);
+        out.position(out.position() + 4 * column.length);
+    }
+
+    private static void getInts(ByteBuffer in, int[] column) {
+        in.asIntBuffer().get(column);
+        in.position(in.position() + 4 * column.length);
+    }
+
+    private static void putDoubles(ByteBuffer out, double[] column) {
+        out.asDoubleBuffer().put(column);
+        out.position(out.position() + 8 * column.length);
+    }
+
+    private static void getDoubles(ByteBuffer in, double[] column) {
+        in.asDoubleBuffer().get(column);
+        in.position(in.position() + 8 * column.length);
+    }
+
+    private static byte[][] utf8(String[] column) {
+        byte[][] encoded = new byte[column.length][];
+        for (int i = 0; i < column.length; i++) {
+            encoded[i] = column[i] != null ? column[i].getBytes(StandardCharsets.UTF_8) : null;
+        }
+        return encoded;
+    }
+
+    private static long stringBytes(byte[][] column) {
+        long bytes = 4L * column.length;
+        for (byte[] value : column) {
+            bytes += value != null ? value.length : 0;
+        }
+        return bytes;
+    }
+
+    private static void putStrings(ByteBuffer out, byte[][] column) {
+        for (byte[] value : column) {
+            if (value == null) {
+                out.putInt(-1);
+            } else {
+                out.putInt(value.length).put(value);
+            }
+        }
+    }
+
+    private static void getStrings(ByteBuffer in, String[] column) {
+        for (int i = 0; i < column.length; i++) {
+            int length = in.getInt();
+            if (length >= 0) {
+                column[i] = new String(bytes(in, length), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    private static byte[] bytes(ByteBuffer in, int length) {
+        byte[] value = new byte[length];
+        in.get(value);
+        return value;
+    }
+}
@@ -0,0 +1,176 @@
+package com.debriswatch.debristracker.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * In-memory live catalog in struct-of-arrays form: one primitive column per
+ * orbital element, one row per object, and a primitive NORAD ID -> row index.
+ * Built once per TLE refresh and never modified afterwards; the array getters
+ * expose the columns directly for hot loops and must be treated as read-only.
+ *
+ * Angles are degrees, mean motion is revolutions per day, epoch is seconds
+ * since 1970 UTC, apogee/perigee are kilometers and period is minutes, as
+ * published by Space-Track. TLE lines are kept to build SGP4 propagators.
+ */
+@Getter
+public final class CatalogStore {
+
+    public static final byte TYPE_SATELLITE = 0;
+    public static final byte TYPE_DEBRIS = 1;
+    public static final byte TYPE_ROCKET_BODY = 2;
+
+    private static final CatalogStore EMPTY = from(List.of());
+
+    private final int size;
+    private final int[] noradIds;
+    private final int[] elementSetNo;
+    private final double[] epochSeconds;
+    private final double[] meanMotion;
+    private final double[] eccentricity;
+    private final double[] inclination;
+    private final double[] raOfAscNode;
+    private final double[] argOfPericenter;
+    private final double[] meanAnomaly;
+    private final double[] bstar;
+    private final double[] period;
+    private final double[] apogee;
+    private final double[] perigee;
+    private final byte[] objectTypes;
+    private final String[] objectNames;
+    private final String[] tleLine1;
+    private final String[] tleLine2;
+
+    @Getter(AccessLevel.NONE)
+    private final IntIndexMap rowByNoradId;
+
+    // columns filled by from() or by CatalogSnapshotFormat, which then calls index()
+    CatalogStore(int size) {
+        this.size = size;
+        this.noradIds = new int[size];
+        this.elementSetNo = new int[size];
+        this.epochSeconds = new double[size];
+        this.meanMotion = new double[size];
+        this.eccentricity = new double[size];
+        this.inclination = new double[size];
+        this.raOfAscNode = new double[size];
+        this.argOfPericenter = new double[size];
+        this.meanAnomaly = new double[size];
+        this.bstar = new double[size];
+        this.period = new double[size];
+        this.apogee = new double[size];
+        this.perigee = new double[size];
+        this.objectTypes = new byte[size];
+        this.objectNames = new String[size];
+        this.tleLine1 = new String[size];
+        this.tleLine2 = new String[size];
+        this.rowByNoradId = new IntIndexMap(size);
+    }
+
+    public static CatalogStore empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the columns from TLE entities. When a NORAD ID appears more than
+     * once the first occurrence wins, so pass the list newest first.
+     */
+    public static CatalogStore from(List<? extends TleData> tleList) {
+        // first pass drops duplicates so the columns can be sized exactly
+        IntIndexMap seen = new IntIndexMap(tleList.size());
+        List<TleData> unique = new ArrayList<>(tleList.size());
+        for (TleData tle : tleList) {
+            if (seen.putIfAbsent(tle.getNoradCatId(), unique.size())) {
+                unique.add(tle);
+            }
+        }
+
+        CatalogStore store = new CatalogStore(unique.size());
+        for (int row = 0; row < unique.size(); row++) {
+            store.fill(row, unique.get(row));
+        }
+        return store;
+    }
+
+    private void fill(int row, TleData tle) {
+        noradIds[row] = tle.getNoradCatId();
+        elementSetNo[row] = tle.getElementSetNo();
+        epochSeconds[row] = tle.getEpochSeconds();
+        meanMotion[row] = tle.getMeanMotion();
+        eccentricity[row] = tle.getEccentricity();
+        inclination[row] = tle.getInclination();
+        raOfAscNode[row] = tle.getRaOfAscNode();
+        argOfPericenter[row] = tle.getArgOfPericenter();
+        meanAnomaly[row] = tle.getMeanAnomaly();
+        bstar[row] = tle.getBstar();
+        period[row] = tle.getPeriod();
+        apogee[row] = tle.getApogee();
+        perigee[row] = tle.getPerigee();
+        objectTypes[row] = typeCode(tle.getObjectType());
+        objectNames[row] = tle.getObjectName();
+        tleLine1[row] = tle.getTleLine1();
+        tleLine2[row] = tle.getTleLine2();
+        rowByNoradId.putIfAbsent(tle.getNoradCatId(), row);
+    }
+
+    void index() {
+        for (int row = 0; row < size; row++) {
+            rowByNoradId.putIfAbsent(noradIds[row], row);
+        }
+    }
+
+    /**
+     * True when both catalogs hold the same element set of every object, in any row order.
+     */
+    public boolean hasSameElementSets(CatalogStore other) {
+        if (other.size != size) {
+            return false;
+        }
+        for (int row = 0; row < size; row++) {
+            int at = other.rowOf(noradIds[row]);
+            if (at < 0 || other.elementSetNo[at] != elementSetNo[row]
+                    || Double.compare(other.epochSeconds[at], epochSeconds[row]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Row of the object in every column, -1 when it is not in the catalog.
+     */
+    public int rowOf(int noradCatId) {
+        return rowByNoradId.get(noradCatId);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public String getObjectType(int row) {
+        return typeName(objectTypes[row]);
+    }
+
+    // same split as TleObjectFactoryImpl: anything that is not debris or a rocket body is a satellite
+    public static byte typeCode(String objectType) {
+        if (objectType == null) {
+            return TYPE_SATELLITE;
+        }
+        return switch (objectType.trim().toUpperCase()) {
+            case "DEBRIS" -> TYPE_DEBRIS;
+            case "ROCKET BODY" -> TYPE_ROCKET_BODY;
+            default -> TYPE_SATELLITE;
+        };
+    }
+
+    public static String typeName(byte code) {
+        return switch (code) {
+            case TYPE_DEBRIS -> "DEBRIS";
+            case TYPE_ROCKET_BODY -> "ROCKET BODY";
+            default -> "SATELLITE";
+        };
+    }
+}
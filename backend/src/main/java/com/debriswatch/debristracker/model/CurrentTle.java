@@ -0,0 +1,66 @@
+package com.debriswatch.debristracker.model;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Latest element set of each object, one row per NORAD ID pointing at its
+ * tle_data row. Moved forward at ingest, so reading the current catalog is a
+ * primary key walk whatever the depth of the history behind it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "current_tle", indexes = @Index(name = "idx_current_tle_epoch", columnList = "epochSeconds"))
+public class CurrentTle implements Persistable<Integer> {
+
+    @Id
+    private int noradCatId;
+
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "tle_id", nullable = false)
+    private TleData tle;
+
+    // parsed EPOCH, seconds since 1970-01-01T00:00:00Z
+    private double epochSeconds;
+
+    // assigned IDs: tell Spring Data to persist new rows instead of merging (one SELECT each)
+    @Transient
+    private boolean stored;
+
+    public CurrentTle(TleData tle, double epochSeconds) {
+        this.noradCatId = tle.getNoradCatId();
+        this.tle = tle;
+        this.epochSeconds = epochSeconds;
+    }
+
+    @Override
+    public Integer getId() {
+        return noradCatId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
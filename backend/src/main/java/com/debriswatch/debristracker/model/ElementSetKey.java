@@ -0,0 +1,16 @@
+package com.debriswatch.debristracker.model;
+
+/**
+ * Identifies one published element set of an object: a cached value derived
+ * from a TLE is only valid while this key matches.
+ */
+public record ElementSetKey(int noradCatId, int elementSetNo, double epochSeconds) {
+
+    public static ElementSetKey of(TleData tle) {
+        return new ElementSetKey(tle.getNoradCatId(), tle.getElementSetNo(), tle.getEpochSeconds());
+    }
+
+    public static ElementSetKey of(CatalogStore catalog, int row) {
+        return new ElementSetKey(catalog.getNoradIds()[row], catalog.getElementSetNo()[row], catalog.getEpochSeconds()[row]);
+    }
+}
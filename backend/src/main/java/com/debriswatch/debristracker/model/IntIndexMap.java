@@ -0,0 +1,74 @@
+package com.debriswatch.debristracker.model;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing int -> int map with linear probing, no boxing.
+ * Values must be non-negative, {@link #get(int)} returns -1 for a missing key.
+ */
+public final class IntIndexMap {
+
+    private static final int EMPTY = -1;
+
+    private final int[] keys;
+    private final int[] values;
+    private final int mask;
+    private int size;
+
+    public IntIndexMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2) - 1) << 1;
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(values, EMPTY);
+    }
+
+    /**
+     * Associates the value with the key unless the key is already present.
+     * Returns true if the value was stored.
+     */
+    public boolean putIfAbsent(int key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative values are reserved: " + value);
+        }
+        if (size >= keys.length - 1) {
+            throw new IllegalStateException("IntIndexMap is full, capacity " + keys.length);
+        }
+        int slot = mix(key) & mask;
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return true;
+    }
+
+    public int get(int key) {
+        int slot = mix(key) & mask;
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // NORAD IDs are dense and sequential, spread them over the table
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,59 @@
+package com.debriswatch.debristracker.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.debriswatch.debristracker.dto.OrbitResponseDto;
+
+import lombok.Getter;
+
+/**
+ * Immutable set of positions for the whole catalog computed at a single instant.
+ * A new snapshot is built in the background and swapped in atomically, readers
+ * never see a partially built one.
+ */
+@Getter
+public final class OrbitSnapshot {
+
+    private static final OrbitSnapshot EMPTY = new OrbitSnapshot(new PositionBatch(Instant.EPOCH, 0), List.of());
+
+    private final Instant computedAt;
+    private final PositionBatch batch;
+    private final List<OrbitResponseDto> positions;
+    private volatile PositionIndex index;
+
+    public OrbitSnapshot(PositionBatch batch, List<OrbitResponseDto> positions) {
+        this.computedAt = batch.getEpoch();
+        this.batch = batch;
+        this.positions = List.copyOf(positions);
+    }
+
+    public static OrbitSnapshot empty() {
+        return EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return positions.isEmpty();
+    }
+
+    /**
+     * Spatial index over the batch, built on first use and shared by every later query.
+     */
+    public PositionIndex getIndex() {
+        PositionIndex built = index;
+        if (built == null) {
+            synchronized (this) {
+                built = index;
+                if (built == null) {
+                    built = PositionIndex.build(batch, PositionIndex.DEFAULT_CELL_SIZE_METERS);
+                    index = built;
+                }
+            }
+        }
+        return built;
+    }
+
+    public boolean isNewerThan(OrbitSnapshot other) {
+        return computedAt.isAfter(other.computedAt);
+    }
+}
@@ -0,0 +1,58 @@
+package com.debriswatch.debristracker.model;
+
+import java.time.Instant;
+
+import lombok.Getter;
+
+/**
+ * Positions of many objects at one instant, stored column by column.
+ * Index i of every array describes the same object; failed objects have NaN
+ * coordinates. x/y/z are Earth-fixed (ITRF) meters, latitude/longitude are
+ * degrees and altitude is meters above the WGS84 ellipsoid.
+ */
+@Getter
+public final class PositionBatch {
+
+    private final Instant epoch;
+    private final int[] noradIds;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final double[] latitude;
+    private final double[] longitude;
+    private final double[] altitude;
+
+    public PositionBatch(Instant epoch, int size) {
+        this.epoch = epoch;
+        this.noradIds = new int[size];
+        this.x = new double[size];
+        this.y = new double[size];
+        this.z = new double[size];
+        this.latitude = new double[size];
+        this.longitude = new double[size];
+        this.altitude = new double[size];
+    }
+
+    public int size() {
+        return noradIds.length;
+    }
+
+    public boolean isValid(int index) {
+        return !Double.isNaN(altitude[index]);
+    }
+
+    public int validCount() {
+        int count = 0;
+        for (int i = 0; i < altitude.length; i++) {
+            if (isValid(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public void markFailed(int index) {
+        x[index] = y[index] = z[index] = Double.NaN;
+        latitude[index] = longitude[index] = altitude[index] = Double.NaN;
+    }
+}
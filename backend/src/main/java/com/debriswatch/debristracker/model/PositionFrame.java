@@ -0,0 +1,129 @@
+package com.debriswatch.debristracker.model;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import lombok.Getter;
+
+/**
+ * Valid positions of a {@link PositionBatch} quantized to integers for the
+ * realtime stream: latitude/longitude in 1e-5 degrees (about a meter) and
+ * altitude in whole meters. Encodes itself either as a keyframe (absolute
+ * values) or as a delta against the previous frame with the same IDs.
+ */
+@Getter
+public final class PositionFrame {
+
+    public static final double ANGLE_SCALE = 1e-5;
+    public static final double ALTITUDE_SCALE = 1;
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final long timeMillis;
+    private final int[] ids;
+    private final int[] latitude;
+    private final int[] longitude;
+    private final int[] altitude;
+
+    private PositionFrame(long timeMillis, int[] ids, int[] latitude, int[] longitude, int[] altitude) {
+        this.timeMillis = timeMillis;
+        this.ids = ids;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.altitude = altitude;
+    }
+
+    public static PositionFrame quantize(PositionBatch batch) {
+        int count = batch.validCount();
+        int[] ids = new int[count];
+        int[] lat = new int[count];
+        int[] lon = new int[count];
+        int[] alt = new int[count];
+        int n = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (!batch.isValid(i)) {
+                continue;
+            }
+            ids[n] = batch.getNoradIds()[i];
+            lat[n] = (int) Math.round(batch.getLatitude()[i] / ANGLE_SCALE);
+            lon[n] = (int) Math.round(batch.getLongitude()[i] / ANGLE_SCALE);
+            alt[n] = (int) Math.round(batch.getAltitude()[i] / ALTITUDE_SCALE);
+            n++;
+        }
+        return new PositionFrame(batch.getEpoch().toEpochMilli(), ids, lat, lon, alt);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Deltas are only meaningful between frames listing the same objects in the same order.
+     */
+    public boolean hasSameIds(PositionFrame other) {
+        return other != null && Arrays.equals(ids, other.ids);
+    }
+
+    /**
+     * {"t":millis,"ids":[...],"lat":[...],"lon":[...],"alt":[...]}
+     */
+    public String toKeyframeJson() {
+        return write(gen -> {
+            writeArray(gen, "ids", ids);
+            writeArray(gen, "lat", latitude);
+            writeArray(gen, "lon", longitude);
+            writeArray(gen, "alt", altitude);
+        });
+    }
+
+    /**
+     * {"t":millis,"lat":[...],"lon":[...],"alt":[...]} holding this frame minus
+     * the previous one, in the ID order of the last keyframe.
+     */
+    public String toDeltaJson(PositionFrame previous) {
+        if (!hasSameIds(previous)) {
+            throw new IllegalArgumentException("Delta needs the same IDs as the previous frame");
+        }
+        return write(gen -> {
+            writeArray(gen, "lat", minus(latitude, previous.latitude));
+            writeArray(gen, "lon", minus(longitude, previous.longitude));
+            writeArray(gen, "alt", minus(altitude, previous.altitude));
+        });
+    }
+
+    private String write(Body body) {
+        StringWriter out = new StringWriter(32 + ids.length * 24);
+        try (JsonGenerator gen = JSON.createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeNumberField("t", timeMillis);
+            body.write(gen);
+            gen.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    private static void writeArray(JsonGenerator gen, String name, int[] values) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeArray(values, 0, values.length);
+    }
+
+    private static int[] minus(int[] current, int[] previous) {
+        int[] delta = new int[current.length];
+        for (int i = 0; i < current.length; i++) {
+            delta[i] = current[i] - previous[i];
+        }
+        return delta;
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        void write(JsonGenerator gen) throws IOException;
+    }
+}
@@ -0,0 +1,322 @@
+package com.debriswatch.debristracker.model;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Spatial indexes over the rows of one {@link PositionBatch}, built once per
+ * snapshot in O(N) with counting sorts and never modified afterwards:
+ * a 1 degree latitude/longitude grid of the sub-satellite points, 10 km
+ * altitude bins, and a {@link SpatialGrid} on the Earth-fixed positions.
+ * Queries visit the cells or bins overlapping the region and test only the
+ * rows in them, so their cost follows the size of the region, not of the catalog.
+ * Rows with NaN positions are not indexed.
+ */
+public final class PositionIndex {
+
+    public static final double DEFAULT_CELL_SIZE_METERS = 500_000;
+
+    private static final int LAT_CELLS = 180;
+    private static final int LON_CELLS = 360;
+    private static final double ALTITUDE_BIN_METERS = 10_000;
+    // everything above 100,000 km shares the last bin
+    private static final int ALTITUDE_BINS = 10_001;
+    private static final double MEAN_EARTH_RADIUS = 6_371_008.8;
+    // beyond this the nearest-neighbour search scans every row instead of the grid
+    private static final int MAX_SEARCH_CELLS = 16;
+
+    private final PositionBatch batch;
+    private final SpatialGrid grid;
+    private final int[] geoStart;
+    private final int[] geoRows;
+    private final int[] altitudeStart;
+    private final int[] altitudeRows;
+
+    private PositionIndex(PositionBatch batch, SpatialGrid grid,
+                          int[] geoStart, int[] geoRows, int[] altitudeStart, int[] altitudeRows) {
+        this.batch = batch;
+        this.grid = grid;
+        this.geoStart = geoStart;
+        this.geoRows = geoRows;
+        this.altitudeStart = altitudeStart;
+        this.altitudeRows = altitudeRows;
+    }
+
+    public static PositionIndex build(PositionBatch batch, double cellSizeMeters) {
+        int size = batch.size();
+        int[] geoCell = new int[size];
+        int[] altitudeBin = new int[size];
+        int[] geoStart = new int[LAT_CELLS * LON_CELLS + 1];
+        int[] altitudeStart = new int[ALTITUDE_BINS + 1];
+        int indexed = 0;
+        for (int i = 0; i < size; i++) {
+            if (!batch.isValid(i) || Double.isNaN(batch.getLatitude()[i]) || Double.isNaN(batch.getLongitude()[i])) {
+                geoCell[i] = -1;
+                continue;
+            }
+            geoCell[i] = geoCell(batch.getLatitude()[i], batch.getLongitude()[i]);
+            altitudeBin[i] = altitudeBin(batch.getAltitude()[i]);
+            geoStart[geoCell[i] + 1]++;
+            altitudeStart[altitudeBin[i] + 1]++;
+            indexed++;
+        }
+        for (int c = 0; c < LAT_CELLS * LON_CELLS; c++) {
+            geoStart[c + 1] += geoStart[c];
+        }
+        for (int b = 0; b < ALTITUDE_BINS; b++) {
+            altitudeStart[b + 1] += altitudeStart[b];
+        }
+
+        int[] geoRows = new int[indexed];
+        int[] altitudeRows = new int[indexed];
+        int[] geoCursor = Arrays.copyOf(geoStart, LAT_CELLS * LON_CELLS);
+        int[] altitudeCursor = Arrays.copyOf(altitudeStart, ALTITUDE_BINS);
+        for (int i = 0; i < size; i++) {
+            if (geoCell[i] >= 0) {
+                geoRows[geoCursor[geoCell[i]]++] = i;
+                altitudeRows[altitudeCursor[altitudeBin[i]]++] = i;
+            }
+        }
+        SpatialGrid grid = SpatialGrid.build(batch.getX(), batch.getY(), batch.getZ(), size, cellSizeMeters);
+        return new PositionIndex(batch, grid, geoStart, geoRows, altitudeStart, altitudeRows);
+    }
+
+    public PositionBatch getBatch() {
+        return batch;
+    }
+
+    /**
+     * Rows whose sub-satellite point lies in the box, degrees. A box with
+     * minLongitude greater than maxLongitude crosses the antimeridian.
+     */
+    public void forEachInBox(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude,
+                             IntConsumer consumer) {
+        if (minLongitude > maxLongitude) {
+            forEachInBox(minLatitude, maxLatitude, minLongitude, 180, consumer);
+            forEachInBox(minLatitude, maxLatitude, -180, maxLongitude, consumer);
+            return;
+        }
+        int fromLat = latCell(minLatitude);
+        int toLat = latCell(maxLatitude);
+        int fromLon = lonCell(minLongitude);
+        int toLon = lonCell(maxLongitude);
+        for (int la = fromLat; la <= toLat; la++) {
+            for (int lo = fromLon; lo <= toLon; lo++) {
+                int cell = la * LON_CELLS + lo;
+                for (int k = geoStart[cell]; k < geoStart[cell + 1]; k++) {
+                    int i = geoRows[k];
+                    double latitude = batch.getLatitude()[i];
+                    double longitude = batch.getLongitude()[i];
+                    if (latitude >= minLatitude && latitude <= maxLatitude
+                            && longitude >= minLongitude && longitude <= maxLongitude) {
+                        consumer.accept(i);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Rows whose sub-satellite point is within radiusMeters of the given point
+     * along the ground, on a spherical Earth.
+     */
+    public void forEachNearGround(double latitude, double longitude, double radiusMeters, IntConsumer consumer) {
+        double reach = Math.toDegrees(radiusMeters / MEAN_EARTH_RADIUS);
+        double minLatitude = Math.max(-90, latitude - reach);
+        double maxLatitude = Math.min(90, latitude + reach);
+        double widest = Math.max(Math.abs(minLatitude), Math.abs(maxLatitude));
+        double lonReach = maxLatitude >= 90 || minLatitude <= -90 || widest >= 89.9
+                ? 180 : reach / Math.cos(Math.toRadians(widest));
+        IntConsumer within = i -> {
+            if (groundDistance(latitude, longitude, batch.getLatitude()[i], batch.getLongitude()[i]) <= radiusMeters) {
+                consumer.accept(i);
+            }
+        };
+        if (lonReach >= 180) {
+            forEachInBox(minLatitude, maxLatitude, -180, 180, within);
+        } else {
+            forEachInBox(minLatitude, maxLatitude, wrap(longitude - lonReach), wrap(longitude + lonReach), within);
+        }
+    }
+
+    /**
+     * Rows with an altitude in [minAltitude, maxAltitude], meters.
+     */
+    public void forEachInShell(double minAltitude, double maxAltitude, IntConsumer consumer) {
+        int from = altitudeBin(minAltitude);
+        int to = altitudeBin(maxAltitude);
+        for (int k = altitudeStart[from]; k < altitudeStart[to + 1]; k++) {
+            int i = altitudeRows[k];
+            double altitude = batch.getAltitude()[i];
+            if (altitude >= minAltitude && altitude <= maxAltitude) {
+                consumer.accept(i);
+            }
+        }
+    }
+
+    /**
+     * The k rows closest to the given row in space, nearest first, without the row itself.
+     */
+    public int[] nearest(int row, int k) {
+        double px = batch.getX()[row];
+        double py = batch.getY()[row];
+        double pz = batch.getZ()[row];
+        if (k <= 0 || Double.isNaN(px)) {
+            return new int[0];
+        }
+        Candidates candidates = new Candidates(k);
+        // widen the sphere until it holds k rows; rows inside radius r are exactly the closest ones
+        for (double radius = grid.getCellSize(); radius <= MAX_SEARCH_CELLS * grid.getCellSize(); radius *= 2) {
+            candidates.clear();
+            double r = radius;
+            grid.forEachWithin(px, py, pz, r, i -> {
+                if (i != row) {
+                    candidates.offer(i, distance2(i, px, py, pz));
+                }
+            });
+            if (candidates.isFull()) {
+                return candidates.sorted();
+            }
+        }
+        candidates.clear();
+        for (int i = 0; i < batch.size(); i++) {
+            if (i != row && batch.isValid(i) && !Double.isNaN(batch.getX()[i])) {
+                candidates.offer(i, distance2(i, px, py, pz));
+            }
+        }
+        return candidates.sorted();
+    }
+
+    /**
+     * Straight-line distance between two rows, meters.
+     */
+    public double distance(int i, int j) {
+        return Math.sqrt(distance2(i, batch.getX()[j], batch.getY()[j], batch.getZ()[j]));
+    }
+
+    /**
+     * Great-circle distance between two points on a spherical Earth, meters.
+     */
+    public static double groundDistance(double lat1, double lon1, double lat2, double lon2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double dPhi = phi2 - phi1;
+        double dLambda = Math.toRadians(lon2 - lon1);
+        double h = Math.sin(dPhi / 2) * Math.sin(dPhi / 2)
+                + Math.cos(phi1) * Math.cos(phi2) * Math.sin(dLambda / 2) * Math.sin(dLambda / 2);
+        return 2 * MEAN_EARTH_RADIUS * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+
+    private double distance2(int i, double px, double py, double pz) {
+        double dx = batch.getX()[i] - px;
+        double dy = batch.getY()[i] - py;
+        double dz = batch.getZ()[i] - pz;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static int geoCell(double latitude, double longitude) {
+        return latCell(latitude) * LON_CELLS + lonCell(longitude);
+    }
+
+    private static int latCell(double latitude) {
+        return Math.max(0, Math.min(LAT_CELLS - 1, (int) Math.floor(latitude + 90)));
+    }
+
+    private static int lonCell(double longitude) {
+        return Math.max(0, Math.min(LON_CELLS - 1, (int) Math.floor(wrap(longitude) + 180)));
+    }
+
+    private static int altitudeBin(double altitude) {
+        return (int) Math.max(0, Math.min(ALTITUDE_BINS - 1, Math.floor(altitude / ALTITUDE_BIN_METERS)));
+    }
+
+    // into [-180, 180]
+    private static double wrap(double longitude) {
+        return longitude >= -180 && longitude <= 180 ? longitude : longitude - 360 * Math.floor((longitude + 180) / 360);
+    }
+
+    // bounded max-heap of the k closest rows seen so far
+    private static final class Candidates {
+        private final int[] rows;
+        private final double[] distances;
+        private int size;
+
+        Candidates(int capacity) {
+            rows = new int[capacity];
+            distances = new double[capacity];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        boolean isFull() {
+            return size == rows.length;
+        }
+
+        void offer(int row, double distance) {
+            if (size < rows.length) {
+                int at = size++;
+                rows[at] = row;
+                distances[at] = distance;
+                siftUp(at);
+            } else if (distance < distances[0]) {
+                rows[0] = row;
+                distances[0] = distance;
+                siftDown(0);
+            }
+        }
+
+        int[] sorted() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(distances[a], distances[b]));
+            int[] result = new int[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = rows[order[i]];
+            }
+            return result;
+        }
+
+        private void siftUp(int at) {
+            while (at > 0) {
+                int parent = (at - 1) / 2;
+                if (distances[parent] >= distances[at]) {
+                    return;
+                }
+                swap(parent, at);
+                at = parent;
+            }
+        }
+
+        private void siftDown(int at) {
+            while (true) {
+                int largest = at;
+                int left = 2 * at + 1;
+                int right = left + 1;
+                if (left < size && distances[left] > distances[largest]) {
+                    largest = left;
+                }
+                if (right < size && distances[right] > distances[largest]) {
+                    largest = right;
+                }
+                if (largest == at) {
+                    return;
+                }
+                swap(largest, at);
+                at = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int row = rows[a];
+            rows[a] = rows[b];
+            rows[b] = row;
+            double distance = distances[a];
+            distances[a] = distances[b];
+            distances[b] = distance;
+        }
+    }
+}
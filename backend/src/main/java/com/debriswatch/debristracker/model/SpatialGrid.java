@@ -0,0 +1,246 @@
+package com.debriswatch.debristracker.model;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform 3D grid over a set of points, built in O(N) with a counting sort.
+ * Points are referenced by their index in the coordinate arrays, which are not
+ * copied and must not change while the grid is in use. NaN points are skipped.
+ */
+public final class SpatialGrid {
+
+    private static final int BITS = 21;
+    private static final int OFFSET = 1 << (BITS - 1);
+    private static final int MAX_CELL = (1 << BITS) - 1;
+
+    // half of the 26 neighbours, so that every pair of cells is visited once
+    private static final int[][] FORWARD_NEIGHBOURS = forwardNeighbours();
+
+    private final double cellSize;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final long[] cellKeys;
+    private final int[] cellStart;
+    private final int[] items;
+    private final LongIndexTable cellIds;
+
+    private SpatialGrid(double cellSize, double[] x, double[] y, double[] z,
+                        long[] cellKeys, int[] cellStart, int[] items, LongIndexTable cellIds) {
+        this.cellSize = cellSize;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.cellKeys = cellKeys;
+        this.cellStart = cellStart;
+        this.items = items;
+        this.cellIds = cellIds;
+    }
+
+    public static SpatialGrid build(double[] x, double[] y, double[] z, int size, double cellSize) {
+        int[] cellOf = new int[size];
+        LongIndexTable cellIds = new LongIndexTable(size);
+        long[] keys = new long[Math.max(1, size)];
+        int[] counts = new int[Math.max(1, size)];
+        int cells = 0;
+        int points = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (Double.isNaN(x[i]) || Double.isNaN(y[i]) || Double.isNaN(z[i])) {
+                cellOf[i] = -1;
+                continue;
+            }
+            long key = key(cell(x[i], cellSize), cell(y[i], cellSize), cell(z[i], cellSize));
+            int id = cellIds.get(key);
+            if (id < 0) {
+                id = cells++;
+                cellIds.put(key, id);
+                keys[id] = key;
+            }
+            cellOf[i] = id;
+            counts[id]++;
+            points++;
+        }
+
+        int[] cellStart = new int[cells + 1];
+        for (int c = 0; c < cells; c++) {
+            cellStart[c + 1] = cellStart[c] + counts[c];
+        }
+        int[] cursor = Arrays.copyOf(cellStart, cells);
+        int[] items = new int[points];
+        for (int i = 0; i < size; i++) {
+            if (cellOf[i] >= 0) {
+                items[cursor[cellOf[i]]++] = i;
+            }
+        }
+        return new SpatialGrid(cellSize, x, y, z, Arrays.copyOf(keys, cells), cellStart, items, cellIds);
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    public int cellCount() {
+        return cellKeys.length;
+    }
+
+    /**
+     * Visits every unordered pair of points closer than maxDistance exactly once.
+     * maxDistance must not exceed the cell size.
+     */
+    public void forEachPairWithin(double maxDistance, PairConsumer consumer) {
+        if (maxDistance > cellSize) {
+            throw new IllegalArgumentException("maxDistance " + maxDistance + " exceeds cell size " + cellSize);
+        }
+        double max2 = maxDistance * maxDistance;
+        for (int c = 0; c < cellKeys.length; c++) {
+            int start = cellStart[c];
+            int end = cellStart[c + 1];
+            for (int a = start; a < end; a++) {
+                for (int b = a + 1; b < end; b++) {
+                    visit(items[a], items[b], max2, consumer);
+                }
+            }
+
+            int cx = cx(cellKeys[c]);
+            int cy = cy(cellKeys[c]);
+            int cz = cz(cellKeys[c]);
+            for (int[] d : FORWARD_NEIGHBOURS) {
+                int other = cellIds.get(key(cx + d[0], cy + d[1], cz + d[2]));
+                if (other < 0) {
+                    continue;
+                }
+                for (int a = start; a < end; a++) {
+                    for (int b = cellStart[other]; b < cellStart[other + 1]; b++) {
+                        visit(items[a], items[b], max2, consumer);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Visits every point within radius of (px, py, pz).
+     */
+    public void forEachWithin(double px, double py, double pz, double radius, IntConsumer consumer) {
+        int reach = (int) Math.ceil(radius / cellSize);
+        int cx = cell(px, cellSize);
+        int cy = cell(py, cellSize);
+        int cz = cell(pz, cellSize);
+        double r2 = radius * radius;
+        for (int dx = -reach; dx <= reach; dx++) {
+            for (int dy = -reach; dy <= reach; dy++) {
+                for (int dz = -reach; dz <= reach; dz++) {
+                    int c = cellIds.get(key(cx + dx, cy + dy, cz + dz));
+                    if (c < 0) {
+                        continue;
+                    }
+                    for (int k = cellStart[c]; k < cellStart[c + 1]; k++) {
+                        int i = items[k];
+                        if (distance2(i, px, py, pz) <= r2) {
+                            consumer.accept(i);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void visit(int i, int j, double max2, PairConsumer consumer) {
+        double d2 = distance2(i, x[j], y[j], z[j]);
+        if (d2 <= max2) {
+            consumer.accept(Math.min(i, j), Math.max(i, j), Math.sqrt(d2));
+        }
+    }
+
+    private double distance2(int i, double px, double py, double pz) {
+        double dx = x[i] - px;
+        double dy = y[i] - py;
+        double dz = z[i] - pz;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static int cell(double coordinate, double cellSize) {
+        long c = (long) Math.floor(coordinate / cellSize) + OFFSET;
+        return (int) Math.max(0, Math.min(MAX_CELL, c));
+    }
+
+    private static long key(int cx, int cy, int cz) {
+        return ((long) cx << (2 * BITS)) | ((long) cy << BITS) | cz;
+    }
+
+    private static int cx(long key) {
+        return (int) (key >>> (2 * BITS)) & MAX_CELL;
+    }
+
+    private static int cy(long key) {
+        return (int) (key >>> BITS) & MAX_CELL;
+    }
+
+    private static int cz(long key) {
+        return (int) key & MAX_CELL;
+    }
+
+    private static int[][] forwardNeighbours() {
+        int[][] offsets = new int[13][];
+        int n = 0;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    boolean forward = dx > 0 || (dx == 0 && dy > 0) || (dx == 0 && dy == 0 && dz > 0);
+                    if (forward) {
+                        offsets[n++] = new int[] {dx, dy, dz};
+                    }
+                }
+            }
+        }
+        return offsets;
+    }
+
+    @FunctionalInterface
+    public interface PairConsumer {
+        /** i is always the smaller index. */
+        void accept(int i, int j, double distance);
+    }
+
+    // long -> int open-addressing table, -1 for missing keys
+    private static final class LongIndexTable {
+        private final long[] keys;
+        private final int[] values;
+        private final int mask;
+
+        LongIndexTable(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2) - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+            Arrays.fill(values, -1);
+        }
+
+        int get(long key) {
+            int slot = mix(key) & mask;
+            while (values[slot] >= 0) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            int slot = mix(key) & mask;
+            while (values[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.debriswatch.debristracker.model;
+
+import lombok.Getter;
+
+/**
+ * Inertial position (m) and velocity (m/s) columns for a whole catalog at one
+ * date. Meant to be reused from one time step to the next; failed objects are NaN.
+ */
+@Getter
+public final class StateVectorBatch {
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final double[] vx;
+    private final double[] vy;
+    private final double[] vz;
+
+    public StateVectorBatch(int size) {
+        x = new double[size];
+        y = new double[size];
+        z = new double[size];
+        vx = new double[size];
+        vy = new double[size];
+        vz = new double[size];
+    }
+
+    public int size() {
+        return x.length;
+    }
+
+    public void markFailed(int index) {
+        x[index] = y[index] = z[index] = Double.NaN;
+        vx[index] = vy[index] = vz[index] = Double.NaN;
+    }
+}
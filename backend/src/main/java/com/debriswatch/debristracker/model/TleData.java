@@ -5,13 +5,16 @@ import jakarta.persistence.DiscriminatorColumn;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.Index;
 import jakarta.persistence.Inheritance;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Getter;
 import lombok.Setter; 
 import jakarta.persistence.DiscriminatorType;
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.InheritanceType; // ✅ This one is critical
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -23,12 +26,21 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)//inheritance strategie 
 @DiscriminatorColumn(name = "clazz_", discriminatorType = DiscriminatorType.STRING)
 @DiscriminatorValue("TleData")
-@Table(name = "tle_data")
+// one row per element set (element set numbers repeat: CelesTrak always sends 999 and
+// Space-Track wraps at 999, so the epoch is part of the identity), also serves the
+// element set diff / lookups by NORAD ID; plus the latest-by-name query of /api/orbit/predict
+@Table(name = "tle_data", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_tle_norad_elset_epoch", columnNames = {"noradCatId", "elementSetNo", "epochSeconds"})
+}, indexes = {
+        @Index(name = "idx_tle_name_epoch", columnList = "objectName, epochSeconds")
+})
 public class TleData {
     // Getters and Setters
     
     @jakarta.persistence.Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    // pooled sequence so inserts can be batched, same table and increment Hibernate picked for AUTO
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tle_data_seq")
+    @SequenceGenerator(name = "tle_data_seq", sequenceName = "tle_data_seq", allocationSize = 50)
 private int idData;
 
     @JsonProperty("INTLDES")
@@ -58,6 +70,10 @@ private int idData;
     @JsonProperty("EPOCH")
     private String epoch; // Keep as String for now
 
+    // EPOCH parsed once when it is set, seconds since 1970-01-01T00:00:00Z; null when malformed or not backfilled yet
+    @JsonProperty("EPOCH_SECONDS")
+    private Double epochSeconds;
+
     @JsonProperty("EPOCH_MICROSECONDS")
     private long epochMicroseconds;
 
@@ -130,6 +146,19 @@ private int idData;
     @JsonProperty("DECAYED")
     private String decayed;
 
+    public void setEpoch(String epoch) {
+        this.epoch = epoch;
+        double parsed = TleEpoch.toEpochSeconds(epoch);
+        this.epochSeconds = Double.isNaN(parsed) ? null : parsed;
+    }
+
+    /**
+     * Epoch in seconds since 1970-01-01T00:00:00Z, NaN when it cannot be parsed.
+     */
+    public double getEpochSeconds() {
+        return epochSeconds != null ? epochSeconds : TleEpoch.toEpochSeconds(epoch);
+    }
+
     // Getters and setters
     public void copyFrom(TleData tle) {
         this.setComment(tle.getComment());
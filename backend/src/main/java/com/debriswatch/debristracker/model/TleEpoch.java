@@ -0,0 +1,29 @@
+package com.debriswatch.debristracker.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Conversions of the Space-Track EPOCH field ("2024-05-29T12:00:00.123456", UTC).
+ */
+public final class TleEpoch {
+
+    private TleEpoch() {
+    }
+
+    /**
+     * Seconds since 1970-01-01T00:00:00Z, NaN when the epoch is missing or malformed.
+     */
+    public static double toEpochSeconds(String epoch) {
+        if (epoch == null || epoch.isEmpty()) {
+            return Double.NaN;
+        }
+        try {
+            LocalDateTime dateTime = LocalDateTime.parse(epoch);
+            return dateTime.toEpochSecond(ZoneOffset.UTC) + dateTime.getNano() / 1e9;
+        } catch (DateTimeParseException e) {
+            return Double.NaN;
+        }
+    }
+}
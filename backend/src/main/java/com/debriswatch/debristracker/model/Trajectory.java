@@ -0,0 +1,45 @@
+package com.debriswatch.debristracker.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * Geodetic track of one object sampled at a fixed step, stored column by column.
+ * Only the first {@code size} entries are filled when propagation stopped early.
+ */
+@Getter
+public final class Trajectory {
+
+    private final Instant start;
+    private final double stepSeconds;
+    private final double[] latitude;
+    private final double[] longitude;
+    private final double[] altitude;
+    private int size;
+
+    public Trajectory(Instant start, double stepSeconds, int capacity) {
+        this.start = start;
+        this.stepSeconds = stepSeconds;
+        this.latitude = new double[capacity];
+        this.longitude = new double[capacity];
+        this.altitude = new double[capacity];
+    }
+
+    public void add(double lat, double lon, double alt) {
+        latitude[size] = lat;
+        longitude[size] = lon;
+        altitude[size] = alt;
+        size++;
+    }
+
+    public List<OrbitPoint> toOrbitPoints() {
+        List<OrbitPoint> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            points.add(new OrbitPoint(latitude[i], longitude[i], altitude[i]));
+        }
+        return points;
+    }
+}
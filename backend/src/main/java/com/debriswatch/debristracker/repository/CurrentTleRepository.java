@@ -0,0 +1,14 @@
+package com.debriswatch.debristracker.repository;
+
+import com.debriswatch.debristracker.model.CurrentTle;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CurrentTleRepository extends JpaRepository<CurrentTle, Integer> {
+    @Modifying
+    @Query(value = "DELETE FROM current_tle", nativeQuery = true)
+    void deleteAllCurrentTle();
+}
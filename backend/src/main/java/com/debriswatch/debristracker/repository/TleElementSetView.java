@@ -0,0 +1,12 @@
+package com.debriswatch.debristracker.repository;
+
+/**
+ * Identity of a stored element set, enough to tell new TLEs from known ones
+ * without loading whole entities.
+ */
+public interface TleElementSetView {
+    int getNoradCatId();
+    int getElementSetNo();
+    // null for rows whose EPOCH could not be parsed
+    Double getEpochSeconds();
+}
@@ -1,12 +1,14 @@
 package com.debriswatch.debristracker.repository;
 
 import com.debriswatch.debristracker.model.TleData;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,15 +18,19 @@ public interface TleRepository extends JpaRepository<TleData, Long> {
     List<TleData> findTleDataByObjectType(@Param("object_type") String object_type);
 
     TleData findTopByOrderByIdDataDesc();   
+    // current element set of every object (one row per NORAD ID) through the current_tle pointers, independent of history depth
+    @Query("SELECT t FROM CurrentTle c JOIN c.tle t ORDER BY c.epochSeconds DESC")
+    List<TleData> findCurrentElementSets();
+
+    // full scan of the history, only used to seed current_tle once
     @Query(value = """
     SELECT * FROM (
-        SELECT *, ROW_NUMBER() OVER (PARTITION BY object_name ORDER BY epoch DESC, id_data DESC) AS rn
+        SELECT *, ROW_NUMBER() OVER (PARTITION BY norad_cat_id ORDER BY epoch_seconds DESC, id_data DESC) AS rn
         FROM tle_data
     ) AS ranked
     WHERE rn = 1
-    ORDER BY epoch DESC
 """, nativeQuery = true)
-List<TleData> findLatestTlePerObjectName();
+List<TleData> scanLatestTlePerNoradCatId();
 
 
 
@@ -35,5 +41,19 @@ void deleteAllTleData();
 
 TleData findByNoradCatId(int noradId);
 
-TleData findTopByObjectNameOrderByEpochDesc(String objectName);
+@Query("SELECT t.noradCatId AS noradCatId, t.elementSetNo AS elementSetNo, t.epochSeconds AS epochSeconds FROM TleData t WHERE t.noradCatId IN :ids")
+List<TleElementSetView> findElementSetsByNoradCatIdIn(@Param("ids") Collection<Integer> ids);
+
+TleData findTopByObjectNameOrderByEpochSecondsDesc(String objectName);
+
+// rows stored before epoch_seconds existed, walked once by ID
+List<TleData> findTop500ByEpochSecondsIsNullAndIdDataGreaterThanOrderByIdDataAsc(int idData);
+
+// latest element set of each requested object, one round trip for a whole batch prediction
+@Query("SELECT t FROM CurrentTle c JOIN c.tle t WHERE c.noradCatId IN :ids")
+List<TleData> findLatestByNoradCatIdIn(@Param("ids") Collection<Integer> ids);
+
+// same for every Satellite, Debris or RocketBody row, paged by NORAD ID
+@Query("SELECT t FROM CurrentTle c JOIN c.tle t WHERE TYPE(t) = :type ORDER BY c.noradCatId")
+List<TleData> findLatestByEntityType(@Param("type") Class<? extends TleData> type, Pageable page);
 }
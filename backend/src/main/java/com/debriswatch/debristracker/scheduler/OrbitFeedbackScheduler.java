@@ -1,62 +1,49 @@
 package com.debriswatch.debristracker.scheduler;
 
-import com.debriswatch.debristracker.model.TleData;
-import com.debriswatch.debristracker.model.OrbitPoint;
-import com.debriswatch.debristracker.repository.TleRepository;
-import com.debriswatch.debristracker.service.OrbitService;
-import com.debriswatch.debristracker.service.TleService;
+import com.debriswatch.debristracker.model.OrbitSnapshot;
+import com.debriswatch.debristracker.service.OrbitSnapshotService;
+import com.debriswatch.debristracker.service.PositionHistoryStore;
 
-import java.util.List;
+import java.io.IOException;
+import java.time.Instant;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * Records the realtime snapshot into the {@link PositionHistoryStore} once per
+ * tick, so past positions can be replayed without re-propagating old TLEs.
+ * The snapshot is already propagated in the background, recording it is a copy.
+ */
 @Component
 public class OrbitFeedbackScheduler {
 
-    private final OrbitService orbitService;
-    private final TleRepository tleRepository;
-    private final TleService tleservice;
+    private static final Logger log = LoggerFactory.getLogger(OrbitFeedbackScheduler.class);
 
-    public OrbitFeedbackScheduler(OrbitService orbitService, TleRepository tleRepository, TleService tleservice) {
-        this.orbitService = orbitService;
-        this.tleRepository = tleRepository;
-        this.tleservice=tleservice;
-    } 
+    private final OrbitSnapshotService snapshotService;
+    private final PositionHistoryStore historyStore;
 
-    public void fetchOrbitEveryMinute() {
+    private Instant lastRecorded;
 
-try{
-    tleservice.fetchAndProcessTleData();
-    System.out.println("fetching data in the scheduler ");
-
-}catch(Exception e){
-    System.out.println("fetching data in the scheduler throws an arror : " + e);
-}
+    public OrbitFeedbackScheduler(OrbitSnapshotService snapshotService, PositionHistoryStore historyStore) {
+        this.snapshotService = snapshotService;
+        this.historyStore = historyStore;
+    }
 
-        List<TleData> tleList = tleRepository.findLatestTlePerObjectName(); // Fetch most recent TLE
-for(TleData tle :tleList){
-        if (tle != null) {
-            OrbitPoint orbit = orbitService.computeCurrentOrbitPoint(tle);
-
-            if (orbit != null) {
-                System.out.println("Current Orbit Point:"+tle.getObjectName()+tle.getObjectId());
-                System.out.println("Lat: " + orbit.getLatitude() +
-                                   ", Lon: " + orbit.getLongitude() +
-                                   ", Alt: " + orbit.getAltitude() + " meters");
-                                   if (orbit.getAltitude() > 100_000_000) {
-                                    System.err.println(" \n \n Unrealistic altitude: " + orbit.getAltitude() + " for object " + tle.getObjectName());
-                                    continue;
-                                }
-                                
-            } else {
-                System.err.println("Failed to compute current orbit point.");
-            }
-        } else {
-            System.err.println("No TLE data found in the database.");
+    @Scheduled(initialDelayString = "${orbit.history.interval-ms:60000}",
+               fixedRateString = "${orbit.history.interval-ms:60000}")
+    public synchronized void recordSnapshot() {
+        OrbitSnapshot snapshot = snapshotService.getSnapshot();
+        if (snapshot.isEmpty() || snapshot.getComputedAt().equals(lastRecorded)) {
+            return;
+        }
+        try {
+            historyStore.append(snapshot.getBatch());
+            lastRecorded = snapshot.getComputedAt();
+        } catch (IOException e) {
+            log.warn("Failed to record position history: {}", e.getMessage());
         }
-
-
-    }
     }
 }
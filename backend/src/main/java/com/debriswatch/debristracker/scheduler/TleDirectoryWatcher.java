@@ -0,0 +1,145 @@
+package com.debriswatch.debristracker.scheduler;
+
+import com.debriswatch.debristracker.fetcher.LocalTleFileFetcher;
+import com.debriswatch.debristracker.service.OrbitSnapshotService;
+import com.debriswatch.debristracker.service.TleIngestService;
+
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads catalog files dropped into tle.import.dir (3-line TLE text, OMM CSV or
+ * Space-Track JSON), so a full catalog can be loaded without Space-Track access.
+ * Files already there are imported at startup, then the directory is watched
+ * for new or rewritten files. Disabled when tle.import.dir is empty.
+ */
+@Component
+public class TleDirectoryWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(TleDirectoryWatcher.class);
+
+    private final TleIngestService ingestService;
+    private final OrbitSnapshotService snapshotService;
+    private final String importDir;
+    private final long settleMs;
+    private final int batchSize;
+
+    private volatile WatchService watchService;
+
+    public TleDirectoryWatcher(TleIngestService ingestService, OrbitSnapshotService snapshotService,
+                               @Value("${tle.import.dir:}") String importDir,
+                               @Value("${tle.import.settle-ms:1000}") long settleMs,
+                               @Value("${tle.ingest.batch-size:1000}") int batchSize) {
+        this.ingestService = ingestService;
+        this.snapshotService = snapshotService;
+        this.importDir = importDir;
+        this.settleMs = settleMs;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (importDir == null || importDir.isBlank()) {
+            return;
+        }
+        Path dir = Path.of(importDir);
+        try {
+            Files.createDirectories(dir);
+            watchService = FileSystems.getDefault().newWatchService();
+            // registered before the initial scan, a file written meanwhile is not missed
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            log.error("Cannot watch TLE import directory {}: {}", dir, e.getMessage(), e);
+            return;
+        }
+        Thread thread = new Thread(() -> run(dir), "tle-import");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            importFiles(files.sorted().toList());
+        } catch (IOException e) {
+            log.error("Cannot list TLE import directory {}: {}", dir, e.getMessage(), e);
+        }
+
+        WatchService watcher = watchService;
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                Set<Path> changed = new LinkedHashSet<>();
+                do {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.context() instanceof Path name) {
+                            changed.add(dir.resolve(name));
+                        }
+                    }
+                    key.reset();
+                    // a copy in progress fires many MODIFY events, wait until they stop
+                    key = watcher.poll(settleMs, TimeUnit.MILLISECONDS);
+                } while (key != null);
+                importFiles(List.copyOf(changed));
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // shutting down
+        }
+    }
+
+    /**
+     * Imports each readable catalog file, then reloads the in-memory catalog once.
+     *
+     * @return the number of files imported
+     */
+    int importFiles(List<Path> files) {
+        int imported = 0;
+        for (Path file : files) {
+            LocalTleFileFetcher fetcher = Files.isRegularFile(file)
+                    ? LocalTleFileFetcher.forFile(file, ingestService, batchSize)
+                    : null;
+            if (fetcher == null) {
+                continue;
+            }
+            try {
+                long start = System.nanoTime();
+                fetcher.fetchAndProcess();
+                log.info("Imported TLE file {} in {} ms", file, (System.nanoTime() - start) / 1_000_000);
+                imported++;
+            } catch (Exception e) {
+                log.error("Failed to import TLE file {}: {}", file, e.getMessage(), e);
+            }
+        }
+        if (imported > 0) {
+            snapshotService.reloadCatalog();
+        }
+        return imported;
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.debriswatch.debristracker.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.frames.Frame;
+import org.orekit.frames.StaticTransform;
+import org.orekit.time.AbsoluteDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.debriswatch.debristracker.dto.BatchPredictionDto;
+import com.debriswatch.debristracker.model.Debris;
+import com.debriswatch.debristracker.model.RocketBody;
+import com.debriswatch.debristracker.model.Satellite;
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.repository.TleRepository;
+
+/**
+ * Predicts many objects over the same time window.
+ *
+ * All element sets come from a single query, the TEME to ITRF transform is
+ * computed once per time step and shared by every object, and the objects are
+ * spread over the {@link BatchPropagationService} pool, each reading its
+ * positions from the {@link EphemerisCache}.
+ */
+@Service
+public class BatchPredictionService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchPredictionService.class);
+
+    private final TleRepository tleRepository;
+    private final EphemerisCache ephemerisCache;
+    private final EarthModel earthModel;
+    private final BatchPropagationService batchPropagationService;
+    private final int maxObjects;
+
+    public BatchPredictionService(TleRepository tleRepository, EphemerisCache ephemerisCache, EarthModel earthModel,
+                                  BatchPropagationService batchPropagationService,
+                                  @Value("${orbit.predict.batch.max-objects:1000}") int maxObjects) {
+        this.tleRepository = tleRepository;
+        this.ephemerisCache = ephemerisCache;
+        this.earthModel = earthModel;
+        this.batchPropagationService = batchPropagationService;
+        this.maxObjects = maxObjects;
+    }
+
+    public int getMaxObjects() {
+        return maxObjects;
+    }
+
+    /**
+     * Same names as /api/tle/by-type, null when the type is not one of them.
+     */
+    public static Class<? extends TleData> entityType(String type) {
+        return switch (type.trim().toUpperCase().replace('_', ' ')) {
+            case "ROCKET BODY" -> RocketBody.class;
+            case "DEBRIS" -> Debris.class;
+            case "SATELLITE" -> Satellite.class;
+            default -> null;
+        };
+    }
+
+    /**
+     * Latest element set of each requested object, in request order, one query.
+     */
+    public List<TleData> findLatest(Collection<Integer> noradIds) {
+        Map<Integer, TleData> byId = new LinkedHashMap<>();
+        for (TleData tle : tleRepository.findLatestByNoradCatIdIn(noradIds)) {
+            byId.putIfAbsent(tle.getNoradCatId(), tle);
+        }
+        List<TleData> ordered = new ArrayList<>(byId.size());
+        for (Integer id : noradIds) {
+            TleData tle = byId.remove(id);
+            if (tle != null) {
+                ordered.add(tle);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Latest element set of up to limit (at most maxObjects) objects of the given entity type, one query.
+     */
+    public List<TleData> findLatest(Class<? extends TleData> type, int limit) {
+        Map<Integer, TleData> byId = new LinkedHashMap<>();
+        for (TleData tle : tleRepository.findLatestByEntityType(type, PageRequest.of(0, Math.min(limit, maxObjects)))) {
+            byId.putIfAbsent(tle.getNoradCatId(), tle);
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    /**
+     * Tracks of every object at start + i * stepSeconds for i in [0, steps).
+     */
+    public BatchPredictionDto predict(List<TleData> tles, Instant start, double stepSeconds, int steps) {
+        AbsoluteDate startDate = earthModel.toAbsoluteDate(start);
+        Frame teme = earthModel.getTemeFrame();
+        Frame itrf = earthModel.getEarthFrame();
+        OneAxisEllipsoid earth = earthModel.getEllipsoid();
+
+        StaticTransform[] temeToItrf = new StaticTransform[steps];
+        batchPropagationService.forEachRow(steps,
+                k -> temeToItrf[k] = earthModel.toEarthFixed(teme, startDate.shiftedBy(k * stepSeconds)));
+
+        BatchPredictionDto.Track[] tracks = new BatchPredictionDto.Track[tles.size()];
+        batchPropagationService.forEachRow(tles.size(), i -> {
+            TleData tle = tles.get(i);
+            double[] positions = new double[3 * steps];
+            try {
+                ephemerisCache.positionsAt(tle, startDate, stepSeconds, steps, positions);
+            } catch (Exception e) {
+                log.warn("Batch prediction failed for {}: {}", tle.getObjectName(), e.getMessage());
+                Arrays.fill(positions, Double.NaN);
+            }
+
+            double[] latitude = new double[steps];
+            double[] longitude = new double[steps];
+            double[] altitude = new double[steps];
+            int count = 0;
+            while (count < steps && !Double.isNaN(positions[3 * count])) {
+                int at = 3 * count;
+                Vector3D position = temeToItrf[count].transformPosition(
+                        new Vector3D(positions[at], positions[at + 1], positions[at + 2]));
+                GeodeticPoint point = earth.transform(position, itrf, startDate);
+                latitude[count] = Math.toDegrees(point.getLatitude());
+                longitude[count] = Math.toDegrees(point.getLongitude());
+                altitude[count] = point.getAltitude();
+                count++;
+            }
+            tracks[i] = new BatchPredictionDto.Track(tle.getNoradCatId(), tle.getObjectName(), tle.getObjectType(),
+                    Arrays.copyOf(latitude, count), Arrays.copyOf(longitude, count), Arrays.copyOf(altitude, count));
+        });
+
+        return new BatchPredictionDto(start.toString(), stepSeconds, steps, Arrays.asList(tracks), new ArrayList<>());
+    }
+}
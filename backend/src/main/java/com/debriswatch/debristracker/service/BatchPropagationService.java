@@ -0,0 +1,212 @@
+package com.debriswatch.debristracker.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.frames.Frame;
+import org.orekit.frames.StaticTransform;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.debriswatch.debristracker.dto.PropagationStatsDto;
+import com.debriswatch.debristracker.model.CatalogStore;
+import com.debriswatch.debristracker.model.PositionBatch;
+import com.debriswatch.debristracker.model.StateVectorBatch;
+import com.debriswatch.debristracker.model.TleData;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Propagates a whole catalog to one instant on a dedicated ForkJoin pool.
+ * The catalog is split into row ranges of at most {@code chunkSize} objects, each
+ * worker borrows its own propagators from the {@link TlePropagatorCache} and
+ * writes into disjoint slots of the shared {@link PositionBatch}.
+ */
+@Service
+public class BatchPropagationService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchPropagationService.class);
+
+    private final TlePropagatorCache propagatorCache;
+    private final EarthModel earthModel;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final MeterRegistry meterRegistry;
+    private final Timer batchTimer;
+    private final Timer objectTimer;
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong objectsPropagated = new AtomicLong();
+    private volatile PropagationStatsDto lastStats;
+
+    public BatchPropagationService(TlePropagatorCache propagatorCache,
+                                   EarthModel earthModel,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${orbit.batch.parallelism:0}") int parallelism,
+                                   @Value("${orbit.batch.chunk-size:256}") int chunkSize) {
+        this.propagatorCache = propagatorCache;
+        this.earthModel = earthModel;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.chunkSize = Math.max(1, chunkSize);
+        this.meterRegistry = meterRegistry;
+        this.batchTimer = meterRegistry.timer("orbit.propagation.batch");
+        this.objectTimer = meterRegistry.timer("orbit.propagation.object", "source", "batch");
+        this.lastStats = new PropagationStatsDto(pool.getParallelism(), 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Propagates every row of the catalog to the given instant.
+     * The result is aligned with the catalog rows, failed objects are NaN.
+     */
+    public PositionBatch propagate(CatalogStore catalog, Instant instant) {
+        long start = System.nanoTime();
+        AbsoluteDate date = earthModel.toAbsoluteDate(instant);
+        Frame teme = earthModel.getTemeFrame();
+        StaticTransform temeToItrf = earthModel.toEarthFixed(teme, date);
+
+        PositionBatch batch = new PositionBatch(instant, catalog.getSize());
+        forEachRow(catalog.getSize(), row -> propagateRow(catalog, row, batch, date, temeToItrf));
+
+        record(batch, System.nanoTime() - start);
+        return batch;
+    }
+
+    /**
+     * TEME position and velocity of every row at the given date, written into a
+     * caller-owned batch so repeated time steps allocate no per-object vectors.
+     * Failed objects get NaN.
+     */
+    public void propagateTeme(CatalogStore catalog, AbsoluteDate date, StateVectorBatch states) {
+        forEachRow(catalog.getSize(), row -> {
+            try {
+                PVCoordinates pv = propagatorCache.withPropagator(catalog, row, propagator -> propagator.getPVCoordinates(date));
+                Vector3D p = pv.getPosition();
+                Vector3D v = pv.getVelocity();
+                states.getX()[row] = p.getX();
+                states.getY()[row] = p.getY();
+                states.getZ()[row] = p.getZ();
+                states.getVx()[row] = v.getX();
+                states.getVy()[row] = v.getY();
+                states.getVz()[row] = v.getZ();
+            } catch (Exception e) {
+                countFailure(meterRegistry, catalog.getNoradIds()[row], catalog.getObjectType(row));
+                states.markFailed(row);
+            }
+        });
+    }
+
+    /**
+     * Runs the body for every index in [0, size) on the propagation pool.
+     */
+    public void forEachRow(int size, IntConsumer body) {
+        pool.invoke(new Chunk(body, 0, size));
+    }
+
+    /**
+     * Convenience for callers holding entities, rows follow the de-duplicated list order.
+     */
+    public PositionBatch propagate(List<TleData> tleList, Instant instant) {
+        return propagate(CatalogStore.from(tleList), instant);
+    }
+
+    public PropagationStatsDto getStats() {
+        return lastStats;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Counts a failed propagation per object type, three series whatever the catalog size;
+     * the NORAD ID of the decayed or diverged element set goes to the debug log.
+     */
+    static void countFailure(MeterRegistry meterRegistry, int noradCatId, String objectType) {
+        String type = CatalogStore.typeName(CatalogStore.typeCode(objectType));
+        meterRegistry.counter("orbit.propagation.failures", "objectType", type).increment();
+        log.debug("Propagation failed for NORAD ID {} ({})", noradCatId, type);
+    }
+
+    private void record(PositionBatch batch, long elapsedNanos) {
+        batchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        int size = batch.size();
+        double seconds = elapsedNanos / 1e9;
+        double perSecond = seconds > 0 ? size / seconds : 0;
+        lastStats = new PropagationStatsDto(
+                pool.getParallelism(),
+                batches.incrementAndGet(),
+                objectsPropagated.addAndGet(size),
+                size,
+                size - batch.validCount(),
+                elapsedNanos / 1e6,
+                perSecond,
+                perSecond / pool.getParallelism()
+        );
+    }
+
+    private void propagateRow(CatalogStore catalog, int index, PositionBatch batch, AbsoluteDate date, StaticTransform temeToItrf) {
+        batch.getNoradIds()[index] = catalog.getNoradIds()[index];
+        long start = System.nanoTime();
+        try {
+            Vector3D teme = propagatorCache.withPropagator(catalog, index, propagator -> propagator.getPVCoordinates(date).getPosition());
+            Vector3D itrf = temeToItrf.transformPosition(teme);
+            OneAxisEllipsoid earth = earthModel.getEllipsoid();
+            GeodeticPoint point = earth.transform(itrf, earth.getBodyFrame(), date);
+
+            batch.getX()[index] = itrf.getX();
+            batch.getY()[index] = itrf.getY();
+            batch.getZ()[index] = itrf.getZ();
+            batch.getLatitude()[index] = Math.toDegrees(point.getLatitude());
+            batch.getLongitude()[index] = Math.toDegrees(point.getLongitude());
+            batch.getAltitude()[index] = point.getAltitude();
+            objectTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            countFailure(meterRegistry, catalog.getNoradIds()[index], catalog.getObjectType(index));
+            log.debug("Failed to propagate NORAD ID: {} ({})", catalog.getNoradIds()[index], e.getMessage());
+            batch.markFailed(index);
+        }
+    }
+
+    private final class Chunk extends RecursiveAction {
+        private final IntConsumer body;
+        private final int from;
+        private final int to;
+
+        Chunk(IntConsumer body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                for (int i = from; i < to; i++) {
+                    body.accept(i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Chunk(body, from, mid), new Chunk(body, mid, to));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.debriswatch.debristracker.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.debriswatch.debristracker.dto.TlePageDto;
+import com.debriswatch.debristracker.model.CatalogStore;
+import com.debriswatch.debristracker.model.Debris;
+import com.debriswatch.debristracker.model.RocketBody;
+import com.debriswatch.debristracker.model.TleData;
+
+/**
+ * Type listings served from the in-memory catalog: rows of each type sorted
+ * by NORAD ID once per catalog, pages continue from the last NORAD ID seen,
+ * and only the requested columns are copied into the response.
+ */
+@Service
+public class CatalogListingService {
+
+    public static final List<String> DEFAULT_FIELDS = List.of("noradCatId", "objectName", "objectType", "epoch");
+
+    private static final Map<String, Column> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("noradCatId", (c, row) -> c.getNoradIds()[row]);
+        COLUMNS.put("objectName", (c, row) -> c.getObjectNames()[row]);
+        COLUMNS.put("objectType", CatalogStore::getObjectType);
+        COLUMNS.put("elementSetNo", (c, row) -> c.getElementSetNo()[row]);
+        COLUMNS.put("epoch", (c, row) -> Double.isNaN(c.getEpochSeconds()[row]) ? null
+                : Instant.ofEpochMilli(Math.round(c.getEpochSeconds()[row] * 1000)).toString());
+        COLUMNS.put("meanMotion", (c, row) -> c.getMeanMotion()[row]);
+        COLUMNS.put("eccentricity", (c, row) -> c.getEccentricity()[row]);
+        COLUMNS.put("inclination", (c, row) -> c.getInclination()[row]);
+        COLUMNS.put("raOfAscNode", (c, row) -> c.getRaOfAscNode()[row]);
+        COLUMNS.put("argOfPericenter", (c, row) -> c.getArgOfPericenter()[row]);
+        COLUMNS.put("meanAnomaly", (c, row) -> c.getMeanAnomaly()[row]);
+        COLUMNS.put("bstar", (c, row) -> c.getBstar()[row]);
+        COLUMNS.put("period", (c, row) -> c.getPeriod()[row]);
+        COLUMNS.put("apogee", (c, row) -> c.getApogee()[row]);
+        COLUMNS.put("perigee", (c, row) -> c.getPerigee()[row]);
+        COLUMNS.put("tleLine1", (c, row) -> c.getTleLine1()[row]);
+        COLUMNS.put("tleLine2", (c, row) -> c.getTleLine2()[row]);
+    }
+
+    private final OrbitSnapshotService snapshotService;
+
+    private volatile TypeIndex index = new TypeIndex(CatalogStore.empty());
+
+    public CatalogListingService(OrbitSnapshotService snapshotService) {
+        this.snapshotService = snapshotService;
+    }
+
+    public static boolean isKnownField(String field) {
+        return COLUMNS.containsKey(field);
+    }
+
+    /**
+     * Catalog type code of a /by-type name, -1 when it is not one of them.
+     */
+    public static int typeCode(String type) {
+        Class<? extends TleData> entityType = BatchPredictionService.entityType(type);
+        if (entityType == null) {
+            return -1;
+        }
+        return entityType == Debris.class ? CatalogStore.TYPE_DEBRIS
+                : entityType == RocketBody.class ? CatalogStore.TYPE_ROCKET_BODY
+                : CatalogStore.TYPE_SATELLITE;
+    }
+
+    /**
+     * Up to limit objects of the type with a NORAD ID greater than after, ascending.
+     */
+    public TlePageDto page(int type, int after, int limit, List<String> fields) {
+        TypeIndex current = indexFor(snapshotService.getCatalog());
+        CatalogStore catalog = current.catalog;
+        int[] rows = current.rowsByType[type];
+
+        // first row past the cursor
+        int low = 0;
+        int high = rows.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (catalog.getNoradIds()[rows[mid]] <= after) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        int end = Math.min(rows.length, low + limit);
+        List<Map<String, Object>> items = new ArrayList<>(end - low);
+        for (int k = low; k < end; k++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (String field : fields) {
+                item.put(field, COLUMNS.get(field).read(catalog, rows[k]));
+            }
+            items.add(item);
+        }
+        Integer nextCursor = end < rows.length ? catalog.getNoradIds()[rows[end - 1]] : null;
+        return new TlePageDto(items, nextCursor);
+    }
+
+    private TypeIndex indexFor(CatalogStore catalog) {
+        TypeIndex current = index;
+        if (current.catalog != catalog) {
+            current = new TypeIndex(catalog);
+            index = current;
+        }
+        return current;
+    }
+
+    @FunctionalInterface
+    private interface Column {
+        Object read(CatalogStore catalog, int row);
+    }
+
+    private static final class TypeIndex {
+        private final CatalogStore catalog;
+        private final int[][] rowsByType = new int[3][];
+
+        TypeIndex(CatalogStore catalog) {
+            this.catalog = catalog;
+            // NORAD ID in the high half, row in the low half: one primitive sort per type
+            long[][] keys = new long[3][catalog.getSize()];
+            int[] counts = new int[3];
+            for (int row = 0; row < catalog.getSize(); row++) {
+                int type = catalog.getObjectTypes()[row];
+                keys[type][counts[type]++] = (long) catalog.getNoradIds()[row] << 32 | row;
+            }
+            for (int type = 0; type < 3; type++) {
+                Arrays.sort(keys[type], 0, counts[type]);
+                rowsByType[type] = new int[counts[type]];
+                for (int k = 0; k < counts[type]; k++) {
+                    rowsByType[type][k] = (int) keys[type][k];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.debriswatch.debristracker.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.debriswatch.debristracker.model.CatalogSnapshotFormat;
+import com.debriswatch.debristracker.model.CatalogStore;
+import com.debriswatch.debristracker.model.OrbitSnapshot;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Saves the in-memory catalog and its last positions to one binary file
+ * ({@link CatalogSnapshotFormat}) periodically and on shutdown, and reads it back
+ * at startup, before the schedulers run. A restarted node then serves the
+ * realtime positions right away while the database and Space-Track catch up.
+ * Disabled when orbit.catalog-snapshot.path is empty.
+ */
+@Component
+public class CatalogSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotStore.class);
+
+    private final OrbitSnapshotService snapshotService;
+    private final Path path;
+
+    public CatalogSnapshotStore(OrbitSnapshotService snapshotService,
+                                @Value("${orbit.catalog-snapshot.path:data/catalog-snapshot.bin}") String path) {
+        this.snapshotService = snapshotService;
+        this.path = path.isBlank() ? null : Paths.get(path);
+    }
+
+    @PostConstruct
+    public void restore() {
+        if (path == null || !Files.isRegularFile(path)) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            CatalogSnapshotFormat.Contents saved = CatalogSnapshotFormat.decode(ByteBuffer.wrap(Files.readAllBytes(path)));
+            if (snapshotService.restore(saved)) {
+                log.info("Restored {} catalog objects from {} in {} ms", saved.catalog().getSize(), path,
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (IOException | RuntimeException e) {
+            // a bad snapshot only costs the fast start, the catalog is reloaded as usual
+            log.warn("Ignoring catalog snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${orbit.catalog-snapshot.interval-ms:600000}",
+               fixedDelayString = "${orbit.catalog-snapshot.interval-ms:600000}")
+    public void savePeriodically() {
+        try {
+            save();
+        } catch (IOException e) {
+            log.warn("Failed to save catalog snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void saveOnShutdown() {
+        savePeriodically();
+    }
+
+    /**
+     * Writes the current catalog and snapshot to a temporary file and moves it
+     * over the previous one, a crash mid-write leaves the old snapshot intact.
+     *
+     * @return false when there was no catalog to save
+     */
+    public synchronized boolean save() throws IOException {
+        CatalogStore catalog = snapshotService.getCatalog();
+        if (path == null || catalog.isEmpty()) {
+            return false;
+        }
+        OrbitSnapshot snapshot = snapshotService.getSnapshot();
+        ByteBuffer encoded = CatalogSnapshotFormat.encode(catalog, snapshotService.getCatalogLoadedAt(),
+                snapshot.isEmpty() ? null : snapshot.getBatch());
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (encoded.hasRemaining()) {
+                    channel.write(encoded);
+                }
+                channel.force(false);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return true;
+    }
+}
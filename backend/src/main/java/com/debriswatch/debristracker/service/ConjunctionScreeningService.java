@@ -0,0 +1,303 @@
+package com.debriswatch.debristracker.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.debriswatch.debristracker.dto.ConjunctionAlertDto;
+import com.debriswatch.debristracker.model.CatalogStore;
+import com.debriswatch.debristracker.model.SpatialGrid;
+import com.debriswatch.debristracker.model.StateVectorBatch;
+
+/**
+ * Screens the live catalog for close approaches over a time window.
+ *
+ * Every time step the whole catalog is propagated in parallel and dropped into a
+ * uniform grid, so only objects in neighbouring cells are compared instead of all
+ * N² pairs. Pairs whose apogee/perigee shells cannot meet are skipped, the rest get
+ * a linear closest-approach estimate from the sampled state vectors, and surviving
+ * candidates are refined to the exact time of closest approach (TCA) with SGP4.
+ */
+@Service
+public class ConjunctionScreeningService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConjunctionScreeningService.class);
+
+    // head-on crossing of two LEO objects
+    private static final double MAX_RELATIVE_SPEED = 16_000.0;
+    // bound on |a1 - a2|, limits how far the real path strays from the linear one
+    private static final double MAX_RELATIVE_ACCELERATION = 20.0;
+    private static final double EARTH_RADIUS_KM = 6378.137;
+    private static final double GOLDEN = (Math.sqrt(5) - 1) / 2;
+    private static final int REFINE_ITERATIONS = 40;
+    // candidates of one pair closer than this are the same encounter (co-orbital objects)
+    private static final double SAME_ENCOUNTER_SECONDS = 600;
+
+    private final OrbitSnapshotService snapshotService;
+    private final BatchPropagationService batchPropagationService;
+    private final TlePropagatorCache propagatorCache;
+    private final EarthModel earthModel;
+    private final double windowHours;
+    private final double stepSeconds;
+    private final double thresholdKm;
+
+    private volatile List<ConjunctionAlertDto> latestAlerts = List.of();
+
+    public ConjunctionScreeningService(OrbitSnapshotService snapshotService,
+                                       BatchPropagationService batchPropagationService,
+                                       TlePropagatorCache propagatorCache,
+                                       EarthModel earthModel,
+                                       @Value("${orbit.screening.window-hours:24}") double windowHours,
+                                       @Value("${orbit.screening.step-seconds:30}") double stepSeconds,
+                                       @Value("${orbit.screening.threshold-km:5}") double thresholdKm) {
+        this.snapshotService = snapshotService;
+        this.batchPropagationService = batchPropagationService;
+        this.propagatorCache = propagatorCache;
+        this.earthModel = earthModel;
+        this.windowHours = windowHours;
+        this.stepSeconds = stepSeconds;
+        this.thresholdKm = thresholdKm;
+    }
+
+    @Scheduled(initialDelayString = "${orbit.screening.initial-delay-ms:60000}",
+               fixedDelayString = "${orbit.screening.interval-ms:3600000}")
+    public void screenCatalog() {
+        CatalogStore catalog = snapshotService.getCatalog();
+        if (catalog.isEmpty()) {
+            return;
+        }
+        try {
+            latestAlerts = screen(catalog, Instant.now(), windowHours * 3600, stepSeconds, thresholdKm * 1000);
+        } catch (Exception e) {
+            log.error("Conjunction screening failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public List<ConjunctionAlertDto> getLatestAlerts() {
+        return latestAlerts;
+    }
+
+    /**
+     * Close approaches under the threshold (meters) between start and start + window,
+     * ordered by TCA.
+     */
+    public List<ConjunctionAlertDto> screen(CatalogStore catalog, Instant start, double windowSeconds,
+                                            double stepSeconds, double thresholdMeters) {
+        int size = catalog.getSize();
+        AbsoluteDate t0 = earthModel.toAbsoluteDate(start);
+        double halfStep = stepSeconds / 2;
+        // a pair reaching its closest approach within half a step of a sample is at most this far apart at the sample
+        double searchRadius = thresholdMeters + MAX_RELATIVE_SPEED * halfStep;
+        double linearTolerance = thresholdMeters + 0.5 * MAX_RELATIVE_ACCELERATION * halfStep * halfStep;
+
+        StateVectorBatch states = new StateVectorBatch(size);
+        List<Candidate> candidates = new ArrayList<>();
+        Map<Long, Integer> lastCandidateOfPair = new HashMap<>();
+        int steps = (int) Math.ceil(windowSeconds / stepSeconds);
+
+        for (int k = 0; k <= steps; k++) {
+            double sampleTime = k * stepSeconds;
+            batchPropagationService.propagateTeme(catalog, t0.shiftedBy(sampleTime), states);
+            SpatialGrid grid = SpatialGrid.build(states.getX(), states.getY(), states.getZ(), size, searchRadius);
+
+            grid.forEachPairWithin(searchRadius, (i, j, distance) -> {
+                if (!shellsOverlap(catalog, i, j, searchRadius / 1000)) {
+                    return;
+                }
+                double offset = linearClosestApproach(states, i, j, halfStep);
+                double tca = sampleTime + offset;
+                if (Double.isNaN(offset) || tca < 0 || tca > windowSeconds) {
+                    return;
+                }
+                double miss = linearMiss(states, i, j, offset);
+                if (miss > linearTolerance) {
+                    return;
+                }
+                addCandidate(candidates, lastCandidateOfPair, new Candidate(i, j, tca, miss));
+            });
+        }
+
+        Encounter[] encounters = new Encounter[candidates.size()];
+        batchPropagationService.forEachRow(candidates.size(), c ->
+                encounters[c] = refine(catalog, t0, candidates.get(c), halfStep, windowSeconds));
+
+        List<Encounter> hits = new ArrayList<>();
+        for (Encounter encounter : encounters) {
+            if (encounter != null && encounter.missMeters() <= thresholdMeters) {
+                hits.add(encounter);
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Encounter::tcaSeconds));
+
+        List<ConjunctionAlertDto> alerts = new ArrayList<>(hits.size());
+        for (Encounter encounter : hits) {
+            alerts.add(toAlert(catalog, start, encounter));
+        }
+        return alerts;
+    }
+
+    // candidates arrive in time order, keep the closest one per pair and encounter
+    private static void addCandidate(List<Candidate> candidates, Map<Long, Integer> lastCandidateOfPair, Candidate candidate) {
+        long pair = ((long) candidate.i() << 32) | candidate.j();
+        Integer last = lastCandidateOfPair.get(pair);
+        if (last != null && candidate.tcaSeconds() - candidates.get(last).tcaSeconds() < SAME_ENCOUNTER_SECONDS) {
+            if (candidate.linearMiss() < candidates.get(last).linearMiss()) {
+                candidates.set(last, candidate);
+            }
+            return;
+        }
+        lastCandidateOfPair.put(pair, candidates.size());
+        candidates.add(candidate);
+    }
+
+    // apogee/perigee are altitudes in km, 0 when Space-Track did not provide them
+    private static boolean shellsOverlap(CatalogStore catalog, int i, int j, double marginKm) {
+        double[] apogee = catalog.getApogee();
+        double[] perigee = catalog.getPerigee();
+        if (apogee[i] <= 0 || apogee[j] <= 0) {
+            return true;
+        }
+        return Math.max(perigee[i], perigee[j]) - marginKm <= Math.min(apogee[i], apogee[j]);
+    }
+
+    /**
+     * Time offset from the sample at which straight-line motion is closest, NaN
+     * when that lies outside [-halfStep, halfStep) and belongs to another sample.
+     */
+    private static double linearClosestApproach(StateVectorBatch s, int i, int j, double halfStep) {
+        double dx = s.getX()[j] - s.getX()[i];
+        double dy = s.getY()[j] - s.getY()[i];
+        double dz = s.getZ()[j] - s.getZ()[i];
+        double dvx = s.getVx()[j] - s.getVx()[i];
+        double dvy = s.getVy()[j] - s.getVy()[i];
+        double dvz = s.getVz()[j] - s.getVz()[i];
+        double dv2 = dvx * dvx + dvy * dvy + dvz * dvz;
+        if (dv2 < 1e-6) {
+            return 0;
+        }
+        double offset = -(dx * dvx + dy * dvy + dz * dvz) / dv2;
+        return offset >= -halfStep && offset < halfStep ? offset : Double.NaN;
+    }
+
+    private static double linearMiss(StateVectorBatch s, int i, int j, double offset) {
+        double dx = s.getX()[j] - s.getX()[i] + (s.getVx()[j] - s.getVx()[i]) * offset;
+        double dy = s.getY()[j] - s.getY()[i] + (s.getVy()[j] - s.getVy()[i]) * offset;
+        double dz = s.getZ()[j] - s.getZ()[i] + (s.getVz()[j] - s.getVz()[i]) * offset;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Golden-section search of the true SGP4 separation around the linear estimate.
+     */
+    private Encounter refine(CatalogStore catalog, AbsoluteDate t0, Candidate candidate, double halfStep, double windowSeconds) {
+        try {
+            double a = Math.max(0, candidate.tcaSeconds() - halfStep);
+            double b = Math.min(windowSeconds, candidate.tcaSeconds() + halfStep);
+            double c = b - GOLDEN * (b - a);
+            double d = a + GOLDEN * (b - a);
+            double fc = separation(catalog, t0, candidate, c);
+            double fd = separation(catalog, t0, candidate, d);
+            for (int n = 0; n < REFINE_ITERATIONS; n++) {
+                if (fc < fd) {
+                    b = d;
+                    d = c;
+                    fd = fc;
+                    c = b - GOLDEN * (b - a);
+                    fc = separation(catalog, t0, candidate, c);
+                } else {
+                    a = c;
+                    c = d;
+                    fc = fd;
+                    d = a + GOLDEN * (b - a);
+                    fd = separation(catalog, t0, candidate, d);
+                }
+            }
+            double tca = (a + b) / 2;
+            PVCoordinates first = pv(catalog, candidate.i(), t0.shiftedBy(tca));
+            PVCoordinates second = pv(catalog, candidate.j(), t0.shiftedBy(tca));
+            return new Encounter(candidate.i(), candidate.j(), tca,
+                    Vector3D.distance(first.getPosition(), second.getPosition()),
+                    Vector3D.distance(first.getVelocity(), second.getVelocity()),
+                    first.getPosition().getNorm());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private double separation(CatalogStore catalog, AbsoluteDate t0, Candidate candidate, double seconds) {
+        AbsoluteDate date = t0.shiftedBy(seconds);
+        return Vector3D.distance(pv(catalog, candidate.i(), date).getPosition(), pv(catalog, candidate.j(), date).getPosition());
+    }
+
+    private PVCoordinates pv(CatalogStore catalog, int row, AbsoluteDate date) {
+        return propagatorCache.withPropagator(catalog, row, propagator -> propagator.getPVCoordinates(date));
+    }
+
+    private static ConjunctionAlertDto toAlert(CatalogStore catalog, Instant start, Encounter encounter) {
+        // debris and rocket bodies are the threat, satellites the target
+        int object = encounter.i();
+        int target = encounter.j();
+        if (catalog.getObjectTypes()[object] == CatalogStore.TYPE_SATELLITE
+                && catalog.getObjectTypes()[target] != CatalogStore.TYPE_SATELLITE) {
+            object = encounter.j();
+            target = encounter.i();
+        }
+        Instant tca = start.plusMillis(Math.round(encounter.tcaSeconds() * 1000));
+        double missKm = encounter.missMeters() / 1000;
+        return new ConjunctionAlertDto(
+                catalog.getNoradIds()[object] + "-" + catalog.getNoradIds()[target] + "-" + tca.getEpochSecond(),
+                catalog.getObjectNames()[object],
+                catalog.getNoradIds()[object],
+                catalog.getObjectNames()[target],
+                catalog.getNoradIds()[target],
+                start.toString(),
+                tca.toString(),
+                encounter.tcaSeconds() / 3600,
+                missKm,
+                encounter.relativeSpeed() / 1000,
+                severity(missKm),
+                orbitRegion(encounter.radiusMeters() / 1000 - EARTH_RADIUS_KM)
+        );
+    }
+
+    private static String severity(double missKm) {
+        if (missKm < 1) {
+            return "critical";
+        }
+        if (missKm < 2.5) {
+            return "high";
+        }
+        if (missKm < 5) {
+            return "medium";
+        }
+        return "low";
+    }
+
+    private static String orbitRegion(double altitudeKm) {
+        if (altitudeKm < 2000) {
+            return "LEO";
+        }
+        if (altitudeKm < 35286) {
+            return "MEO";
+        }
+        return altitudeKm <= 36286 ? "GEO" : "HEO";
+    }
+
+    private record Candidate(int i, int j, double tcaSeconds, double linearMiss) {
+    }
+
+    private record Encounter(int i, int j, double tcaSeconds, double missMeters, double relativeSpeed, double radiusMeters) {
+    }
+}
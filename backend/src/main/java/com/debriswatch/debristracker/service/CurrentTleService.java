@@ -0,0 +1,123 @@
+package com.debriswatch.debristracker.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.debriswatch.debristracker.model.CurrentTle;
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.repository.CurrentTleRepository;
+import com.debriswatch.debristracker.repository.TleRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+
+/**
+ * Maintains the current_tle pointers: after every ingest batch each object
+ * points at its newest stored element set.
+ */
+@Service
+public class CurrentTleService {
+
+    private static final Logger log = LoggerFactory.getLogger(CurrentTleService.class);
+
+    // keeps the IN (...) list of the pointer lookup reasonably short
+    private static final int ID_QUERY_CHUNK = 1000;
+
+    private final CurrentTleRepository currentTleRepository;
+    private final TleRepository tleRepository;
+
+    public CurrentTleService(CurrentTleRepository currentTleRepository, TleRepository tleRepository) {
+        this.currentTleRepository = currentTleRepository;
+        this.tleRepository = tleRepository;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        backfillEpochSeconds();
+        seedIfEmpty();
+    }
+
+    /**
+     * Parses the epoch of rows stored before the epoch_seconds column existed.
+     */
+    public void backfillEpochSeconds() {
+        try {
+            int lastId = Integer.MIN_VALUE;
+            List<TleData> page;
+            while (!(page = tleRepository.findTop500ByEpochSecondsIsNullAndIdDataGreaterThanOrderByIdDataAsc(lastId)).isEmpty()) {
+                for (TleData tle : page) {
+                    tle.setEpoch(tle.getEpoch());
+                }
+                tleRepository.saveAll(page);
+                lastId = page.get(page.size() - 1).getIdData();
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill TLE epoch seconds: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Databases filled before the pointer table existed get it seeded once from a history scan.
+     */
+    public void seedIfEmpty() {
+        try {
+            if (currentTleRepository.count() > 0 || tleRepository.count() == 0) {
+                return;
+            }
+            advance(tleRepository.scanLatestTlePerNoradCatId());
+        } catch (Exception e) {
+            log.error("Failed to seed current TLE pointers: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Moves the pointers to the given stored element sets where they are newer.
+     * Loaded pointers are updated in place and flushed together with the new ones.
+     * Element sets whose EPOCH could not be parsed never become current: they
+     * cannot be ordered, and NaN cannot be written to the epoch_seconds column.
+     */
+    @Transactional
+    public void advance(List<TleData> saved) {
+        Map<Integer, TleData> newest = new LinkedHashMap<>();
+        for (TleData tle : saved) {
+            if (Double.isNaN(tle.getEpochSeconds())) {
+                log.warn("Not moving the current TLE of NORAD ID {} to an element set with epoch {}",
+                        tle.getNoradCatId(), tle.getEpoch());
+                continue;
+            }
+            newest.merge(tle.getNoradCatId(), tle, (a, b) -> isNewer(b, a) ? b : a);
+        }
+
+        List<Integer> ids = new ArrayList<>(newest.keySet());
+        List<CurrentTle> created = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += ID_QUERY_CHUNK) {
+            List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + ID_QUERY_CHUNK));
+            for (CurrentTle pointer : currentTleRepository.findAllById(chunk)) {
+                TleData candidate = newest.remove(pointer.getNoradCatId());
+                double epochSeconds = candidate.getEpochSeconds();
+                if (!(epochSeconds < pointer.getEpochSeconds())) {
+                    pointer.setTle(candidate);
+                    pointer.setEpochSeconds(epochSeconds);
+                }
+            }
+        }
+        for (TleData tle : newest.values()) {
+            created.add(new CurrentTle(tle, tle.getEpochSeconds()));
+        }
+        if (!created.isEmpty()) {
+            currentTleRepository.saveAll(created);
+        }
+    }
+
+    // later epoch wins, the higher element set number breaks ties
+    private static boolean isNewer(TleData a, TleData b) {
+        int byEpoch = Double.compare(a.getEpochSeconds(), b.getEpochSeconds());
+        return byEpoch != 0 ? byEpoch > 0 : a.getElementSetNo() > b.getElementSetNo();
+    }
+}
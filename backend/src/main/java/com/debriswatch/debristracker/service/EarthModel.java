@@ -0,0 +1,103 @@
+package com.debriswatch.debristracker.service;
+
+import java.time.Instant;
+import java.util.Date;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.StaticTransform;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.springframework.stereotype.Component;
+
+import com.debriswatch.debristracker.model.OrbitPoint;
+
+/**
+ * Shared Earth frames and WGS84 ellipsoid.
+ * Built lazily on first use, the Orekit data has to be registered by
+ * OrekitInitializer before any frame can be created.
+ *
+ * For a batch of objects at the same instant, fetch the transform once with
+ * {@link #toEarthFixed(Frame, AbsoluteDate)} and apply it to every position,
+ * instead of letting the ellipsoid recompute it per object.
+ */
+@Component
+public class EarthModel {
+
+    private volatile Frames frames;
+
+    public Frame getInertialFrame() {
+        return frames().eme2000;
+    }
+
+    /** Native output frame of the SGP4 propagators. */
+    public Frame getTemeFrame() {
+        return frames().teme;
+    }
+
+    public Frame getEarthFrame() {
+        return frames().itrf;
+    }
+
+    public OneAxisEllipsoid getEllipsoid() {
+        return frames().earth;
+    }
+
+    public AbsoluteDate toAbsoluteDate(Instant instant) {
+        return new AbsoluteDate(Date.from(instant), TimeScalesFactory.getUTC());
+    }
+
+    public Instant toInstant(AbsoluteDate date) {
+        return date.toDate(TimeScalesFactory.getUTC()).toInstant();
+    }
+
+    /**
+     * Position-only transform from the given frame to ITRF at the given date.
+     */
+    public StaticTransform toEarthFixed(Frame from, AbsoluteDate date) {
+        return from.getStaticTransformTo(getEarthFrame(), date);
+    }
+
+    /**
+     * Converts an ITRF position (meters) to latitude/longitude in degrees and altitude in meters.
+     */
+    public OrbitPoint toOrbitPoint(Vector3D earthFixedPosition, AbsoluteDate date) {
+        Frames f = frames();
+        GeodeticPoint point = f.earth.transform(earthFixedPosition, f.itrf, date);
+        return new OrbitPoint(
+                Math.toDegrees(point.getLatitude()),
+                Math.toDegrees(point.getLongitude()),
+                point.getAltitude()
+        );
+    }
+
+    private Frames frames() {
+        Frames f = frames;
+        if (f == null) {
+            synchronized (this) {
+                f = frames;
+                if (f == null) {
+                    f = new Frames();
+                    frames = f;
+                }
+            }
+        }
+        return f;
+    }
+
+    private static final class Frames {
+        private final Frame eme2000 = FramesFactory.getEME2000();
+        private final Frame teme = FramesFactory.getTEME();
+        private final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        private final OneAxisEllipsoid earth = new OneAxisEllipsoid(
+                Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                Constants.WGS84_EARTH_FLATTENING,
+                itrf
+        );
+    }
+}
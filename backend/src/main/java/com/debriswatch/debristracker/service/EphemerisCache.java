@@ -0,0 +1,234 @@
+package com.debriswatch.debristracker.service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.debriswatch.debristracker.model.ElementSetKey;
+import com.debriswatch.debristracker.model.TleData;
+
+/**
+ * Precomputed TEME ephemerides, one per element set.
+ *
+ * SGP4 is run once on a coarse grid anchored at the TLE epoch (position and
+ * velocity every {@code gridStep} seconds) and any other instant is served by
+ * cubic Hermite interpolation between the two surrounding nodes. The grid is
+ * built lazily in fixed-length segments, so a query only pays for the part of
+ * the timeline it touches and overlapping queries are pure memory lookups.
+ * Segments of all entries share one byte budget, the least recently used
+ * segment is dropped first.
+ * With the default 120 s grid the interpolation error stays at meter level in LEO.
+ */
+@Component
+public class EphemerisCache {
+
+    private final TlePropagatorCache propagatorCache;
+    private final double gridStep;
+    private final int intervalsPerSegment;
+    private final double segmentSeconds;
+    private final int maxEntries;
+    private final long maxSegments;
+
+    // access-ordered, least recently used first
+    private final LinkedHashMap<Integer, Ephemeris> entries;
+    // access-ordered across all entries, least recently used first
+    private final LinkedHashMap<SegmentKey, double[]> segments;
+
+    public EphemerisCache(TlePropagatorCache propagatorCache,
+                          @Value("${orbit.ephemeris.grid-step-seconds:120}") double gridStep,
+                          @Value("${orbit.ephemeris.segment-hours:24}") double segmentHours,
+                          @Value("${orbit.ephemeris.max-entries:1000}") int maxEntries,
+                          @Value("${orbit.ephemeris.max-bytes:268435456}") long maxBytes) {
+        this.propagatorCache = propagatorCache;
+        this.gridStep = gridStep;
+        this.intervalsPerSegment = Math.max(1, (int) Math.round(segmentHours * 3600 / gridStep));
+        this.segmentSeconds = intervalsPerSegment * gridStep;
+        this.maxEntries = maxEntries;
+        // every segment holds the same 6 * (intervalsPerSegment + 1) doubles
+        this.maxSegments = Math.max(1, maxBytes / (6L * (intervalsPerSegment + 1) * Double.BYTES));
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Ephemeris> eldest) {
+                return size() > EphemerisCache.this.maxEntries;
+            }
+        };
+        this.segments = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SegmentKey, double[]> eldest) {
+                return size() > EphemerisCache.this.maxSegments;
+            }
+        };
+    }
+
+    /**
+     * Epoch of the element set, the default start of a prediction.
+     */
+    public AbsoluteDate epochOf(TleData tle) {
+        return ephemerisFor(tle).epoch;
+    }
+
+    /**
+     * TEME positions in meters at start + i * stepSeconds for i in [0, count),
+     * written to out[3i], out[3i+1], out[3i+2]. Instants SGP4 could not reach are NaN.
+     */
+    public void positionsAt(TleData tle, AbsoluteDate start, double stepSeconds, int count, double[] out) {
+        Ephemeris ephemeris = ephemerisFor(tle);
+        double offset = start.durationFrom(ephemeris.epoch);
+        long cachedIndex = Long.MIN_VALUE;
+        double[] segment = null;
+
+        for (int i = 0; i < count; i++) {
+            double t = offset + i * stepSeconds;
+            long index = (long) Math.floor(t / segmentSeconds);
+            if (index != cachedIndex) {
+                segment = segment(tle, ephemeris, index);
+                cachedIndex = index;
+            }
+            double local = t - index * segmentSeconds;
+            int k = Math.min((int) (local / gridStep), intervalsPerSegment - 1);
+            interpolate(segment, k, (local - k * gridStep) / gridStep, out, 3 * i);
+        }
+    }
+
+    /**
+     * TEME position (m) and velocity (m/s) at one instant into out[0..5], NaN
+     * when SGP4 could not reach it.
+     */
+    public void stateAt(TleData tle, AbsoluteDate date, double[] out) {
+        Ephemeris ephemeris = ephemerisFor(tle);
+        double t = date.durationFrom(ephemeris.epoch);
+        long index = (long) Math.floor(t / segmentSeconds);
+        double[] segment = segment(tle, ephemeris, index);
+        double local = t - index * segmentSeconds;
+        int k = Math.min((int) (local / gridStep), intervalsPerSegment - 1);
+        double s = (local - k * gridStep) / gridStep;
+        interpolate(segment, k, s, out, 0);
+        interpolateVelocity(segment, k, s, out, 3);
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        synchronized (segments) {
+            segments.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // cubic Hermite on node k and k+1, s in [0, 1]
+    private void interpolate(double[] segment, int k, double s, double[] out, int at) {
+        int a = 6 * k;
+        int b = a + 6;
+        double s2 = s * s;
+        double s3 = s2 * s;
+        double h00 = 2 * s3 - 3 * s2 + 1;
+        double h10 = (s3 - 2 * s2 + s) * gridStep;
+        double h01 = -2 * s3 + 3 * s2;
+        double h11 = (s3 - s2) * gridStep;
+        for (int c = 0; c < 3; c++) {
+            out[at + c] = h00 * segment[a + c] + h10 * segment[a + 3 + c] + h01 * segment[b + c] + h11 * segment[b + 3 + c];
+        }
+    }
+
+    // derivative of the same polynomial, d/dt = (d/ds) / gridStep
+    private void interpolateVelocity(double[] segment, int k, double s, double[] out, int at) {
+        int a = 6 * k;
+        int b = a + 6;
+        double s2 = s * s;
+        double d00 = (6 * s2 - 6 * s) / gridStep;
+        double d10 = 3 * s2 - 4 * s + 1;
+        double d01 = (-6 * s2 + 6 * s) / gridStep;
+        double d11 = 3 * s2 - 2 * s;
+        for (int c = 0; c < 3; c++) {
+            out[at + c] = d00 * segment[a + c] + d10 * segment[a + 3 + c] + d01 * segment[b + c] + d11 * segment[b + 3 + c];
+        }
+    }
+
+    private double[] segment(TleData tle, Ephemeris ephemeris, long index) {
+        SegmentKey key = new SegmentKey(ephemeris.key, index);
+        synchronized (segments) {
+            double[] cached = segments.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        double[] computed = computeSegment(tle, ephemeris.epoch, index);
+        synchronized (segments) {
+            double[] cached = segments.putIfAbsent(key, computed);
+            return cached != null ? cached : computed;
+        }
+    }
+
+    // nodes 0..intervalsPerSegment inclusive, so interpolation never crosses segments
+    private double[] computeSegment(TleData tle, AbsoluteDate epoch, long index) {
+        double[] pv = new double[6 * (intervalsPerSegment + 1)];
+        Arrays.fill(pv, Double.NaN);
+        double segmentStart = index * segmentSeconds;
+        propagatorCache.withPropagator(tle, propagator -> {
+            for (int k = 0; k <= intervalsPerSegment; k++) {
+                PVCoordinates node;
+                try {
+                    node = propagator.getPVCoordinates(epoch.shiftedBy(segmentStart + k * gridStep));
+                } catch (RuntimeException e) {
+                    // decayed or diverged, everything from here on stays NaN
+                    break;
+                }
+                int at = 6 * k;
+                pv[at] = node.getPosition().getX();
+                pv[at + 1] = node.getPosition().getY();
+                pv[at + 2] = node.getPosition().getZ();
+                pv[at + 3] = node.getVelocity().getX();
+                pv[at + 4] = node.getVelocity().getY();
+                pv[at + 5] = node.getVelocity().getZ();
+            }
+            return null;
+        });
+        return pv;
+    }
+
+    private Ephemeris ephemerisFor(TleData tle) {
+        ElementSetKey key = ElementSetKey.of(tle);
+        synchronized (entries) {
+            Ephemeris cached = entries.get(key.noradCatId());
+            if (cached != null && cached.key.equals(key)) {
+                return cached;
+            }
+        }
+
+        AbsoluteDate epoch = propagatorCache.withPropagator(tle, propagator -> propagator.getTLE().getDate());
+        Ephemeris created = new Ephemeris(key, epoch);
+        synchronized (entries) {
+            Ephemeris cached = entries.get(key.noradCatId());
+            if (cached != null && cached.key.equals(key)) {
+                return cached;
+            }
+            entries.put(key.noradCatId(), created);
+            return created;
+        }
+    }
+
+    private static final class Ephemeris {
+        private final ElementSetKey key;
+        private final AbsoluteDate epoch;
+
+        Ephemeris(ElementSetKey key, AbsoluteDate epoch) {
+            this.key = key;
+            this.epoch = epoch;
+        }
+    }
+
+    // segments of a replaced element set are no longer asked for and age out
+    private record SegmentKey(ElementSetKey elementSet, long index) {
+    }
+}
@@ -2,32 +2,49 @@ package com.debriswatch.debristracker.service;
 
 import com.debriswatch.debristracker.model.TleData;
 import com.debriswatch.debristracker.model.OrbitPoint;
+import com.debriswatch.debristracker.model.Trajectory;
 import com.debriswatch.debristracker.model.Vector3DPoint;
 import com.debriswatch.debristracker.repository.TleRepository;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
 
-import org.orekit.bodies.GeodeticPoint;
-import org.orekit.bodies.OneAxisEllipsoid;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.orekit.frames.Frame;
-import org.orekit.frames.FramesFactory;
-import org.orekit.propagation.analytical.tle.TLE;
-import org.orekit.propagation.analytical.tle.TLEPropagator; 
+import org.orekit.frames.StaticTransform;
 import org.orekit.time.AbsoluteDate;
-import org.orekit.utils.Constants;
-import org.orekit.utils.PVCoordinates;
-import org.orekit.utils.IERSConventions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class OrbitService {
 
+    private static final Logger log = LoggerFactory.getLogger(OrbitService.class);
+
+    // bounds of the adaptive prediction step, seconds
+    private static final double MIN_ADAPTIVE_STEP = 5;
+    private static final double MAX_ADAPTIVE_STEP = 3600;
+
     private final TleRepository tleRepository;
+    private final TlePropagatorCache propagatorCache;
+    private final EarthModel earthModel;
+    private final EphemerisCache ephemerisCache;
+    private final MeterRegistry meterRegistry;
+    private final Timer objectTimer;
 @Autowired
-    public OrbitService(TleRepository tleRepository) {
+    public OrbitService(TleRepository tleRepository, TlePropagatorCache propagatorCache, EarthModel earthModel,
+                        EphemerisCache ephemerisCache, MeterRegistry meterRegistry) {
         this.tleRepository = tleRepository;
+        this.propagatorCache = propagatorCache;
+        this.earthModel = earthModel;
+        this.ephemerisCache = ephemerisCache;
+        this.meterRegistry = meterRegistry;
+        this.objectTimer = meterRegistry.timer("orbit.propagation.object", "source", "single");
     }
 
     /**
@@ -36,56 +53,63 @@ public class OrbitService {
      */
     public OrbitPoint computeCurrentOrbitPoint(TleData tle) {
         try {
-            TLE orekitTle = new TLE(tle.getTleLine1(), tle.getTleLine2());
-            TLEPropagator propagator = TLEPropagator.selectExtrapolator(orekitTle);
-
-            Frame inertialFrame = FramesFactory.getEME2000();
-            Frame earthFrame = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
-            OneAxisEllipsoid earth = new OneAxisEllipsoid(
-                    Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
-                    Constants.WGS84_EARTH_FLATTENING,
-                    earthFrame
-            );
-
             AbsoluteDate now = new AbsoluteDate(); // Real-time timestamp
-            PVCoordinates pv = propagator.propagate(now).getPVCoordinates(inertialFrame);
-            GeodeticPoint point = earth.transform(pv.getPosition(), inertialFrame, now);
-
-            return new OrbitPoint(
-                    Math.toDegrees(point.getLatitude()),
-                    Math.toDegrees(point.getLongitude()),
-                    point.getAltitude()
-            );
-
+            return computeOrbitPoint(tle, now, earthModel.toEarthFixed(earthModel.getTemeFrame(), now));
         } catch (Exception e) {
-            System.err.println("Failed to compute current orbit for NORAD ID: " + tle.getNoradCatId());
-            e.printStackTrace();
+            BatchPropagationService.countFailure(meterRegistry, tle.getNoradCatId(), tle.getObjectType());
+            log.error("Failed to compute current orbit for NORAD ID: {}", tle.getNoradCatId(), e);
             return null;
         }
     }
 
+    /**
+     * Computes the geodetic positions of many objects at the same instant.
+     * The TEME to ITRF transform is computed once and shared by all objects.
+     * The result is aligned with the input, failed objects are left null.
+     */
+    public OrbitPoint[] computeOrbitPoints(List<TleData> tleList, AbsoluteDate date) {
+        OrbitPoint[] points = new OrbitPoint[tleList.size()];
+        StaticTransform temeToItrf = earthModel.toEarthFixed(earthModel.getTemeFrame(), date);
+
+        for (int i = 0; i < points.length; i++) {
+            TleData tle = tleList.get(i);
+            try {
+                points[i] = computeOrbitPoint(tle, date, temeToItrf);
+            } catch (Exception e) {
+                BatchPropagationService.countFailure(meterRegistry, tle.getNoradCatId(), tle.getObjectType());
+                log.warn("Failed to compute orbit for NORAD ID: {} ({})", tle.getNoradCatId(), e.getMessage());
+            }
+        }
+        return points;
+    }
+
+    // SGP4 positions come out in TEME, the caller supplies the TEME -> ITRF transform for the date
+    private OrbitPoint computeOrbitPoint(TleData tle, AbsoluteDate date, StaticTransform temeToItrf) {
+        return objectTimer.record(() -> {
+            Vector3D teme = propagatorCache.withPropagator(tle, propagator -> propagator.getPVCoordinates(date).getPosition());
+            return earthModel.toOrbitPoint(temeToItrf.transformPosition(teme), date);
+        });
+    }
+
     /**
      * Computes the current 3D (X, Y, Z) inertial position in meters
      * of a space object based on its TLE using the current system time.
      */
     public Vector3DPoint computeCurrent3DPosition(TleData tle) {
         try {
-            TLE orekitTle = new TLE(tle.getTleLine1(), tle.getTleLine2());
-            TLEPropagator propagator = TLEPropagator.selectExtrapolator(orekitTle);
-            Frame inertialFrame = FramesFactory.getEME2000();
-
-            AbsoluteDate now = new AbsoluteDate(); // Real-time timestamp
-            PVCoordinates pv = propagator.propagate(now).getPVCoordinates(inertialFrame);
+            return propagatorCache.withPropagator(tle, propagator -> {
+                AbsoluteDate now = new AbsoluteDate(); // Real-time timestamp
+                Vector3D position = propagator.getPVCoordinates(now, earthModel.getInertialFrame()).getPosition();
 
-            return new Vector3DPoint(
-                    pv.getPosition().getX(),
-                    pv.getPosition().getY(),
-                    pv.getPosition().getZ()
-            );
+                return new Vector3DPoint(
+                        position.getX(),
+                        position.getY(),
+                        position.getZ()
+                );
+            });
 
         } catch (Exception e) {
-            System.err.println("Failed to compute current 3D position for NORAD ID: " + tle.getNoradCatId());
-            e.printStackTrace();
+            log.error("Failed to compute current 3D position for NORAD ID: {}", tle.getNoradCatId(), e);
             return null;
         }
     }
@@ -93,55 +117,101 @@ public class OrbitService {
 
     /*
      * Accepts a TleData object
-     * Computes the satellite’s orbit prediction for 1 to 3 days
+     * Computes the satellite’s orbit prediction starting at the TLE epoch
      * Uses a 10-minute step by default
      */
      public List<OrbitPoint> predictOrbitForDays(TleData tleData, int days) {
-        List<OrbitPoint> orbitPoints = new ArrayList<>();
+        return predictTrajectory(tleData, days).toOrbitPoints();
+    }
+
+    /**
+     * Same prediction kept in columns, for callers that encode it without
+     * building one object per point.
+     */
+    public Trajectory predictTrajectory(TleData tleData, int days) {
+        return predictTrajectory(tleData, null, days * 24 * 3600.0, 600);
+    }
 
+    /**
+     * Geodetic track from start (TLE epoch when null) over spanSeconds, one point
+     * every stepSeconds. Positions come from the interpolated {@link EphemerisCache},
+     * the track ends early at the first instant SGP4 cannot reach.
+     */
+    public Trajectory predictTrajectory(TleData tleData, Instant start, double spanSeconds, double stepSeconds) {
         try {
-            TLE tle = new TLE(tleData.getTleLine1(), tleData.getTleLine2());
-
-            TLEPropagator propagator = TLEPropagator.selectExtrapolator(tle);
-
-            // Define the inertial and Earth-fixed frames
-            Frame inertialFrame = FramesFactory.getEME2000();
-            Frame earthFrame = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
-
-            // Define the Earth model (WGS84)
-            OneAxisEllipsoid earth = new OneAxisEllipsoid(
-                    Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
-                    Constants.WGS84_EARTH_FLATTENING,
-                    earthFrame
-            );
-
-            // Start time = TLE epoch
-            AbsoluteDate startDate = tle.getDate();
-
-            // Propagate every 10 minutes over the given number of days
-            int stepSeconds = 600; // 10 minutes
-            int totalSeconds = days * 24 * 3600;
-
-            for (int t = 0; t <= totalSeconds; t += stepSeconds) {
-                AbsoluteDate currentDate = startDate.shiftedBy(t);
-                PVCoordinates pv = propagator.propagate(currentDate).getPVCoordinates(inertialFrame);
-                GeodeticPoint point = earth.transform(pv.getPosition(), inertialFrame, currentDate);
-
-                orbitPoints.add(new OrbitPoint(
-                        Math.toDegrees(point.getLatitude()),
-                        Math.toDegrees(point.getLongitude()),
-                        point.getAltitude()
-                ));
+            AbsoluteDate from = start != null ? earthModel.toAbsoluteDate(start) : ephemerisCache.epochOf(tleData);
+            int count = (int) Math.floor(spanSeconds / stepSeconds) + 1;
+            double[] teme = new double[3 * count];
+            ephemerisCache.positionsAt(tleData, from, stepSeconds, count, teme);
+
+            Trajectory track = new Trajectory(earthModel.toInstant(from), stepSeconds, count);
+            Frame temeFrame = earthModel.getTemeFrame();
+            for (int i = 0; i < count && !Double.isNaN(teme[3 * i]); i++) {
+                AbsoluteDate currentDate = from.shiftedBy(i * stepSeconds);
+                StaticTransform temeToItrf = earthModel.toEarthFixed(temeFrame, currentDate);
+                Vector3D position = new Vector3D(teme[3 * i], teme[3 * i + 1], teme[3 * i + 2]);
+                OrbitPoint point = earthModel.toOrbitPoint(temeToItrf.transformPosition(position), currentDate);
+                track.add(point.getLatitude(), point.getLongitude(), point.getAltitude());
             }
+            return track;
 
         } catch (Exception e) {
-            System.err.println("Failed to predict orbit for NORAD ID: " + tleData.getNoradCatId());
-            e.printStackTrace();
+            log.error("Failed to predict orbit for NORAD ID: {}", tleData.getNoradCatId(), e);
+            return new Trajectory(start != null ? start : Instant.EPOCH, stepSeconds, 0);
         }
+    }
 
-        return orbitPoints;
+
+
+    /**
+     * Computes the track point by point and hands each one to the sink as soon as
+     * it is known, so memory stays constant whatever the horizon.
+     *
+     * With samplesPerRevolution > 0 the step adapts to the orbit instead of using
+     * stepSeconds: every step sweeps the same angle (2π / samplesPerRevolution)
+     * around the Earth, using the instantaneous angular rate |r x v| / r².
+     * That is the mean motion for circular orbits, shorter steps near perigee and
+     * longer ones near apogee for eccentric ones, a minute for LEO and a quarter
+     * hour for GEO at the default density.
+     *
+     * Returns the number of points written.
+     */
+    public int streamTrajectory(TleData tleData, Instant start, double spanSeconds, double stepSeconds,
+                                int samplesPerRevolution, TrajectorySink sink) throws IOException {
+        AbsoluteDate from = start != null ? earthModel.toAbsoluteDate(start) : ephemerisCache.epochOf(tleData);
+        Frame temeFrame = earthModel.getTemeFrame();
+        double[] state = new double[6];
+        int written = 0;
+
+        for (double t = 0; t <= spanSeconds; ) {
+            AbsoluteDate currentDate = from.shiftedBy(t);
+            ephemerisCache.stateAt(tleData, currentDate, state);
+            if (Double.isNaN(state[0])) {
+                break;
+            }
+            Vector3D position = new Vector3D(state[0], state[1], state[2]);
+            OrbitPoint point = earthModel.toOrbitPoint(earthModel.toEarthFixed(temeFrame, currentDate).transformPosition(position), currentDate);
+            sink.accept(earthModel.toInstant(currentDate), point.getLatitude(), point.getLongitude(), point.getAltitude());
+            written++;
+            t += samplesPerRevolution > 0 ? adaptiveStep(state, samplesPerRevolution) : stepSeconds;
+        }
+        return written;
     }
 
+    private static double adaptiveStep(double[] state, int samplesPerRevolution) {
+        double rx = state[0], ry = state[1], rz = state[2];
+        double vx = state[3], vy = state[4], vz = state[5];
+        double hx = ry * vz - rz * vy;
+        double hy = rz * vx - rx * vz;
+        double hz = rx * vy - ry * vx;
+        double angularRate = Math.sqrt(hx * hx + hy * hy + hz * hz) / (rx * rx + ry * ry + rz * rz);
+        double step = 2 * Math.PI / samplesPerRevolution / angularRate;
+        return Math.max(MIN_ADAPTIVE_STEP, Math.min(MAX_ADAPTIVE_STEP, step));
+    }
 
+    @FunctionalInterface
+    public interface TrajectorySink {
+        void accept(Instant time, double latitude, double longitude, double altitude) throws IOException;
+    }
 
 }
@@ -0,0 +1,189 @@
+package com.debriswatch.debristracker.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.debriswatch.debristracker.dto.OrbitResponseDto;
+import com.debriswatch.debristracker.model.CatalogSnapshotFormat;
+import com.debriswatch.debristracker.model.CatalogStore;
+import com.debriswatch.debristracker.model.OrbitSnapshot;
+import com.debriswatch.debristracker.model.PositionBatch;
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.repository.TleRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps the latest catalog positions in memory so the realtime endpoint never
+ * touches the database or Space-Track.
+ * TLEs are refreshed on their own (slow) schedule, positions are recomputed
+ * from the in-memory TLE list on a fast one.
+ */
+@Service
+public class OrbitSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrbitSnapshotService.class);
+
+    private final BatchPropagationService batchPropagationService;
+    private final TleService tleService;
+    private final TleRepository tleRepository;
+    // the scheduled tick and on-demand callers share one propagation of the catalog
+    private final SingleFlight<OrbitSnapshot> snapshotFlight;
+
+    private final AtomicReference<OrbitSnapshot> snapshot = new AtomicReference<>(OrbitSnapshot.empty());
+    private volatile CatalogStore catalog = CatalogStore.empty();
+    private volatile Instant catalogLoadedAt;
+
+    public OrbitSnapshotService(BatchPropagationService batchPropagationService, TleService tleService,
+                                TleRepository tleRepository, MeterRegistry meterRegistry,
+                                @Value("${orbit.snapshot.min-interval-ms:1000}") long minSnapshotIntervalMs) {
+        this.batchPropagationService = batchPropagationService;
+        this.tleService = tleService;
+        this.tleRepository = tleRepository;
+        this.snapshotFlight = new SingleFlight<>(minSnapshotIntervalMs);
+
+        // NaN until the first snapshot / catalog, a growing age means a stuck loop
+        Gauge.builder("orbit.snapshot.age", this, service -> secondsSince(service.getSnapshot().isEmpty()
+                        ? null : service.getSnapshot().getComputedAt()))
+                .baseUnit("seconds").register(meterRegistry);
+        Gauge.builder("orbit.catalog.age", this, service -> secondsSince(service.catalogLoadedAt))
+                .description("Time since the last successful TLE catalog load")
+                .baseUnit("seconds").register(meterRegistry);
+        Gauge.builder("orbit.catalog.size", this, service -> service.catalog.getSize()).register(meterRegistry);
+    }
+
+    /**
+     * Pulls fresh TLEs from Space-Track and reloads the in-memory catalog.
+     * Space-Track asks for tle_latest to be queried at most once per hour.
+     */
+    @Scheduled(initialDelayString = "${orbit.snapshot.tle-refresh-initial-delay-ms:0}",
+               fixedDelayString = "${orbit.snapshot.tle-refresh-ms:3600000}")
+    public void refreshCatalog() {
+        // ingest only appends new element sets, the table is never empty while we read it
+        if (tleService.fetchAndProcessTleData()) {
+            reloadCatalog();
+        }
+    }
+
+    /**
+     * Reloads the in-memory catalog from the stored element sets, after a
+     * Space-Track refresh or a local catalog file import. A catalog holding the
+     * same element sets as the current one is dropped, so catalogLoadedAt only
+     * moves when new element sets arrive.
+     */
+    public void reloadCatalog() {
+        try {
+            List<TleData> latest = tleRepository.findCurrentElementSets();
+            if (latest.isEmpty()) {
+                // keep serving the previous catalog rather than an empty sky
+                log.warn("TLE refresh returned no data, keeping {} cached objects", catalog.getSize());
+                return;
+            }
+            CatalogStore loaded = CatalogStore.from(latest);
+            if (loaded.hasSameElementSets(catalog)) {
+                return;
+            }
+            catalog = loaded;
+            catalogLoadedAt = Instant.now();
+        } catch (Exception e) {
+            log.error("Failed to reload TLE catalog: {}", e.getMessage(), e);
+            return;
+        }
+        // not coalesced, a run in flight may still be propagating the previous catalog
+        computeSnapshot();
+    }
+
+    /**
+     * Propagates every object of the in-memory catalog to the current time and
+     * publishes the result as the new snapshot. Concurrent callers join the
+     * propagation in flight, and one published less than
+     * orbit.snapshot.min-interval-ms ago is not recomputed.
+     */
+    @Scheduled(initialDelayString = "${orbit.snapshot.interval-ms:5000}",
+               fixedRateString = "${orbit.snapshot.interval-ms:5000}")
+    public void recomputeSnapshot() {
+        snapshotFlight.run(this::computeSnapshot);
+    }
+
+    private OrbitSnapshot computeSnapshot() {
+        CatalogStore current = catalog;
+        if (current.isEmpty()) {
+            return snapshot.get();
+        }
+
+        PositionBatch batch = batchPropagationService.propagate(current, Instant.now());
+        OrbitSnapshot next = toSnapshot(current, batch);
+        // built here, off the request path, so spatial queries only read it
+        next.getIndex();
+        return publish(next);
+    }
+
+    private static OrbitSnapshot toSnapshot(CatalogStore catalog, PositionBatch batch) {
+        List<OrbitResponseDto> positions = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.isValid(i)) {
+                positions.add(new OrbitResponseDto(
+                        catalog.getObjectNames()[i],
+                        batch.getLatitude()[i],
+                        batch.getLongitude()[i],
+                        batch.getAltitude()[i]
+                ));
+            }
+        }
+        return new OrbitSnapshot(batch, positions);
+    }
+
+    /**
+     * Installs a catalog saved before a restart, with the positions last propagated
+     * from it. Ignored once a catalog has been loaded, a restored snapshot never
+     * replaces fresher data.
+     */
+    public synchronized boolean restore(CatalogSnapshotFormat.Contents saved) {
+        if (!catalog.isEmpty() || saved.catalog().isEmpty()) {
+            return false;
+        }
+        catalog = saved.catalog();
+        catalogLoadedAt = saved.catalogLoadedAt();
+        if (saved.positions() != null) {
+            publish(toSnapshot(saved.catalog(), saved.positions()));
+        }
+        return true;
+    }
+
+    public OrbitSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Element sets the current snapshot is propagated from.
+     */
+    public CatalogStore getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * When the current catalog was read from the database, null before the first load.
+     */
+    public Instant getCatalogLoadedAt() {
+        return catalogLoadedAt;
+    }
+
+    private static double secondsSince(Instant instant) {
+        return instant == null ? Double.NaN : Duration.between(instant, Instant.now()).toMillis() / 1000.0;
+    }
+
+    // a slow tick must never overwrite the result of a faster, more recent one
+    private OrbitSnapshot publish(OrbitSnapshot next) {
+        return snapshot.accumulateAndGet(next, (current, candidate) -> candidate.isNewerThan(current) ? candidate : current);
+    }
+}
@@ -0,0 +1,267 @@
+package com.debriswatch.debristracker.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.frames.Frame;
+import org.orekit.frames.StaticTransform;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.debriswatch.debristracker.dto.PassPredictionDto;
+import com.debriswatch.debristracker.dto.PassPredictionRequestDto.GroundStation;
+import com.debriswatch.debristracker.model.TleData;
+
+/**
+ * Finds when objects rise above and set below the elevation mask of ground stations.
+ *
+ * Every object is sampled on a coarse time grid from the {@link EphemerisCache},
+ * with the TEME to ITRF transform computed once per step and shared by all
+ * objects and stations, like {@link BatchPredictionService}. Each sign change
+ * of the elevation above the mask is then refined by false position to AOS and
+ * LOS, and the maximum elevation by golden-section search around the highest
+ * sample. Samples peaking below the mask are searched the same way, so a short
+ * pass that fits between two samples is still found.
+ *
+ * Between two grid steps the Earth-fixed position comes from the transform of
+ * the earlier step plus the Earth rotation, so refining a pass costs
+ * interpolations only. Objects are spread over the propagation pool.
+ */
+@Service
+public class PassPredictionService {
+
+    private static final Logger log = LoggerFactory.getLogger(PassPredictionService.class);
+
+    private static final double TOLERANCE_SECONDS = 0.1;
+    private static final int MAX_ITERATIONS = 50;
+    private static final double INVERSE_GOLDEN_RATIO = (Math.sqrt(5) - 1) / 2;
+
+    private final EphemerisCache ephemerisCache;
+    private final EarthModel earthModel;
+    private final BatchPropagationService batchPropagationService;
+    private final int maxStations;
+
+    public PassPredictionService(EphemerisCache ephemerisCache, EarthModel earthModel,
+                                 BatchPropagationService batchPropagationService,
+                                 @Value("${orbit.passes.max-stations:50}") int maxStations) {
+        this.ephemerisCache = ephemerisCache;
+        this.earthModel = earthModel;
+        this.batchPropagationService = batchPropagationService;
+        this.maxStations = maxStations;
+    }
+
+    public int getMaxStations() {
+        return maxStations;
+    }
+
+    /**
+     * Passes of every object over every station in [start, start + (steps - 1) * stepSeconds].
+     */
+    public PassPredictionDto predict(List<TleData> tles, List<GroundStation> stations, Instant start,
+                                     double stepSeconds, int steps) {
+        AbsoluteDate startDate = earthModel.toAbsoluteDate(start);
+        Frame teme = earthModel.getTemeFrame();
+        OneAxisEllipsoid earth = earthModel.getEllipsoid();
+
+        StaticTransform[] temeToItrf = new StaticTransform[steps];
+        batchPropagationService.forEachRow(steps,
+                k -> temeToItrf[k] = earthModel.toEarthFixed(teme, startDate.shiftedBy(k * stepSeconds)));
+
+        List<Site> sites = new ArrayList<>(stations.size());
+        for (GroundStation station : stations) {
+            GeodeticPoint point = new GeodeticPoint(Math.toRadians(station.getLatitude()),
+                    Math.toRadians(station.getLongitude()), station.getAltitude());
+            sites.add(new Site(station.getName(), earth.transform(point), point.getZenith(),
+                    Math.sin(Math.toRadians(station.getMinElevation()))));
+        }
+
+        Window window = new Window(startDate, stepSeconds, steps, temeToItrf);
+        @SuppressWarnings("unchecked")
+        List<PassPredictionDto.Pass>[] found = new List[tles.size()];
+        batchPropagationService.forEachRow(tles.size(), i -> found[i] = passesOf(tles.get(i), sites, window));
+
+        List<PassPredictionDto.Pass> passes = new ArrayList<>();
+        for (List<PassPredictionDto.Pass> objectPasses : found) {
+            passes.addAll(objectPasses);
+        }
+        passes.sort(Comparator.comparing((PassPredictionDto.Pass pass) -> Instant.parse(pass.getAos()))
+                .thenComparingInt(PassPredictionDto.Pass::getNoradId)
+                .thenComparing(PassPredictionDto.Pass::getStation, Comparator.nullsFirst(Comparator.naturalOrder())));
+        Instant end = start.plusMillis(Math.round((steps - 1) * stepSeconds * 1000));
+        return new PassPredictionDto(start.toString(), end.toString(), passes, new ArrayList<>());
+    }
+
+    private List<PassPredictionDto.Pass> passesOf(TleData tle, List<Site> sites, Window window) {
+        int steps = window.steps;
+        double[] positions = new double[3 * steps];
+        try {
+            ephemerisCache.positionsAt(tle, window.start, window.stepSeconds, steps, positions);
+        } catch (Exception e) {
+            log.warn("Pass prediction failed for {}: {}", tle.getObjectName(), e.getMessage());
+            return List.of();
+        }
+
+        // Earth-fixed samples, up to the first instant SGP4 could not reach
+        double[] itrf = new double[3 * steps];
+        int valid = 0;
+        while (valid < steps && !Double.isNaN(positions[3 * valid])) {
+            int at = 3 * valid;
+            Vector3D p = window.temeToItrf[valid].transformPosition(
+                    new Vector3D(positions[at], positions[at + 1], positions[at + 2]));
+            itrf[at] = p.getX();
+            itrf[at + 1] = p.getY();
+            itrf[at + 2] = p.getZ();
+            valid++;
+        }
+
+        Tracker tracker = new Tracker(tle, window);
+        List<PassPredictionDto.Pass> passes = new ArrayList<>();
+        double[] g = new double[valid];
+        for (Site site : sites) {
+            for (int k = 0; k < valid; k++) {
+                g[k] = site.sinElevation(itrf[3 * k], itrf[3 * k + 1], itrf[3 * k + 2]) - site.sinMinElevation;
+            }
+            double step = window.stepSeconds;
+            int rise = valid > 0 && g[0] >= 0 ? 0 : -1;
+            double aos = 0;
+            for (int k = 1; k <= valid; k++) {
+                if (k < valid - 1 && g[k] < 0 && g[k] >= g[k - 1] && g[k] > g[k + 1]) {
+                    // the samples peak below the mask, the pass itself may fit between two of them
+                    double peak = tracker.culmination(site, (k - 1) * step, (k + 1) * step);
+                    if (tracker.sinElevation(site, peak) >= site.sinMinElevation) {
+                        passes.add(tracker.pass(site, tracker.crossing(site, (k - 1) * step, peak),
+                                tracker.crossing(site, peak, (k + 1) * step), peak));
+                    }
+                }
+                if (k < valid && (g[k] >= 0) == (g[k - 1] >= 0)) {
+                    continue;
+                }
+                if (k < valid && g[k] >= 0) {
+                    rise = k;
+                    aos = tracker.crossing(site, (k - 1) * step, k * step);
+                } else if (rise >= 0) {
+                    double los = k < valid ? tracker.crossing(site, (k - 1) * step, k * step) : (valid - 1) * step;
+                    int highest = rise;
+                    for (int i = rise + 1; i < k; i++) {
+                        if (g[i] > g[highest]) {
+                            highest = i;
+                        }
+                    }
+                    double peak = tracker.culmination(site,
+                            Math.max(aos, (highest - 1) * step), Math.min(los, (highest + 1) * step));
+                    passes.add(tracker.pass(site, aos, los, peak));
+                    rise = -1;
+                }
+            }
+        }
+        return passes;
+    }
+
+    private record Site(String name, Vector3D position, Vector3D zenith, double sinMinElevation) {
+
+        double sinElevation(double x, double y, double z) {
+            double dx = x - position.getX();
+            double dy = y - position.getY();
+            double dz = z - position.getZ();
+            double range = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            return (dx * zenith.getX() + dy * zenith.getY() + dz * zenith.getZ()) / range;
+        }
+    }
+
+    private record Window(AbsoluteDate start, double stepSeconds, int steps, StaticTransform[] temeToItrf) {
+    }
+
+    // precise elevation of one object at any offset of the window, not shared between threads
+    private final class Tracker {
+        private final TleData tle;
+        private final Window window;
+        private final double[] state = new double[6];
+
+        Tracker(TleData tle, Window window) {
+            this.tle = tle;
+            this.window = window;
+        }
+
+        double sinElevation(Site site, double t) {
+            ephemerisCache.stateAt(tle, window.start.shiftedBy(t), state);
+            int k = Math.max(0, Math.min(window.steps - 1, (int) Math.floor(t / window.stepSeconds)));
+            // the Earth-fixed frame turns by omega * dt after the transform of step k
+            double angle = Constants.WGS84_EARTH_ANGULAR_VELOCITY * (t - k * window.stepSeconds);
+            double cos = Math.cos(angle);
+            double sin = Math.sin(angle);
+            Vector3D p = window.temeToItrf[k].transformPosition(new Vector3D(
+                    cos * state[0] + sin * state[1], -sin * state[0] + cos * state[1], state[2]));
+            return site.sinElevation(p.getX(), p.getY(), p.getZ());
+        }
+
+        // Illinois false position on elevation - mask, which changes sign in [a, b]
+        double crossing(Site site, double a, double b) {
+            double fa = sinElevation(site, a) - site.sinMinElevation;
+            double fb = sinElevation(site, b) - site.sinMinElevation;
+            int side = 0;
+            for (int i = 0; i < MAX_ITERATIONS && b - a > TOLERANCE_SECONDS; i++) {
+                double c = (a * fb - b * fa) / (fb - fa);
+                double fc = sinElevation(site, c) - site.sinMinElevation;
+                if ((fc >= 0) == (fb >= 0)) {
+                    b = c;
+                    fb = fc;
+                    if (side == -1) {
+                        fa /= 2;
+                    }
+                    side = -1;
+                } else {
+                    a = c;
+                    fa = fc;
+                    if (side == 1) {
+                        fb /= 2;
+                    }
+                    side = 1;
+                }
+            }
+            return (a + b) / 2;
+        }
+
+        // golden-section search for the highest elevation in [a, b]
+        double culmination(Site site, double a, double b) {
+            double c = b - INVERSE_GOLDEN_RATIO * (b - a);
+            double d = a + INVERSE_GOLDEN_RATIO * (b - a);
+            double fc = sinElevation(site, c);
+            double fd = sinElevation(site, d);
+            for (int i = 0; i < MAX_ITERATIONS && b - a > TOLERANCE_SECONDS; i++) {
+                if (fc > fd) {
+                    b = d;
+                    d = c;
+                    fd = fc;
+                    c = b - INVERSE_GOLDEN_RATIO * (b - a);
+                    fc = sinElevation(site, c);
+                } else {
+                    a = c;
+                    c = d;
+                    fc = fd;
+                    d = a + INVERSE_GOLDEN_RATIO * (b - a);
+                    fd = sinElevation(site, d);
+                }
+            }
+            return (a + b) / 2;
+        }
+
+        PassPredictionDto.Pass pass(Site site, double aos, double los, double culmination) {
+            double maxElevation = Math.toDegrees(Math.asin(Math.min(1, sinElevation(site, culmination))));
+            return new PassPredictionDto.Pass(tle.getNoradCatId(), tle.getObjectName(), site.name(),
+                    instant(aos), instant(los), instant(culmination), maxElevation, los - aos);
+        }
+
+        private String instant(double t) {
+            return earthModel.toInstant(window.start.shiftedBy(t)).toString();
+        }
+    }
+}
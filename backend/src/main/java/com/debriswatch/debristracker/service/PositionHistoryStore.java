@@ -0,0 +1,298 @@
+package com.debriswatch.debristracker.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.debriswatch.debristracker.dto.HistoricalPositionDto;
+import com.debriswatch.debristracker.dto.HistoryFrameDto;
+import com.debriswatch.debristracker.model.PositionBatch;
+
+/**
+ * Append-only history of catalog positions, one file segment per UTC hour.
+ *
+ * A segment starts with "SSPH" and a version int, followed by frames:
+ * long epochMillis, int count, then the columns int32 NORAD IDs (ascending),
+ * float32 latitude, longitude (degrees) and altitude (meters), all little-endian.
+ * Readers open the segments of the requested hours and hop from frame header
+ * to frame header, reading only the columns they need. A torn frame left by a
+ * crash ends the segment and is cut off before the next append. Segments older
+ * than the retention are deleted.
+ */
+@Component
+public class PositionHistoryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PositionHistoryStore.class);
+
+    static final int MAGIC = 'S' | 'S' << 8 | 'P' << 16 | 'H' << 24;
+    static final int VERSION = 1;
+    static final int SEGMENT_HEADER_BYTES = 8;
+    static final int FRAME_HEADER_BYTES = 12;
+    static final int BYTES_PER_OBJECT = 16;
+
+    // same sanity bound the scheduler used to log, anything above is a diverged propagation
+    private static final double MAX_ALTITUDE_METERS = 100_000_000;
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final DateTimeFormatter SEGMENT_NAME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HH'.seg'").withZone(ZoneOffset.UTC);
+
+    private final Path directory;
+    private final long retentionHours;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // guarded by the write lock
+    private long openHour = Long.MIN_VALUE;
+
+    public PositionHistoryStore(@Value("${orbit.history.dir:data/position-history}") String directory,
+                                @Value("${orbit.history.retention-hours:48}") long retentionHours) {
+        this.directory = Paths.get(directory);
+        this.retentionHours = retentionHours;
+    }
+
+    /**
+     * Appends the valid rows of the batch as one frame of the segment of its hour.
+     */
+    public void append(PositionBatch batch) throws IOException {
+        ByteBuffer frame = encodeFrame(batch);
+        long hour = Math.floorDiv(batch.getEpoch().toEpochMilli(), HOUR_MILLIS);
+
+        lock.writeLock().lock();
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(segmentPath(hour),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long end = hour == openHour ? channel.size() : recoverTail(channel);
+                if (end == 0) {
+                    ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                    header.putInt(MAGIC).putInt(VERSION).flip();
+                    end += writeFully(channel, header, 0);
+                }
+                writeFully(channel, frame, end);
+            }
+            if (hour != openHour) {
+                openHour = hour;
+                purgeBefore(hour - retentionHours);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recorded position of the object closest in time to the given instant,
+     * at most maxGapSeconds away, or null.
+     */
+    public HistoricalPositionDto positionAt(int noradId, Instant time, long maxGapSeconds) throws IOException {
+        long target = time.toEpochMilli();
+        HistoricalPositionDto[] best = {null};
+        long[] bestGap = {Long.MAX_VALUE};
+        forEachFrame(time.minusSeconds(maxGapSeconds), time.plusSeconds(maxGapSeconds), (channel, epochMillis, count, at) -> {
+            long gap = Math.abs(epochMillis - target);
+            if (gap >= bestGap[0]) {
+                return;
+            }
+            int index = binarySearch(read(channel, at, 4 * count), count, noradId);
+            if (index < 0) {
+                return;
+            }
+            bestGap[0] = gap;
+            best[0] = new HistoricalPositionDto(noradId, Instant.ofEpochMilli(epochMillis).toString(),
+                    read(channel, at + 4L * (count + index), 4).getFloat(),
+                    read(channel, at + 4L * (2 * count + index), 4).getFloat(),
+                    read(channel, at + 4L * (3 * count + index), 4).getFloat());
+        });
+        return best[0];
+    }
+
+    /**
+     * Every frame recorded in [from, to], oldest first.
+     */
+    public List<HistoryFrameDto> framesBetween(Instant from, Instant to) throws IOException {
+        List<HistoryFrameDto> frames = new ArrayList<>();
+        forEachFrame(from, to, (channel, epochMillis, count, at) -> {
+            ByteBuffer columns = read(channel, at, BYTES_PER_OBJECT * count);
+            int[] ids = new int[count];
+            float[] latitude = new float[count];
+            float[] longitude = new float[count];
+            float[] altitude = new float[count];
+            columns.asIntBuffer().get(ids);
+            columns.position(4 * count).slice().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(latitude);
+            columns.position(8 * count).slice().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(longitude);
+            columns.position(12 * count).slice().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(altitude);
+            frames.add(new HistoryFrameDto(Instant.ofEpochMilli(epochMillis).toString(), ids, latitude, longitude, altitude));
+        });
+        return frames;
+    }
+
+    // valid rows sorted by NORAD ID, so lookups can binary search the ID column
+    static ByteBuffer encodeFrame(PositionBatch batch) {
+        int[] noradIds = batch.getNoradIds();
+        long[] order = new long[batch.size()];
+        int count = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.isValid(i) && batch.getAltitude()[i] <= MAX_ALTITUDE_METERS) {
+                order[count++] = (long) noradIds[i] << 32 | i;
+            }
+        }
+        Arrays.sort(order, 0, count);
+
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_BYTES + BYTES_PER_OBJECT * count).order(ByteOrder.LITTLE_ENDIAN);
+        frame.putLong(batch.getEpoch().toEpochMilli()).putInt(count);
+        for (int k = 0; k < count; k++) {
+            frame.putInt(noradIds[(int) order[k]]);
+        }
+        for (int k = 0; k < count; k++) {
+            frame.putFloat((float) batch.getLatitude()[(int) order[k]]);
+        }
+        for (int k = 0; k < count; k++) {
+            frame.putFloat((float) batch.getLongitude()[(int) order[k]]);
+        }
+        for (int k = 0; k < count; k++) {
+            frame.putFloat((float) batch.getAltitude()[(int) order[k]]);
+        }
+        return frame.flip();
+    }
+
+    // positional reads rather than mmap, a mapped segment cannot be truncated or deleted on Windows
+    private void forEachFrame(Instant from, Instant to, FrameVisitor visitor) throws IOException {
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        lock.readLock().lock();
+        try {
+            for (long hour = Math.floorDiv(fromMillis, HOUR_MILLIS); hour <= Math.floorDiv(toMillis, HOUR_MILLIS); hour++) {
+                Path file = segmentPath(hour);
+                if (!Files.exists(file)) {
+                    continue;
+                }
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    long size = channel.size();
+                    if (size < SEGMENT_HEADER_BYTES) {
+                        continue;
+                    }
+                    ByteBuffer header = read(channel, 0, SEGMENT_HEADER_BYTES);
+                    if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                        log.warn("Skipping unreadable position history segment {}", file);
+                        continue;
+                    }
+                    long at = SEGMENT_HEADER_BYTES;
+                    long end;
+                    while ((end = frameEnd(channel, at, size)) > 0) {
+                        ByteBuffer frame = read(channel, at, FRAME_HEADER_BYTES);
+                        long epochMillis = frame.getLong();
+                        if (epochMillis >= fromMillis && epochMillis <= toMillis) {
+                            visitor.visit(channel, epochMillis, frame.getInt(), at + FRAME_HEADER_BYTES);
+                        }
+                        at = end;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // end offset of the frame starting at, or -1 when it is missing or torn
+    private static long frameEnd(FileChannel channel, long at, long size) throws IOException {
+        if (at + FRAME_HEADER_BYTES > size) {
+            return -1;
+        }
+        int count = read(channel, at + 8, 4).getInt();
+        long end = at + FRAME_HEADER_BYTES + (long) BYTES_PER_OBJECT * count;
+        return count < 0 || end > size ? -1 : end;
+    }
+
+    // length of the complete frames of an existing segment, the rest is cut off
+    private static long recoverTail(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < SEGMENT_HEADER_BYTES) {
+            channel.truncate(0);
+            return 0;
+        }
+        long at = SEGMENT_HEADER_BYTES;
+        long end;
+        while ((end = frameEnd(channel, at, size)) > 0) {
+            at = end;
+        }
+        if (at < size) {
+            log.warn("Dropping {} bytes of a torn position history frame", size - at);
+            channel.truncate(at);
+        }
+        return at;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of position history segment");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static int binarySearch(ByteBuffer ids, int count, int noradId) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int id = ids.getInt(4 * mid);
+            if (id < noradId) {
+                low = mid + 1;
+            } else if (id > noradId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static long writeFully(FileChannel channel, ByteBuffer data, long position) throws IOException {
+        long written = 0;
+        while (data.hasRemaining()) {
+            written += channel.write(data, position + written);
+        }
+        return written;
+    }
+
+    private void purgeBefore(long oldestHourKept) {
+        String oldestName = SEGMENT_NAME.format(Instant.ofEpochMilli(oldestHourKept * HOUR_MILLIS));
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "*.seg")) {
+            for (Path segment : segments) {
+                // names sort chronologically
+                if (segment.getFileName().toString().compareTo(oldestName) < 0) {
+                    Files.deleteIfExists(segment);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to purge old position history: {}", e.getMessage());
+        }
+    }
+
+    private Path segmentPath(long hour) {
+        return directory.resolve(SEGMENT_NAME.format(Instant.ofEpochMilli(hour * HOUR_MILLIS)));
+    }
+
+    @FunctionalInterface
+    private interface FrameVisitor {
+        void visit(FileChannel channel, long epochMillis, int count, long columnsAt) throws IOException;
+    }
+}
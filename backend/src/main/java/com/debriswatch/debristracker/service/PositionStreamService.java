@@ -0,0 +1,258 @@
+package com.debriswatch.debristracker.service;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.debriswatch.debristracker.model.CatalogStore;
+import com.debriswatch.debristracker.model.OrbitSnapshot;
+import com.debriswatch.debristracker.model.PositionFrame;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes snapshot positions to Server-Sent Events clients.
+ *
+ * A client first gets a "dictionary" event (NORAD ID -> name/type, plus the
+ * quantization scales) and a "keyframe" with absolute quantized positions, then
+ * one "delta" event per new snapshot. A fresh keyframe is sent every
+ * {@code keyframeEvery} frames, and whenever the catalog or the set of objects changes.
+ * Every event is serialized once and the same string is written to all clients.
+ *
+ * Writes never run on the scheduler: each client has its own queue, drained in
+ * order on the push executor, and a client whose oldest queued event waited
+ * longer than {@code sendTimeoutMs} is dropped.
+ */
+@Service
+public class PositionStreamService {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final OrbitSnapshotService snapshotService;
+    private final long timeoutMs;
+    private final int keyframeEvery;
+    private final long sendTimeoutMs;
+    private final List<Client> clients = new CopyOnWriteArrayList<>();
+
+    // one thread per client being written to, a stalled client never holds up the others
+    private final ExecutorService pushExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "sse-push");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // broadcast state, guarded by this
+    private Instant lastSnapshotAt;
+    private CatalogStore dictionaryCatalog;
+    private String dictionaryEvent;
+    private PositionFrame lastFrame;
+    private String lastKeyframeEvent;
+    private int framesSinceKeyframe;
+
+    public PositionStreamService(OrbitSnapshotService snapshotService,
+                                 @Value("${orbit.stream.timeout-ms:0}") long timeoutMs,
+                                 @Value("${orbit.stream.keyframe-every:12}") int keyframeEvery,
+                                 @Value("${orbit.stream.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.snapshotService = snapshotService;
+        this.timeoutMs = timeoutMs;
+        this.keyframeEvery = Math.max(1, keyframeEvery);
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Client client = new Client(emitter);
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(e -> clients.remove(client));
+
+        synchronized (this) {
+            // late joiners start from the last frame, deltas that follow apply to it
+            if (dictionaryEvent != null) {
+                client.offer("dictionary", dictionaryEvent);
+                if (lastKeyframeEvent == null && lastFrame != null) {
+                    lastKeyframeEvent = lastFrame.toKeyframeJson();
+                }
+                if (lastKeyframeEvent != null) {
+                    client.offer("keyframe", lastKeyframeEvent);
+                }
+            }
+            clients.add(client);
+        }
+        return emitter;
+    }
+
+    @Scheduled(initialDelayString = "${orbit.stream.interval-ms:5000}",
+               fixedRateString = "${orbit.stream.interval-ms:5000}")
+    public synchronized void broadcast() {
+        OrbitSnapshot snapshot = snapshotService.getSnapshot();
+        if (snapshot.isEmpty() || snapshot.getComputedAt().equals(lastSnapshotAt)) {
+            return;
+        }
+        lastSnapshotAt = snapshot.getComputedAt();
+
+        CatalogStore catalog = snapshotService.getCatalog();
+        boolean newDictionary = catalog != dictionaryCatalog;
+        if (newDictionary) {
+            dictionaryCatalog = catalog;
+            dictionaryEvent = encodeDictionary(catalog);
+            sendToAll("dictionary", dictionaryEvent);
+        }
+
+        PositionFrame frame = PositionFrame.quantize(snapshot.getBatch());
+        boolean keyframe = newDictionary || !frame.hasSameIds(lastFrame) || ++framesSinceKeyframe >= keyframeEvery;
+        PositionFrame previous = lastFrame;
+        lastFrame = frame;
+        lastKeyframeEvent = null;
+        if (keyframe) {
+            framesSinceKeyframe = 0;
+        }
+        if (clients.isEmpty()) {
+            // nobody to encode for, joiners build a keyframe from lastFrame
+            return;
+        }
+
+        if (keyframe) {
+            lastKeyframeEvent = frame.toKeyframeJson();
+            sendToAll("keyframe", lastKeyframeEvent);
+        } else {
+            sendToAll("delta", frame.toDeltaJson(previous));
+        }
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    /**
+     * {"ids":[...],"names":[...],"types":[...],"latScale":..,"lonScale":..,"altScale":..}
+     */
+    static String encodeDictionary(CatalogStore catalog) {
+        StringWriter out = new StringWriter(64 + catalog.getSize() * 32);
+        try (JsonGenerator gen = JSON.createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeFieldName("ids");
+            gen.writeArray(catalog.getNoradIds(), 0, catalog.getSize());
+            gen.writeArrayFieldStart("names");
+            for (String name : catalog.getObjectNames()) {
+                gen.writeString(name);
+            }
+            gen.writeEndArray();
+            gen.writeArrayFieldStart("types");
+            for (int row = 0; row < catalog.getSize(); row++) {
+                gen.writeString(catalog.getObjectType(row));
+            }
+            gen.writeEndArray();
+            gen.writeNumberField("latScale", PositionFrame.ANGLE_SCALE);
+            gen.writeNumberField("lonScale", PositionFrame.ANGLE_SCALE);
+            gen.writeNumberField("altScale", PositionFrame.ALTITUDE_SCALE);
+            gen.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pushExecutor.shutdownNow();
+    }
+
+    private void sendToAll(String event, String data) {
+        for (Client client : clients) {
+            client.offer(event, data);
+        }
+    }
+
+    private record Event(String name, String data, long queuedAt) {
+    }
+
+    // events of one client, written in order by at most one push thread at a time
+    private final class Client implements Runnable {
+        private final SseEmitter emitter;
+        // guarded by this
+        private final ArrayDeque<Event> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(String name, String data) {
+            long now = System.currentTimeMillis();
+            boolean start;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                Event oldest = pending.peek();
+                if (oldest != null && now - oldest.queuedAt() > sendTimeoutMs) {
+                    close(null);
+                    return;
+                }
+                pending.add(new Event(name, data, now));
+                start = !draining;
+                draining = true;
+            }
+            if (start) {
+                pushExecutor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Event event;
+                synchronized (this) {
+                    // stays queued while it is written, so a stalled write counts as waiting
+                    event = closed ? null : pending.peek();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(SseEmitter.event().name(event.name()).data(event.data(), MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    synchronized (this) {
+                        close(e);
+                        draining = false;
+                    }
+                    return;
+                }
+                synchronized (this) {
+                    pending.poll();
+                }
+            }
+        }
+
+        // called holding this; the emitter is completed on the push executor, it may be blocked in a write
+        private void close(Exception error) {
+            closed = true;
+            pending.clear();
+            clients.remove(this);
+            pushExecutor.execute(() -> {
+                if (error != null) {
+                    emitter.completeWithError(error);
+                } else {
+                    emitter.complete();
+                }
+            });
+        }
+    }
+}
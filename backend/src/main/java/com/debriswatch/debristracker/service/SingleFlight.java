@@ -0,0 +1,124 @@
+package com.debriswatch.debristracker.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent runs of one expensive task.
+ *
+ * While a run is in flight every other caller joins it and gets its result
+ * instead of starting a second one. A run that completed less than
+ * minIntervalMillis ago is reused as is, so the task runs at most once per
+ * interval however many callers there are. Failures are handed to the callers
+ * that joined the failed run and are never reused.
+ */
+public final class SingleFlight<T> {
+
+    private final long minIntervalMillis;
+    private final LongSupplier clock;
+
+    // guarded by this
+    private CompletableFuture<T> inFlight;
+    private CompletableFuture<T> last;
+    private long lastCompletedAt;
+
+    public SingleFlight(long minIntervalMillis) {
+        this(minIntervalMillis, System::currentTimeMillis);
+    }
+
+    SingleFlight(long minIntervalMillis, LongSupplier clock) {
+        this.minIntervalMillis = minIntervalMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs the task on the calling thread, or waits for the run in flight.
+     */
+    public T run(Supplier<T> task) {
+        CompletableFuture<T> flight;
+        synchronized (this) {
+            flight = current();
+            if (flight == null) {
+                flight = inFlight = new CompletableFuture<>();
+            } else {
+                return await(flight);
+            }
+        }
+        execute(task, flight);
+        return await(flight);
+    }
+
+    /**
+     * Same as {@link #run(Supplier)} without blocking, a new run starts on the executor.
+     */
+    public CompletableFuture<T> submit(Supplier<T> task, Executor executor) {
+        CompletableFuture<T> flight;
+        synchronized (this) {
+            flight = current();
+            if (flight != null) {
+                return flight;
+            }
+            flight = inFlight = new CompletableFuture<>();
+        }
+        CompletableFuture<T> started = flight;
+        try {
+            executor.execute(() -> execute(task, started));
+        } catch (RuntimeException e) {
+            // rejected, e.g. during shutdown
+            finish(started, null, e);
+        }
+        return flight;
+    }
+
+    // the run in flight or a recent enough result, null when a new run is due
+    private CompletableFuture<T> current() {
+        if (inFlight != null) {
+            return inFlight;
+        }
+        if (last != null && clock.getAsLong() - lastCompletedAt < minIntervalMillis) {
+            return last;
+        }
+        return null;
+    }
+
+    private void execute(Supplier<T> task, CompletableFuture<T> flight) {
+        try {
+            finish(flight, task.get(), null);
+        } catch (RuntimeException | Error e) {
+            finish(flight, null, e);
+        }
+    }
+
+    private void finish(CompletableFuture<T> flight, T result, Throwable error) {
+        synchronized (this) {
+            inFlight = null;
+            if (error == null) {
+                last = flight;
+                lastCompletedAt = clock.getAsLong();
+            }
+        }
+        if (error == null) {
+            flight.complete(result);
+        } else {
+            flight.completeExceptionally(error);
+        }
+    }
+
+    // rethrows the failure of the run unwrapped, as if the caller had run it
+    private static <T> T await(CompletableFuture<T> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
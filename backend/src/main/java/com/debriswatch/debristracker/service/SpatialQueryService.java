@@ -0,0 +1,153 @@
+package com.debriswatch.debristracker.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.debriswatch.debristracker.dto.SpatialQueryDto;
+import com.debriswatch.debristracker.model.CatalogStore;
+import com.debriswatch.debristracker.model.OrbitSnapshot;
+import com.debriswatch.debristracker.model.PositionBatch;
+import com.debriswatch.debristracker.model.PositionIndex;
+
+/**
+ * Region, altitude shell and nearest-neighbour queries over the realtime
+ * snapshot, answered from its {@link PositionIndex} so the dashboard no longer
+ * downloads and filters the whole catalog.
+ */
+@Service
+public class SpatialQueryService {
+
+    private final OrbitSnapshotService snapshotService;
+    private final int maxResults;
+
+    public SpatialQueryService(OrbitSnapshotService snapshotService,
+                               @Value("${orbit.spatial.max-results:10000}") int maxResults) {
+        this.snapshotService = snapshotService;
+        this.maxResults = maxResults;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Objects above the lat/lon box (degrees) with an altitude in [minAltitude, maxAltitude] meters.
+     */
+    public SpatialQueryDto inBox(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude,
+                                 double minAltitude, double maxAltitude, int limit) {
+        OrbitSnapshot snapshot = snapshotService.getSnapshot();
+        Matches matches = new Matches(snapshot, limit);
+        snapshot.getIndex().forEachInBox(minLatitude, maxLatitude, minLongitude, maxLongitude,
+                inShell(snapshot.getBatch(), minAltitude, maxAltitude, i -> matches.add(i, null)));
+        return matches.toDto();
+    }
+
+    /**
+     * Objects whose ground track point is within radius meters of the given point, nearest first.
+     */
+    public SpatialQueryDto nearPoint(double latitude, double longitude, double radius,
+                                     double minAltitude, double maxAltitude, int limit) {
+        OrbitSnapshot snapshot = snapshotService.getSnapshot();
+        PositionBatch batch = snapshot.getBatch();
+        Matches matches = new Matches(snapshot, Integer.MAX_VALUE);
+        snapshot.getIndex().forEachNearGround(latitude, longitude, radius,
+                inShell(batch, minAltitude, maxAltitude, i -> matches.add(i, PositionIndex.groundDistance(
+                        latitude, longitude, batch.getLatitude()[i], batch.getLongitude()[i]))));
+        return matches.nearestFirst(limit);
+    }
+
+    /**
+     * Objects with an altitude in [minAltitude, maxAltitude] meters.
+     */
+    public SpatialQueryDto inShell(double minAltitude, double maxAltitude, int limit) {
+        OrbitSnapshot snapshot = snapshotService.getSnapshot();
+        Matches matches = new Matches(snapshot, limit);
+        snapshot.getIndex().forEachInShell(minAltitude, maxAltitude, i -> matches.add(i, null));
+        return matches.toDto();
+    }
+
+    /**
+     * The k objects closest in space to the given one, nearest first; null when
+     * the object has no position in the snapshot.
+     */
+    public SpatialQueryDto nearest(int noradId, int k) {
+        OrbitSnapshot snapshot = snapshotService.getSnapshot();
+        PositionBatch batch = snapshot.getBatch();
+        int row = rowOf(batch, noradId);
+        if (row < 0 || !batch.isValid(row)) {
+            return null;
+        }
+        PositionIndex index = snapshot.getIndex();
+        Matches matches = new Matches(snapshot, k);
+        for (int i : index.nearest(row, k)) {
+            matches.add(i, index.distance(row, i));
+        }
+        return matches.toDto();
+    }
+
+    // the batch rows follow the catalog the snapshot was propagated from, usually the current one
+    private int rowOf(PositionBatch batch, int noradId) {
+        int row = snapshotService.getCatalog().rowOf(noradId);
+        if (row >= 0 && row < batch.size() && batch.getNoradIds()[row] == noradId) {
+            return row;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.getNoradIds()[i] == noradId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static IntConsumer inShell(PositionBatch batch, double minAltitude, double maxAltitude, IntConsumer consumer) {
+        return i -> {
+            double altitude = batch.getAltitude()[i];
+            if (altitude >= minAltitude && altitude <= maxAltitude) {
+                consumer.accept(i);
+            }
+        };
+    }
+
+    // counts every match, keeps the first limit of them
+    private final class Matches {
+        private final OrbitSnapshot snapshot;
+        private final CatalogStore catalog = snapshotService.getCatalog();
+        private final int limit;
+        private final List<SpatialQueryDto.Match> objects = new ArrayList<>();
+        private int count;
+
+        Matches(OrbitSnapshot snapshot, int limit) {
+            this.snapshot = snapshot;
+            this.limit = limit;
+        }
+
+        void add(int i, Double distance) {
+            count++;
+            if (objects.size() >= limit) {
+                return;
+            }
+            PositionBatch batch = snapshot.getBatch();
+            int noradId = batch.getNoradIds()[i];
+            int row = catalog.rowOf(noradId);
+            objects.add(new SpatialQueryDto.Match(noradId,
+                    row >= 0 ? catalog.getObjectNames()[row] : null,
+                    row >= 0 ? catalog.getObjectType(row) : null,
+                    batch.getLatitude()[i], batch.getLongitude()[i], batch.getAltitude()[i], distance));
+        }
+
+        SpatialQueryDto nearestFirst(int limit) {
+            objects.sort(Comparator.comparingDouble(SpatialQueryDto.Match::getDistance));
+            List<SpatialQueryDto.Match> kept = new ArrayList<>(objects.subList(0, Math.min(limit, objects.size())));
+            return new SpatialQueryDto(snapshot.getComputedAt().toString(), count, kept);
+        }
+
+        SpatialQueryDto toDto() {
+            return new SpatialQueryDto(snapshot.getComputedAt().toString(), count, objects);
+        }
+    }
+}
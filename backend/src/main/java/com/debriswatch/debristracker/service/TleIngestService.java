@@ -0,0 +1,123 @@
+package com.debriswatch.debristracker.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.debriswatch.debristracker.Factory.TleObjectFactory;
+import com.debriswatch.debristracker.model.ElementSetKey;
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.repository.TleElementSetView;
+import com.debriswatch.debristracker.repository.TleRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Stores parsed element sets, whatever fetcher they came from (Space-Track,
+ * local TLE, OMM CSV or JSON files). The Space-Track refresh and the import
+ * directory watcher call it from different threads, so batches are stored
+ * one at a time.
+ */
+@Service
+public class TleIngestService {
+
+    // keeps the IN (...) list of the known element set lookup reasonably short
+    private static final int KEY_QUERY_CHUNK = 1000;
+
+    private final TleRepository tleRepository;
+    private final TleObjectFactory tleObjectFactory;
+    private final TlePropagatorCache propagatorCache;
+    private final CurrentTleService currentTleService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionOperations transactions;
+    // held until the commit, the next diff must see the rows of the previous batch
+    private final ReentrantLock ingestLock = new ReentrantLock();
+
+    public TleIngestService(TleRepository tleRepository, TleObjectFactory tleObjectFactory,
+                            TlePropagatorCache propagatorCache, CurrentTleService currentTleService,
+                            MeterRegistry meterRegistry, TransactionOperations transactions) {
+        this.tleRepository = tleRepository;
+        this.tleObjectFactory = tleObjectFactory;
+        this.propagatorCache = propagatorCache;
+        this.currentTleService = currentTleService;
+        this.meterRegistry = meterRegistry;
+        this.transactions = transactions;
+    }
+
+    /**
+     * Inserts only the element sets that are not stored yet, older ones stay as history.
+     * Each record is stored once, as its Debris/RocketBody/Satellite row, through a
+     * single saveAll so Hibernate can batch the inserts; then the current_tle
+     * pointers are moved to the rows just stored. Diff, inserts and pointer moves
+     * commit together: rows stored without their pointers would be skipped as
+     * known by the next diff and leave the pointer stale. Concurrent callers wait
+     * for the running batch to commit, so they never both insert the same element
+     * set or create the same pointer.
+     *
+     * @return the number of element sets stored
+     */
+    public int store(List<TleData> tleList) {
+        meterRegistry.counter("tle.ingest.received").increment(tleList.size());
+        Integer stored;
+        ingestLock.lock();
+        try {
+            stored = meterRegistry.timer("tle.persist").record(() -> transactions.execute(status -> insertNew(tleList)));
+        } finally {
+            ingestLock.unlock();
+        }
+        meterRegistry.counter("tle.ingest.persisted").increment(stored);
+        return stored;
+    }
+
+    private int insertNew(List<TleData> tleList) {
+        List<TleData> fresh = newElementSets(tleList);
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+        propagatorCache.evictOutdated(fresh); // newer element sets invalidate the cached propagators
+
+        List<TleData> typed = new ArrayList<>(fresh.size());
+        for (TleData tle : fresh) {
+            typed.add(tleObjectFactory.create(tle));
+        }
+        tleRepository.saveAll(typed);
+        currentTleService.advance(typed);
+        return typed.size();
+    }
+
+    /**
+     * Time one fetcher spent reading and binding its input, without the time spent in {@link #store}.
+     */
+    public void recordParseTime(String source, long nanos) {
+        meterRegistry.timer("tle.parse", "source", source).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // diff on NORAD ID + element set number + epoch, also drops repeats inside the incoming list;
+    // the number alone repeats (always 999 from CelesTrak, wraps at 999 on Space-Track)
+    private List<TleData> newElementSets(List<TleData> tleList) {
+        List<Integer> ids = tleList.stream().map(TleData::getNoradCatId).distinct().toList();
+        Set<ElementSetKey> known = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += KEY_QUERY_CHUNK) {
+            List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + KEY_QUERY_CHUNK));
+            for (TleElementSetView stored : tleRepository.findElementSetsByNoradCatIdIn(chunk)) {
+                Double epochSeconds = stored.getEpochSeconds();
+                known.add(new ElementSetKey(stored.getNoradCatId(), stored.getElementSetNo(),
+                        epochSeconds != null ? epochSeconds : Double.NaN));
+            }
+        }
+
+        List<TleData> fresh = new ArrayList<>();
+        for (TleData tle : tleList) {
+            if (known.add(ElementSetKey.of(tle))) {
+                fresh.add(tle);
+            }
+        }
+        return fresh;
+    }
+}
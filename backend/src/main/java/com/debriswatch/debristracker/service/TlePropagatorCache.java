@@ -0,0 +1,147 @@
+package com.debriswatch.debristracker.service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.debriswatch.debristracker.model.CatalogStore;
+import com.debriswatch.debristracker.model.ElementSetKey;
+import com.debriswatch.debristracker.model.TleData;
+
+/**
+ * Bounded cache of parsed TLEs and initialized SGP4 propagators, keyed by NORAD ID.
+ * An entry is only reused while its element set (number + epoch) matches the
+ * requested one, a newer element set replaces it.
+ *
+ * TLEPropagator keeps internal state and is not thread-safe, so every entry holds
+ * a small pool: each caller borrows its own instance for the duration of the call.
+ */
+@Component
+public class TlePropagatorCache {
+
+    private final int maxEntries;
+    private final int maxIdlePerEntry;
+
+    // access-ordered, so iteration order is least recently used first
+    private final LinkedHashMap<Integer, Entry> entries;
+
+    public TlePropagatorCache(@Value("${orbit.propagator-cache.max-entries:50000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.maxIdlePerEntry = Runtime.getRuntime().availableProcessors();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                return size() > TlePropagatorCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Runs the action with a propagator for the given TLE that no other thread
+     * uses at the same time.
+     */
+    public <T> T withPropagator(TleData tle, Function<TLEPropagator, T> action) {
+        return withEntry(entryFor(ElementSetKey.of(tle), tle.getTleLine1(), tle.getTleLine2()), action);
+    }
+
+    /**
+     * Same as {@link #withPropagator(TleData, Function)} for a row of the columnar catalog.
+     */
+    public <T> T withPropagator(CatalogStore catalog, int row, Function<TLEPropagator, T> action) {
+        return withEntry(entryFor(ElementSetKey.of(catalog, row), catalog.getTleLine1()[row], catalog.getTleLine2()[row]), action);
+    }
+
+    private <T> T withEntry(Entry entry, Function<TLEPropagator, T> action) {
+        TLEPropagator propagator = entry.borrow();
+        try {
+            return action.apply(propagator);
+        } finally {
+            entry.release(propagator);
+        }
+    }
+
+    /**
+     * Drops the cached propagators of every object for which a different element
+     * set has just been ingested.
+     */
+    public void evictOutdated(Collection<? extends TleData> incoming) {
+        synchronized (entries) {
+            for (TleData tle : incoming) {
+                Entry cached = entries.get(tle.getNoradCatId());
+                if (cached != null && !cached.key.equals(ElementSetKey.of(tle))) {
+                    entries.remove(tle.getNoradCatId());
+                }
+            }
+        }
+    }
+
+    public void invalidate(int noradCatId) {
+        synchronized (entries) {
+            entries.remove(noradCatId);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Entry entryFor(ElementSetKey key, String line1, String line2) {
+        synchronized (entries) {
+            Entry cached = entries.get(key.noradCatId());
+            if (cached != null && cached.key.equals(key)) {
+                return cached;
+            }
+        }
+
+        // parse outside the lock, two threads racing on the same miss just both parse
+        Entry created = new Entry(key, new TLE(line1, line2), maxIdlePerEntry);
+        synchronized (entries) {
+            Entry cached = entries.get(key.noradCatId());
+            if (cached != null && cached.key.equals(key)) {
+                return cached;
+            }
+            entries.put(key.noradCatId(), created);
+            return created;
+        }
+    }
+
+    private static final class Entry {
+        private final ElementSetKey key;
+        private final TLE tle;
+        private final int maxIdle;
+        private final Queue<TLEPropagator> idle = new ConcurrentLinkedQueue<>();
+
+        Entry(ElementSetKey key, TLE tle, int maxIdle) {
+            this.key = key;
+            this.tle = tle;
+            this.maxIdle = maxIdle;
+        }
+
+        TLEPropagator borrow() {
+            TLEPropagator propagator = idle.poll();
+            return propagator != null ? propagator : TLEPropagator.selectExtrapolator(tle);
+        }
+
+        void release(TLEPropagator propagator) {
+            if (idle.size() < maxIdle) {
+                idle.offer(propagator);
+            }
+        }
+    }
+}
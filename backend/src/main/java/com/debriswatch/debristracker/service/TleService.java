@@ -1,22 +1,48 @@
 package com.debriswatch.debristracker.service;
 
 import com.debriswatch.debristracker.fetcher.SpaceTrackTleFetcher;
+import com.debriswatch.debristracker.repository.CurrentTleRepository;
 import com.debriswatch.debristracker.repository.DebrisRepository;
 import com.debriswatch.debristracker.repository.RocketBodyRepository;
 import com.debriswatch.debristracker.repository.SatelliteRepository;
 import com.debriswatch.debristracker.repository.TleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import jakarta.annotation.PreDestroy;
 import jakarta.transaction.Transactional;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Service
 public class TleService {
 
+    private static final Logger log = LoggerFactory.getLogger(TleService.class);
+
     private final SpaceTrackTleFetcher tleFetcher;
     private final SatelliteRepository satelliteRepository;
     private final DebrisRepository debrisRepository;
     private final RocketBodyRepository rocketBodyRepository;
     private final TleRepository tleRepository;
+    private final CurrentTleRepository currentTleRepository;
+    private final MeterRegistry meterRegistry;
+
+    // manual fetches run here so a slow Space-Track response never holds a request thread
+    private final ExecutorService ingestExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tle-ingest");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // one Space-Track download at a time, however many schedulers and tabs ask for it
+    private final SingleFlight<Void> fetchFlight;
 
     @Autowired
     public TleService(
@@ -24,26 +50,81 @@ public class TleService {
             SatelliteRepository satelliteRepository,
             DebrisRepository debrisRepository,
             RocketBodyRepository rocketBodyRepository,
-            TleRepository tleRepository
+            TleRepository tleRepository,
+            CurrentTleRepository currentTleRepository,
+            MeterRegistry meterRegistry,
+            @Value("${tle.fetch.min-interval-ms:300000}") long minFetchIntervalMs
     ) {
         this.tleFetcher = tleFetcher;
         this.satelliteRepository = satelliteRepository;
         this.debrisRepository = debrisRepository;
         this.rocketBodyRepository = rocketBodyRepository;
         this.tleRepository = tleRepository;
+        this.currentTleRepository = currentTleRepository;
+        this.meterRegistry = meterRegistry;
+        this.fetchFlight = new SingleFlight<>(minFetchIntervalMs);
     }
 
-    public void fetchAndProcessTleData() {
+    /**
+     * Fetches and stores the latest TLEs. Concurrent callers share one download,
+     * and a download finished less than tle.fetch.min-interval-ms ago is not repeated.
+     *
+     * @return false when the download or the ingest failed, the failure is logged
+     */
+    public boolean fetchAndProcessTleData() {
+        try {
+            fetchFlight.run(this::fetchOnce);
+            return true;
+        } catch (Exception e) {
+            logFailure(e);
+            return false;
+        }
+    }
+
+    /**
+     * Same as {@link #fetchAndProcessTleData()} on the ingest thread, completes
+     * with false when it failed.
+     */
+    public CompletableFuture<Boolean> fetchAndProcessTleDataAsync() {
+        return fetchFlight.submit(this::fetchOnce, ingestExecutor).handle((done, error) -> {
+            if (error != null) {
+                logFailure(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                return false;
+            }
+            return true;
+        });
+    }
+
+    // throws so a failed download is not reused by the next caller
+    private Void fetchOnce() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
         try {
             tleFetcher.fetchAndProcess();
+            outcome = "success";
+            return null;
+        } catch (RuntimeException e) {
+            throw e;
         } catch (Exception e) {
-            System.err.println("Failed to fetch TLE data: " + e.getMessage());
-            e.printStackTrace();
+            throw new IllegalStateException(e.getMessage(), e);
+        } finally {
+            // login, download, parse and store of one run
+            sample.stop(meterRegistry.timer("tle.fetch", "outcome", outcome));
         }
     }
 
+    private static void logFailure(Throwable e) {
+        log.error("Failed to fetch TLE data: {}", e.getMessage(), e);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ingestExecutor.shutdownNow();
+    }
+
     @Transactional
     public void clearAllTleRelatedData() {
+        currentTleRepository.deleteAllCurrentTle(); // points into tle_data
         satelliteRepository.deleteAllSatellites();
         debrisRepository.deleteAllDebris();
         rocketBodyRepository.deleteAllRocketBodies();
@@ -0,0 +1,32 @@
+package com.debriswatch.debristracker;
+
+import java.io.File;
+import java.net.URISyntaxException;
+
+import org.orekit.data.DataContext;
+import org.orekit.data.DirectoryCrawler;
+
+/**
+ * Registers the minimal Orekit data shipped with the tests (UTC-TAI history only),
+ * enough to parse and propagate TLEs without a full orekit-data checkout.
+ */
+public final class OrekitTestData {
+
+    private static boolean loaded;
+
+    private OrekitTestData() {
+    }
+
+    public static synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        try {
+            File data = new File(OrekitTestData.class.getResource("/orekit-data").toURI());
+            DataContext.getDefault().getDataProvidersManager().addProvider(new DirectoryCrawler(data));
+            loaded = true;
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Test Orekit data not found", e);
+        }
+    }
+}
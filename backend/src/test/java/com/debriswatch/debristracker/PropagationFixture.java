@@ -0,0 +1,67 @@
+package com.debriswatch.debristracker;
+
+import static org.mockito.Mockito.mock;
+
+import com.debriswatch.debristracker.repository.TleRepository;
+import com.debriswatch.debristracker.service.BatchPropagationService;
+import com.debriswatch.debristracker.service.EarthModel;
+import com.debriswatch.debristracker.service.EphemerisCache;
+import com.debriswatch.debristracker.service.OrbitService;
+import com.debriswatch.debristracker.service.TlePropagatorCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The propagation services wired as in the application, on the test Orekit
+ * data: one propagator cache behind the ephemeris cache (24 h segments), a
+ * 4-worker batch pool and the single-object service. Close it to stop the pool.
+ */
+public final class PropagationFixture implements AutoCloseable {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EarthModel earthModel;
+    private final TlePropagatorCache propagatorCache = new TlePropagatorCache(1000);
+    private final EphemerisCache ephemerisCache = new EphemerisCache(propagatorCache, 120, 24, 100, 64L << 20);
+    private final BatchPropagationService batchPropagationService;
+    private final OrbitService orbitService;
+
+    public PropagationFixture() {
+        this(mock(TleRepository.class));
+    }
+
+    public PropagationFixture(TleRepository tleRepository) {
+        OrekitTestData.load();
+        earthModel = new EarthModel();
+        batchPropagationService = new BatchPropagationService(propagatorCache, earthModel, meterRegistry, 4, 8);
+        orbitService = new OrbitService(tleRepository, propagatorCache, earthModel, ephemerisCache, meterRegistry);
+    }
+
+    public SimpleMeterRegistry meterRegistry() {
+        return meterRegistry;
+    }
+
+    public EarthModel earthModel() {
+        return earthModel;
+    }
+
+    public TlePropagatorCache propagatorCache() {
+        return propagatorCache;
+    }
+
+    public EphemerisCache ephemerisCache() {
+        return ephemerisCache;
+    }
+
+    public BatchPropagationService batchPropagationService() {
+        return batchPropagationService;
+    }
+
+    public OrbitService orbitService() {
+        return orbitService;
+    }
+
+    @Override
+    public void close() {
+        batchPropagationService.shutdown();
+    }
+}
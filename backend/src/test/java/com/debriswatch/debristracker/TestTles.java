@@ -0,0 +1,53 @@
+package com.debriswatch.debristracker;
+
+import com.debriswatch.debristracker.model.Satellite;
+import com.debriswatch.debristracker.model.TleData;
+
+/**
+ * Canned element sets for the propagation tests: the ISS at 2024-05-29T12:00
+ * (element set 999) and its element set of the next day (1000).
+ */
+public final class TestTles {
+
+    public static final String ISS_LINE1 = "1 25544U 98067A   24150.50000000  .00016717  00000-0  10270-3 0  9992";
+    public static final String ISS_LINE2 = "2 25544  51.6400 208.9163 0006317  69.9862  25.2906 15.49815311 45678";
+    public static final String ISS_NEXT_LINE1 = "1 25544U 98067A   24151.50000000  .00016717  00000-0  10270-3 0 10007";
+    public static final String ISS_NEXT_LINE2 = "2 25544  51.6400 203.9163 0006317  69.9862  25.2906 15.49815311 45684";
+
+    private TestTles() {
+    }
+
+    public static TleData iss() {
+        return iss(999);
+    }
+
+    public static TleData iss(int elementSetNo) {
+        TleData tle = object(25544, ISS_LINE2);
+        tle.setObjectName("ISS (ZARYA)");
+        tle.setElementSetNo(elementSetNo);
+        return tle;
+    }
+
+    public static TleData issNext() {
+        TleData tle = iss(1000);
+        tle.setEpoch("2024-05-30T12:00:00");
+        tle.setTleLine1(ISS_NEXT_LINE1);
+        tle.setTleLine2(ISS_NEXT_LINE2);
+        return tle;
+    }
+
+    /**
+     * The ISS element set under another NORAD ID, with line 2 replaced (e.g. by
+     * garbage for a failing object).
+     */
+    public static TleData object(int noradId, String line2) {
+        TleData tle = new Satellite();
+        tle.setNoradCatId(noradId);
+        tle.setElementSetNo(999);
+        tle.setObjectName("OBJECT " + noradId);
+        tle.setEpoch("2024-05-29T12:00:00");
+        tle.setTleLine1(ISS_LINE1);
+        tle.setTleLine2(line2);
+        return tle;
+    }
+}
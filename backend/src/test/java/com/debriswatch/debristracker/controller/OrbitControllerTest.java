@@ -0,0 +1,259 @@
+package com.debriswatch.debristracker.controller;
+
+import com.debriswatch.debristracker.dto.BatchPredictionDto;
+import com.debriswatch.debristracker.dto.OrbitResponseDto;
+import com.debriswatch.debristracker.dto.PassPredictionDto;
+import com.debriswatch.debristracker.model.BinaryOrbitFormat;
+import com.debriswatch.debristracker.model.Debris;
+import com.debriswatch.debristracker.model.OrbitSnapshot;
+import com.debriswatch.debristracker.model.PositionBatch;
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.model.Trajectory;
+import com.debriswatch.debristracker.repository.TleRepository;
+import com.debriswatch.debristracker.service.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class OrbitControllerTest {
+
+    private OrbitService orbitService;
+    private TleRepository tleRepository;
+    private OrbitSnapshotService snapshotService;
+    private BatchPredictionService batchPredictionService;
+    private PassPredictionService passPredictionService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        orbitService = mock(OrbitService.class);
+        tleRepository = mock(TleRepository.class);
+        snapshotService = mock(OrbitSnapshotService.class);
+        batchPredictionService = mock(BatchPredictionService.class);
+        when(batchPredictionService.getMaxObjects()).thenReturn(1000);
+        passPredictionService = mock(PassPredictionService.class);
+        when(passPredictionService.getMaxStations()).thenReturn(50);
+        OrbitController controller = new OrbitController(orbitService, tleRepository, snapshotService,
+                mock(BatchPropagationService.class), mock(ConjunctionScreeningService.class),
+                mock(PositionStreamService.class), batchPredictionService, passPredictionService, 30, 100_000, 2_000_000);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        PositionBatch batch = new PositionBatch(Instant.ofEpochMilli(1_700_000_000_000L), 3);
+        for (int i = 0; i < 3; i++) {
+            batch.getNoradIds()[i] = 25544 + i;
+            batch.getLatitude()[i] = 10 * i;
+            batch.getLongitude()[i] = -20 * i;
+            batch.getAltitude()[i] = 400_000 + i;
+        }
+        batch.markFailed(1);
+        when(snapshotService.getSnapshot()).thenReturn(new OrbitSnapshot(batch, List.of(
+                new OrbitResponseDto("ISS", 0, 0, 400_000),
+                new OrbitResponseDto("OTHER", 20, -40, 400_002))));
+    }
+
+    @Test
+    void realtimeDefaultsToJson() throws Exception {
+        mockMvc.perform(get("/api/orbit/realtime"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(jsonPath("$[0].objectName").value("ISS"));
+
+        mockMvc.perform(get("/api/orbit/realtime").accept("*/*"))
+                .andExpect(content().contentTypeCompatibleWith("application/json"));
+    }
+
+    @Test
+    void realtimeBinaryHasHeaderAndColumns() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/orbit/realtime").accept(BinaryOrbitFormat.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryOrbitFormat.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ByteBuffer in = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals("SSOB", new String(body, 0, 4));
+        assertEquals(1, in.get(4));
+        assertEquals(BinaryOrbitFormat.KIND_POSITIONS, in.get(5));
+        assertEquals(2, in.getInt(8));
+        assertEquals(1_700_000_000_000L, in.getLong(16));
+        assertEquals(24 + 2 * 16, body.length);
+        // ids, then latitude, longitude, altitude columns; the failed row is skipped
+        assertEquals(25544, in.getInt(24));
+        assertEquals(25546, in.getInt(28));
+        assertEquals(20f, in.getFloat(36));
+        assertEquals(-40f, in.getFloat(44));
+        assertEquals(400_002f, in.getFloat(52));
+    }
+
+    @Test
+    void predictBinaryEncodesTrajectory() throws Exception {
+        TleData tle = new TleData();
+        when(tleRepository.findTopByObjectNameOrderByEpochSecondsDesc("ISS")).thenReturn(tle);
+        Trajectory trajectory = new Trajectory(Instant.ofEpochMilli(5000), 600, 2);
+        trajectory.add(1, 2, 3);
+        trajectory.add(4, 5, 6);
+        when(orbitService.predictTrajectory(tle, null, 86400.0, 600.0)).thenReturn(trajectory);
+
+        byte[] body = mockMvc.perform(get("/api/orbit/predict").param("objectName", "ISS")
+                        .accept(BinaryOrbitFormat.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ByteBuffer in = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(BinaryOrbitFormat.KIND_TRAJECTORY, in.get(5));
+        assertEquals(2, in.getInt(8));
+        assertEquals(600f, in.getFloat(12));
+        assertEquals(5000, in.getLong(16));
+        assertEquals(4f, in.getFloat(28));
+        assertEquals(6f, in.getFloat(44));
+        verify(orbitService, never()).predictOrbitForDays(any(), anyInt());
+    }
+
+    @Test
+    void predictPassesStartAndStepThrough() throws Exception {
+        TleData tle = new TleData();
+        when(tleRepository.findTopByObjectNameOrderByEpochSecondsDesc("ISS")).thenReturn(tle);
+        Instant start = Instant.parse("2024-06-01T00:00:00Z");
+        Trajectory trajectory = new Trajectory(start, 60, 1);
+        trajectory.add(1, 2, 3);
+        when(orbitService.predictTrajectory(tle, start, 5 * 86400.0, 60.0)).thenReturn(trajectory);
+
+        mockMvc.perform(get("/api/orbit/predict").param("objectName", "ISS").param("days", "5")
+                        .param("start", "2024-06-01T00:00:00Z").param("stepSeconds", "60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].altitude").value(3.0));
+    }
+
+    @Test
+    void predictRejectsWindowsBeyondConfiguredLimits() throws Exception {
+        mockMvc.perform(get("/api/orbit/predict").param("objectName", "ISS").param("days", "31")
+                        .accept(BinaryOrbitFormat.MEDIA_TYPE))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orbit/predict").param("objectName", "ISS").param("days", "30")
+                        .param("stepSeconds", "1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void predictStreamWritesJsonArrayAsPointsArrive() throws Exception {
+        TleData tle = new TleData();
+        when(tleRepository.findTopByObjectNameOrderByEpochSecondsDesc("ISS")).thenReturn(tle);
+        when(orbitService.streamTrajectory(eq(tle), isNull(), eq(2 * 86400.0), eq(600.0), eq(90), any()))
+                .thenAnswer(i -> {
+                    OrbitService.TrajectorySink sink = i.getArgument(5);
+                    sink.accept(Instant.parse("2024-06-01T00:00:00Z"), 1, 2, 3);
+                    sink.accept(Instant.parse("2024-06-01T00:01:00Z"), 4, 5, 6);
+                    return 2;
+                });
+
+        MvcResult started = mockMvc.perform(get("/api/orbit/predict/stream").param("objectName", "ISS")
+                        .param("days", "2").param("adaptive", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].time").value("2024-06-01T00:01:00Z"))
+                .andExpect(jsonPath("$[1].altitude").value(6.0));
+    }
+
+    @Test
+    void batchPredictionUsesOneLookupAndReportsMissingIds() throws Exception {
+        TleData iss = new TleData();
+        iss.setNoradCatId(25544);
+        List<TleData> found = List.of(iss);
+        when(batchPredictionService.findLatest(List.of(25544, 99999))).thenReturn(found);
+        Instant start = Instant.parse("2024-06-01T00:00:00Z");
+        when(batchPredictionService.predict(found, start, 30.0, 241)).thenReturn(new BatchPredictionDto(
+                start.toString(), 30, 241,
+                List.of(new BatchPredictionDto.Track(25544, "ISS", "PAYLOAD",
+                        new double[] {1}, new double[] {2}, new double[] {3})),
+                new ArrayList<>()));
+
+        mockMvc.perform(post("/api/orbit/predict/batch").contentType("application/json")
+                        .content("{\"noradIds\":[25544,99999],\"start\":\"2024-06-01T00:00:00Z\",\"hours\":2,\"stepSeconds\":30}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.steps").value(241))
+                .andExpect(jsonPath("$.tracks[0].altitude[0]").value(3.0))
+                .andExpect(jsonPath("$.notFound[0]").value(99999));
+    }
+
+    @Test
+    void batchPredictionValidatesTheRequest() throws Exception {
+        // neither ids nor type, both, unknown type, window too long
+        for (String body : List.of("{}", "{\"noradIds\":[1],\"type\":\"DEBRIS\"}", "{\"type\":\"PAYLOAD\"}",
+                "{\"type\":\"DEBRIS\",\"hours\":1000}")) {
+            mockMvc.perform(post("/api/orbit/predict/batch").contentType("application/json").content(body))
+                    .andExpect(status().isBadRequest());
+        }
+        verify(batchPredictionService, never()).predict(any(), any(), anyDouble(), anyInt());
+    }
+
+    @Test
+    void passesPredictsOverRequestedStations() throws Exception {
+        TleData iss = new TleData();
+        iss.setNoradCatId(25544);
+        when(batchPredictionService.findLatest(List.of(25544, 99999))).thenReturn(List.of(iss));
+        when(passPredictionService.predict(eq(List.of(iss)), argThat(stations -> stations.size() == 1
+                        && stations.get(0).getMinElevation() == 10), eq(Instant.parse("2024-06-01T00:00:00Z")),
+                eq(30.0), eq(241)))
+                .thenReturn(new PassPredictionDto("2024-06-01T00:00:00Z", "2024-06-01T02:00:00Z",
+                        new ArrayList<>(List.of(new PassPredictionDto.Pass(25544, "ISS", "Rabat",
+                                "2024-06-01T00:10:00Z", "2024-06-01T00:20:00Z", "2024-06-01T00:15:00Z", 45, 600))),
+                        new ArrayList<>()));
+
+        mockMvc.perform(post("/api/orbit/passes").contentType("application/json")
+                        .content("{\"noradIds\":[25544,99999],\"start\":\"2024-06-01T00:00:00Z\",\"hours\":2,"
+                                + "\"stations\":[{\"name\":\"Rabat\",\"latitude\":34.02,\"longitude\":-6.84}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.passes[0].station").value("Rabat"))
+                .andExpect(jsonPath("$.passes[0].maxElevation").value(45.0))
+                .andExpect(jsonPath("$.notFound[0]").value(99999));
+    }
+
+    @Test
+    void passesByTypeTakesAsManyObjectsAsFitTheBatchLimit() throws Exception {
+        List<TleData> debris = List.of(new Debris());
+        // default 24 h at 30 s = 2881 steps, 2,000,000 points leave room for 694 objects
+        when(batchPredictionService.findLatest(Debris.class, 694)).thenReturn(debris);
+        when(passPredictionService.predict(eq(debris), any(), any(), eq(30.0), eq(2881)))
+                .thenReturn(new PassPredictionDto("2024-06-01T00:00:00Z", "2024-06-02T00:00:00Z",
+                        new ArrayList<>(), new ArrayList<>()));
+
+        mockMvc.perform(post("/api/orbit/passes").contentType("application/json")
+                        .content("{\"type\":\"DEBRIS\",\"stations\":[{\"name\":\"Rabat\",\"latitude\":34.02,\"longitude\":-6.84}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notFound").isEmpty());
+        verify(batchPredictionService).findLatest(Debris.class, 694);
+    }
+
+    @Test
+    void passesValidatesTheRequest() throws Exception {
+        String station = "\"stations\":[{\"latitude\":34,\"longitude\":-6}]";
+        // no stations, neither ids nor type, bad latitude, mask at the zenith, window too long
+        for (String body : List.of("{\"noradIds\":[1]}", "{" + station + "}",
+                "{\"noradIds\":[1],\"stations\":[{\"latitude\":95}]}",
+                "{\"noradIds\":[1],\"stations\":[{\"minElevation\":90}]}",
+                "{\"type\":\"DEBRIS\",\"hours\":1000," + station + "}")) {
+            mockMvc.perform(post("/api/orbit/passes").contentType("application/json").content(body))
+                    .andExpect(status().isBadRequest());
+        }
+        verify(passPredictionService, never()).predict(any(), any(), any(), anyDouble(), anyInt());
+    }
+}
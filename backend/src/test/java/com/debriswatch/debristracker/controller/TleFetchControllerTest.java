@@ -0,0 +1,60 @@
+package com.debriswatch.debristracker.controller;
+
+import com.debriswatch.debristracker.service.OrbitSnapshotService;
+import com.debriswatch.debristracker.service.TleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class TleFetchControllerTest {
+
+    @Mock private TleService tleService;
+    @Mock private OrbitSnapshotService snapshotService;
+    @InjectMocks private TleFetchController controller;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    private ResultActions fetch() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/tle/fetch"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
+    @Test
+    void successfulFetchReloadsTheCatalog() throws Exception {
+        when(tleService.fetchAndProcessTleDataAsync()).thenReturn(CompletableFuture.completedFuture(true));
+
+        fetch().andExpect(status().isOk());
+
+        verify(snapshotService).reloadCatalog();
+    }
+
+    @Test
+    void failedFetchIsABadGateway() throws Exception {
+        when(tleService.fetchAndProcessTleDataAsync()).thenReturn(CompletableFuture.completedFuture(false));
+
+        fetch().andExpect(status().isBadGateway());
+
+        verifyNoInteractions(snapshotService);
+    }
+}
@@ -0,0 +1,126 @@
+package com.debriswatch.debristracker.fetcher;
+
+import com.debriswatch.debristracker.OrekitTestData;
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.service.TleIngestService;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LocalTleFileFetcherTest {
+
+    private static final String ISS_1 = "1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927";
+    private static final String ISS_2 = "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537";
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    static void loadOrekitData() {
+        OrekitTestData.load();
+    }
+
+    private static List<TleData> parseText(String text, int batchSize, List<List<TleData>> batches) {
+        TleTextParser.parse(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)), batchSize, batches::add);
+        return batches.stream().flatMap(List::stream).toList();
+    }
+
+    @Test
+    void textParser_readsThreeLineRecords() {
+        List<TleData> parsed = parseText("0 ISS (ZARYA)\r\n" + ISS_1 + "\r\n" + ISS_2 + "\r\n", 10, new ArrayList<>());
+
+        assertEquals(1, parsed.size());
+        TleData iss = parsed.get(0);
+        assertEquals(25544, iss.getNoradCatId());
+        assertEquals("ISS (ZARYA)", iss.getObjectName());
+        assertEquals("0 ISS (ZARYA)", iss.getTleLine0());
+        assertEquals("1998-067A", iss.getObjectId());
+        assertEquals("2008-09-20T12:25:40.104192", iss.getEpoch());
+        assertEquals(292, iss.getElementSetNo());
+        assertEquals(-0.11606e-4, iss.getBstar(), 1e-12);
+        assertEquals(0.0006703, iss.getEccentricity(), 1e-12);
+        assertEquals(15.72125391, iss.getMeanMotion(), 1e-9);
+        assertEquals(56353, iss.getRevAtEpoch());
+        assertEquals(ISS_1, iss.getTleLine1());
+        assertTrue(iss.getPerigee() > 300 && iss.getApogee() < 400);
+    }
+
+    @Test
+    void textParser_readsTwoLineRecordsAndSkipsBadChecksums() {
+        String badChecksum = ISS_2.substring(0, 68) + "0";
+        String text = ISS_1 + "\n" + ISS_2 + "\n"
+                + "COSMOS 2251 DEB\n" + ISS_1 + "\n" + badChecksum + "\n"
+                + "SL-16 R/B\n" + ISS_1 + "\n" + ISS_2 + "\n";
+        List<List<TleData>> batches = new ArrayList<>();
+
+        List<TleData> parsed = parseText(text, 1, batches);
+
+        assertEquals(2, batches.size());
+        assertEquals("25544", parsed.get(0).getObjectName());
+        assertEquals("UNKNOWN", parsed.get(0).getObjectType());
+        assertEquals("ROCKET BODY", parsed.get(1).getObjectType());
+    }
+
+    @Test
+    void textParser_decodesFieldFormats() {
+        assertEquals(25544, TleTextParser.catalogNumber("25544"));
+        assertEquals(100000, TleTextParser.catalogNumber("A0000"));
+        assertEquals(189999, TleTextParser.catalogNumber("J9999"));
+        assertEquals(0.10270e-3, TleTextParser.exponent(" 10270-3"), 1e-15);
+        assertEquals(-0.11606e-4, TleTextParser.exponent("-11606-4"), 1e-15);
+        assertEquals(0, TleTextParser.exponent(" 00000-0"));
+    }
+
+    @Test
+    void csvParser_formatsLinesFromMeanElements() throws Exception {
+        String csv = "OBJECT_NAME,OBJECT_ID,EPOCH,MEAN_MOTION,ECCENTRICITY,INCLINATION,RA_OF_ASC_NODE,"
+                + "ARG_OF_PERICENTER,MEAN_ANOMALY,EPHEMERIS_TYPE,CLASSIFICATION_TYPE,NORAD_CAT_ID,ELEMENT_SET_NO,"
+                + "REV_AT_EPOCH,BSTAR,MEAN_MOTION_DOT,MEAN_MOTION_DDOT\n"
+                + "\"ISS (ZARYA)\",1998-067A,2008-09-20T12:25:40.104192,15.72125391,.0006703,51.6416,247.4627,"
+                + "130.5360,325.0288,0,U,25544,292,56353,-.11606E-4,-.00002182,0\n"
+                + "BROKEN,,not-a-date,,,,,,,,,1,,,,,\n";
+        List<TleData> parsed = new ArrayList<>();
+
+        int count = OmmCsvParser.parse(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), 10, parsed::addAll);
+
+        assertEquals(1, count);
+        TleData iss = parsed.get(0);
+        assertEquals("ISS (ZARYA)", iss.getObjectName());
+        assertEquals(ISS_1, iss.getTleLine1());
+        assertEquals(ISS_2, iss.getTleLine2());
+        assertEquals(iss.getTleLine2(), TleTextParser.toTleData(null, iss.getTleLine1(), iss.getTleLine2()).getTleLine2());
+    }
+
+    @Test
+    void csvParser_splitsQuotedFields() {
+        assertEquals(List.of("a", "b, \"c\"", ""), OmmCsvParser.split("a,\"b, \"\"c\"\"\","));
+    }
+
+    @Test
+    void forFile_mapsTextFileAndStoresBatches() throws Exception {
+        Path file = Files.writeString(dir.resolve("catalog.3le"), "0 ISS (ZARYA)\n" + ISS_1 + "\n" + ISS_2 + "\n");
+        TleIngestService ingest = mock(TleIngestService.class);
+
+        LocalTleFileFetcher fetcher = LocalTleFileFetcher.forFile(file, ingest, 100);
+        assertInstanceOf(TleTextFileFetcher.class, fetcher);
+        fetcher.fetchAndProcess();
+
+        verify(ingest).store(argThat(stored -> stored.size() == 1 && stored.get(0).getNoradCatId() == 25544));
+        verify(ingest).recordParseTime(eq("file"), anyLong());
+        assertInstanceOf(OmmCsvFileFetcher.class, LocalTleFileFetcher.forFile(dir.resolve("gp.CSV"), ingest, 100));
+        assertEquals(LocalTleFileFetcher.class, LocalTleFileFetcher.forFile(dir.resolve("tle.json"), ingest, 100).getClass());
+        assertNull(LocalTleFileFetcher.forFile(dir.resolve("notes.md"), ingest, 100));
+    }
+}
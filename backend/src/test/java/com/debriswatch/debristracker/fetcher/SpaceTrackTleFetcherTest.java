@@ -1,29 +1,36 @@
 package com.debriswatch.debristracker.fetcher;
 
-import com.debriswatch.debristracker.Factory.TleObjectFactory;
-import com.debriswatch.debristracker.model.Debris;
 import com.debriswatch.debristracker.model.TleData;
-import com.debriswatch.debristracker.repository.*;
+import com.debriswatch.debristracker.service.TleIngestService;
 
 import io.github.cdimascio.dotenv.Dotenv;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class SpaceTrackTleFetcherTest {
 
-    @Mock private SatelliteRepository satelliteRepo;
-    @Mock private DebrisRepository debrisRepo;
-    @Mock private RocketBodyRepository rocketRepo;
-    @Mock private TleRepository tleRepo;
-    @Mock private TleObjectFactory tleObjectFactory;
+    @Mock private TleIngestService ingestService;
     @Mock private Dotenv dotenv;
 
     @InjectMocks private SpaceTrackTleFetcher fetcher;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setup() {
@@ -33,44 +40,120 @@ class SpaceTrackTleFetcherTest {
         when(dotenv.get("SPACE_TRACK_PASSWORD")).thenReturn("fake_pass");
 
         // Spy and override HTTP methods to avoid real requests
-        fetcher = spy(new SpaceTrackTleFetcher(dotenv));
+        meterRegistry = new SimpleMeterRegistry();
+        fetcher = spy(new SpaceTrackTleFetcher(dotenv, meterRegistry));
 
-        fetcher.tleRepo = tleRepo;
-        fetcher.debrisRepo = debrisRepo;
-        fetcher.rocketRepo = rocketRepo;
-        fetcher.satelliteRepo = satelliteRepo;
-        fetcher.tleObjectFactory = tleObjectFactory;
+        fetcher.ingestService = ingestService;
     }
 
     @Test
-    void testSaveTleData_savesDebris() {
-        TleData tle = mock(TleData.class);
-        when(tle.getObjectType()).thenReturn("DEBRIS");
-        Debris mockDebris = new Debris();
-        when(tleObjectFactory.create(tle)).thenReturn(mockDebris);
+    void testSaveTleData_delegatesToIngestService() {
+        TleData tle = new TleData();
 
         fetcher.saveTleData(List.of(tle));
 
-        verify(tleRepo).saveAll(any());
-        verify(debrisRepo).save(mockDebris);
-        verify(rocketRepo, never()).save(any());
-        verify(satelliteRepo, never()).save(any());
+        verify(ingestService).store(List.of(tle));
     }
 
     @Test
     void testFetchAndProcess_usesOverriddenFlow() throws Exception {
         // Simulate flow by overriding methods
         doNothing().when(fetcher).authenticate();
-        doReturn("[{\"OBJECT_TYPE\": \"DEBRIS\", \"OBJECT_NAME\": \"TEST\", \"NORAD_CAT_ID\": 12345}]")
-                .when(fetcher).fetchRawData();
-
-        TleData fakeParsed = new TleData();
-        fakeParsed.setObjectType("DEBRIS");
-        when(tleObjectFactory.create(any())).thenReturn(new Debris(fakeParsed));
+        doReturn(json("[{\"OBJECT_TYPE\": \"DEBRIS\", \"OBJECT_NAME\": \"TEST\", \"NORAD_CAT_ID\": 12345}]"))
+                .when(fetcher).openRawData();
 
         fetcher.fetchAndProcess();
 
-        verify(tleRepo).saveAll(any());
-        verify(debrisRepo).save(any());
+        verify(ingestService).store(argThat(saved -> saved.size() == 1 && saved.get(0).getNoradCatId() == 12345));
+        verify(ingestService).recordParseTime(eq("space-track"), anyLong());
+    }
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testParseTleStream_handsOffFixedSizeBatches() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 5; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"NORAD_CAT_ID\": ").append(100 + i).append(", \"UNKNOWN\": [1, 2]}");
+        }
+        body.append("]");
+
+        List<List<TleData>> batches = new ArrayList<>();
+        fetcher.parseTleStream(json(body.toString()), 2, batches::add);
+
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        assertEquals(104, batches.get(2).get(0).getNoradCatId());
+    }
+
+    @Test
+    void testParseTleStream_rejectsNonArrayBody() {
+        assertThrows(IOException.class,
+                () -> fetcher.parseTleStream(json("{\"error\": \"login failed\"}"), 10, batch -> fail()));
+    }
+
+    @Test
+    void testParseTleJson_stillReadsWholeArray() throws Exception {
+        List<TleData> parsed = fetcher.parseTleJson(
+                "[{\"NORAD_CAT_ID\": 1, \"EPOCH\": \"2024-05-29T12:00:00.500000\"}, {\"NORAD_CAT_ID\": 2}]");
+
+        assertEquals(2, parsed.size());
+        // the epoch is parsed once on ingest
+        assertEquals(1716984000.5, parsed.get(0).getEpochSeconds(), 1e-6);
+        assertTrue(Double.isNaN(parsed.get(1).getEpochSeconds()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<InputStream> response(int status, String body) {
+        HttpResponse<InputStream> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        when(response.body()).thenReturn(json(body));
+        return response;
+    }
+
+    private HttpClient retryingClient() {
+        HttpClient client = mock(HttpClient.class);
+        fetcher.client = client;
+        fetcher.maxAttempts = 3;
+        fetcher.backoffMs = 1;
+        return client;
+    }
+
+    @Test
+    void testOpenRawData_retriesConnectionFailure() throws Exception {
+        HttpClient client = retryingClient();
+        doReturn(CompletableFuture.failedFuture(new IOException("connection reset")),
+                CompletableFuture.completedFuture(response(200, "[]")))
+                .when(client).sendAsync(any(), any());
+
+        try (InputStream body = fetcher.openRawData()) {
+            assertEquals("[]", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        verify(client, times(2)).sendAsync(any(), any());
+    }
+
+    @Test
+    void testOpenRawData_retriesServerErrorsThenGivesUp() {
+        HttpClient client = retryingClient();
+        doReturn(CompletableFuture.completedFuture(response(503, "busy")))
+                .when(client).sendAsync(any(), any());
+
+        IOException error = assertThrows(IOException.class, () -> fetcher.openRawData());
+        assertTrue(error.getMessage().contains("503"));
+        verify(client, times(3)).sendAsync(any(), any());
+        assertEquals(2, meterRegistry.get("tle.http.retries").counter().count());
+        assertEquals(3, meterRegistry.get("tle.http.request").tag("outcome", "503").timer().count());
+    }
+
+    @Test
+    void testSendWithRetry_doesNotRetryClientErrors() throws Exception {
+        HttpClient client = retryingClient();
+        doReturn(CompletableFuture.completedFuture(response(401, "")))
+                .when(client).sendAsync(any(), any());
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("https://www.space-track.org/ajaxauth/login")).build();
+        assertEquals(401, fetcher.sendWithRetry(request, HttpResponse.BodyHandlers.ofInputStream()).get().statusCode());
+        verify(client, times(1)).sendAsync(any(), any());
     }
 }
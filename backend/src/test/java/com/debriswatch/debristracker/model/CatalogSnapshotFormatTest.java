@@ -0,0 +1,86 @@
+package com.debriswatch.debristracker.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotFormatTest {
+
+    private static TleData tle(int noradId, String name, String type) {
+        TleData tle = new TleData();
+        tle.setNoradCatId(noradId);
+        tle.setElementSetNo(999);
+        tle.setObjectName(name);
+        tle.setObjectType(type);
+        tle.setEpoch("2024-05-29T12:00:00.500000");
+        tle.setMeanMotion(15.5);
+        tle.setBstar(1.2e-4);
+        tle.setTleLine1("1 " + noradId);
+        return tle;
+    }
+
+    private static CatalogStore catalog() {
+        return CatalogStore.from(List.of(tle(25544, "ISS (ZARYA)", "PAYLOAD"), tle(34454, "COSMOS 2251 DEB", "DEBRIS")));
+    }
+
+    private static PositionBatch positions(CatalogStore catalog) {
+        PositionBatch batch = new PositionBatch(Instant.ofEpochMilli(1_716_984_000_500L), catalog.getSize());
+        for (int i = 0; i < catalog.getSize(); i++) {
+            batch.getNoradIds()[i] = catalog.getNoradIds()[i];
+            batch.getX()[i] = 1000.0 * i;
+            batch.getAltitude()[i] = 400_000 + i;
+        }
+        batch.markFailed(1);
+        return batch;
+    }
+
+    @Test
+    void roundTripsCatalogAndPositions() {
+        CatalogStore catalog = catalog();
+        Instant loadedAt = Instant.parse("2024-05-29T13:00:00Z");
+
+        CatalogSnapshotFormat.Contents decoded =
+                CatalogSnapshotFormat.decode(CatalogSnapshotFormat.encode(catalog, loadedAt, positions(catalog)));
+
+        CatalogStore restored = decoded.catalog();
+        assertEquals(2, restored.getSize());
+        int iss = restored.rowOf(25544);
+        assertEquals("ISS (ZARYA)", restored.getObjectNames()[iss]);
+        assertEquals("1 25544", restored.getTleLine1()[iss]);
+        assertNull(restored.getTleLine2()[iss]);
+        assertEquals(1716984000.5, restored.getEpochSeconds()[iss], 1e-6);
+        assertEquals(1.2e-4, restored.getBstar()[iss]);
+        assertEquals(999, restored.getElementSetNo()[iss]);
+        assertEquals("DEBRIS", restored.getObjectType(restored.rowOf(34454)));
+        assertEquals(loadedAt, decoded.catalogLoadedAt());
+
+        PositionBatch batch = decoded.positions();
+        assertEquals(Instant.ofEpochMilli(1_716_984_000_500L), batch.getEpoch());
+        assertArrayEquals(restored.getNoradIds(), batch.getNoradIds());
+        assertEquals(400_000, batch.getAltitude()[0]);
+        assertFalse(batch.isValid(1));
+    }
+
+    @Test
+    void dropsPositionsOfAnotherCatalog() {
+        CatalogStore catalog = catalog();
+        PositionBatch stale = new PositionBatch(Instant.now(), 1);
+
+        CatalogSnapshotFormat.Contents decoded =
+                CatalogSnapshotFormat.decode(CatalogSnapshotFormat.encode(catalog, null, stale));
+
+        assertNull(decoded.positions());
+        assertNull(decoded.catalogLoadedAt());
+        assertEquals(2, decoded.catalog().getSize());
+    }
+
+    @Test
+    void rejectsOtherFiles() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CatalogSnapshotFormat.decode(ByteBuffer.wrap("not a snapshot at all, just some text".getBytes())));
+    }
+}
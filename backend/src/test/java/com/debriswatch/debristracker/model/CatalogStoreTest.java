@@ -0,0 +1,72 @@
+package com.debriswatch.debristracker.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogStoreTest {
+
+    private static TleData tle(int noradId, String name, String type, String epoch) {
+        TleData tle = new TleData();
+        tle.setNoradCatId(noradId);
+        tle.setObjectName(name);
+        tle.setObjectType(type);
+        tle.setEpoch(epoch);
+        tle.setMeanMotion(15.5);
+        tle.setEccentricity(0.0006);
+        tle.setApogee(420);
+        tle.setPerigee(410);
+        return tle;
+    }
+
+    @Test
+    void buildsColumnsIndexedByNoradId() {
+        CatalogStore store = CatalogStore.from(List.of(
+                tle(25544, "ISS (ZARYA)", "PAYLOAD", "2024-05-29T12:00:00.500000"),
+                tle(22285, "SL-16 R/B", "ROCKET BODY", "2024-05-28T00:00:00"),
+                tle(34454, "COSMOS 2251 DEB", "debris", "2024-05-27T00:00:00")));
+
+        assertEquals(3, store.getSize());
+        int iss = store.rowOf(25544);
+        assertEquals("ISS (ZARYA)", store.getObjectNames()[iss]);
+        assertEquals(15.5, store.getMeanMotion()[iss]);
+        assertEquals(1716984000.5, store.getEpochSeconds()[iss], 1e-6);
+        assertEquals("SATELLITE", store.getObjectType(iss));
+        assertEquals("ROCKET BODY", store.getObjectType(store.rowOf(22285)));
+        assertEquals("DEBRIS", store.getObjectType(store.rowOf(34454)));
+        assertEquals(-1, store.rowOf(1));
+    }
+
+    @Test
+    void firstOccurrenceOfNoradIdWins() {
+        CatalogStore store = CatalogStore.from(List.of(
+                tle(25544, "NEWEST", "PAYLOAD", "2024-05-29T12:00:00"),
+                tle(25544, "OLDER", "PAYLOAD", "2024-05-28T12:00:00")));
+
+        assertEquals(1, store.getSize());
+        assertEquals("NEWEST", store.getObjectNames()[store.rowOf(25544)]);
+    }
+
+    @Test
+    void malformedEpochIsNaN() {
+        CatalogStore store = CatalogStore.from(List.of(tle(1, "X", "DEBRIS", "yesterday")));
+
+        assertTrue(Double.isNaN(store.getEpochSeconds()[0]));
+    }
+
+    @Test
+    void indexMapHandlesCollisionsAndManyKeys() {
+        IntIndexMap map = new IntIndexMap(40_000);
+        for (int i = 0; i < 40_000; i++) {
+            assertTrue(map.putIfAbsent(i * 16, i));
+        }
+        assertFalse(map.putIfAbsent(16, 99));
+
+        assertEquals(40_000, map.size());
+        assertEquals(1, map.get(16));
+        assertEquals(39_999, map.get(39_999 * 16));
+        assertEquals(-1, map.get(17));
+    }
+}
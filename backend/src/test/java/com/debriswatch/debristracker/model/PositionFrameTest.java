@@ -0,0 +1,65 @@
+package com.debriswatch.debristracker.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionFrameTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private static PositionBatch batch(Instant epoch, double... latitudes) {
+        PositionBatch batch = new PositionBatch(epoch, latitudes.length);
+        for (int i = 0; i < latitudes.length; i++) {
+            batch.getNoradIds()[i] = 100 + i;
+            batch.getLatitude()[i] = latitudes[i];
+            batch.getLongitude()[i] = -120.123456;
+            batch.getAltitude()[i] = 408_123.6;
+        }
+        return batch;
+    }
+
+    @Test
+    void quantizesValidPositionsOnly() {
+        PositionBatch batch = batch(Instant.ofEpochMilli(1000), 51.5, 10.0, -3.25);
+        batch.markFailed(1);
+
+        PositionFrame frame = PositionFrame.quantize(batch);
+
+        assertArrayEquals(new int[] {100, 102}, frame.getIds());
+        assertArrayEquals(new int[] {5_150_000, -325_000}, frame.getLatitude());
+        assertEquals(-12_012_346, frame.getLongitude()[0]);
+        assertEquals(408_124, frame.getAltitude()[0]);
+    }
+
+    @Test
+    void keyframePlusDeltaRebuildsNextFrame() throws Exception {
+        PositionFrame first = PositionFrame.quantize(batch(Instant.ofEpochMilli(1000), 51.5, 10.0));
+        PositionFrame second = PositionFrame.quantize(batch(Instant.ofEpochMilli(6000), 51.6, 9.7));
+
+        JsonNode key = mapper.readTree(first.toKeyframeJson());
+        JsonNode delta = mapper.readTree(second.toDeltaJson(first));
+
+        assertEquals(1000, key.get("t").asLong());
+        assertEquals(6000, delta.get("t").asLong());
+        assertFalse(delta.has("ids"));
+        for (int i = 0; i < 2; i++) {
+            int rebuilt = key.get("lat").get(i).asInt() + delta.get("lat").get(i).asInt();
+            assertEquals(second.getLatitude()[i], rebuilt);
+            assertEquals(0, delta.get("alt").get(i).asInt());
+        }
+    }
+
+    @Test
+    void deltaRequiresSameObjects() {
+        PositionFrame first = PositionFrame.quantize(batch(Instant.ofEpochMilli(1000), 51.5, 10.0));
+        PositionFrame fewer = PositionFrame.quantize(batch(Instant.ofEpochMilli(6000), 51.6));
+
+        assertFalse(fewer.hasSameIds(first));
+        assertThrows(IllegalArgumentException.class, () -> fewer.toDeltaJson(first));
+    }
+}
@@ -0,0 +1,101 @@
+package com.debriswatch.debristracker.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionIndexTest {
+
+    private static final int SIZE = 5000;
+
+    private PositionBatch batch;
+    private PositionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        batch = new PositionBatch(Instant.now(), SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            double latitude = Math.toDegrees(Math.asin(2 * random.nextDouble() - 1));
+            double longitude = 360 * random.nextDouble() - 180;
+            double altitude = random.nextDouble() < 0.9 ? 300_000 + 1_700_000 * random.nextDouble() : 35_786_000;
+            double r = 6_371_000 + altitude;
+            batch.getNoradIds()[i] = 10_000 + i;
+            batch.getLatitude()[i] = latitude;
+            batch.getLongitude()[i] = longitude;
+            batch.getAltitude()[i] = altitude;
+            batch.getX()[i] = r * Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(longitude));
+            batch.getY()[i] = r * Math.cos(Math.toRadians(latitude)) * Math.sin(Math.toRadians(longitude));
+            batch.getZ()[i] = r * Math.sin(Math.toRadians(latitude));
+        }
+        batch.markFailed(7);
+        index = PositionIndex.build(batch, PositionIndex.DEFAULT_CELL_SIZE_METERS);
+    }
+
+    private List<Integer> bruteForce(IntPredicate matches) {
+        return IntStream.range(0, SIZE).filter(i -> batch.isValid(i) && matches.test(i)).boxed().toList();
+    }
+
+    private static List<Integer> sorted(List<Integer> rows) {
+        List<Integer> copy = new ArrayList<>(rows);
+        copy.sort(null);
+        return copy;
+    }
+
+    @Test
+    void boxMatchesFullScanAcrossTheAntimeridian() {
+        List<Integer> found = new ArrayList<>();
+        index.forEachInBox(-10.5, 25.25, 170.5, -160.5, found::add);
+
+        List<Integer> expected = bruteForce(i -> batch.getLatitude()[i] >= -10.5 && batch.getLatitude()[i] <= 25.25
+                && (batch.getLongitude()[i] >= 170.5 || batch.getLongitude()[i] <= -160.5));
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, sorted(found));
+    }
+
+    @Test
+    void groundRadiusMatchesFullScanNearThePole() {
+        for (double[] point : new double[][] {{34.02, -6.84, 2_000_000}, {88, 100, 1_500_000}, {0, 179.5, 800_000}}) {
+            List<Integer> found = new ArrayList<>();
+            index.forEachNearGround(point[0], point[1], point[2], found::add);
+
+            List<Integer> expected = bruteForce(i -> PositionIndex.groundDistance(point[0], point[1],
+                    batch.getLatitude()[i], batch.getLongitude()[i]) <= point[2]);
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, sorted(found));
+        }
+    }
+
+    @Test
+    void shellMatchesFullScan() {
+        List<Integer> found = new ArrayList<>();
+        index.forEachInShell(500_000, 600_000, found::add);
+
+        assertEquals(bruteForce(i -> batch.getAltitude()[i] >= 500_000 && batch.getAltitude()[i] <= 600_000), sorted(found));
+        assertFalse(found.isEmpty());
+        assertTrue(found.stream().noneMatch(i -> i == 7));
+    }
+
+    @Test
+    void nearestMatchesFullScanInLeoAndGeo() {
+        int leo = IntStream.range(0, SIZE).filter(i -> batch.getAltitude()[i] < 1_000_000).findFirst().orElseThrow();
+        int geo = IntStream.range(0, SIZE).filter(i -> batch.getAltitude()[i] > 30_000_000).findFirst().orElseThrow();
+        for (int row : new int[] {leo, geo}) {
+            int[] nearest = index.nearest(row, 5);
+
+            List<Integer> expected = bruteForce(i -> i != row).stream()
+                    .sorted(Comparator.comparingDouble(i -> index.distance(row, i))).limit(5).toList();
+            assertEquals(expected, IntStream.of(nearest).boxed().toList());
+        }
+        assertEquals(0, index.nearest(7, 5).length);
+    }
+}
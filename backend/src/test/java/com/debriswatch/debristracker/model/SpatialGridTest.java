@@ -0,0 +1,78 @@
+package com.debriswatch.debristracker.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialGridTest {
+
+    private static double[] random(Random random, int size, double extent) {
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = (random.nextDouble() * 2 - 1) * extent;
+        }
+        return values;
+    }
+
+    @Test
+    void pairScanMatchesBruteForce() {
+        Random random = new Random(42);
+        int size = 2000;
+        double[] x = random(random, size, 1000);
+        double[] y = random(random, size, 1000);
+        double[] z = random(random, size, 1000);
+        x[7] = Double.NaN;
+
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                double d = Math.sqrt(Math.pow(x[i] - x[j], 2) + Math.pow(y[i] - y[j], 2) + Math.pow(z[i] - z[j], 2));
+                if (d <= 60) {
+                    expected.add(((long) i << 32) | j);
+                }
+            }
+        }
+
+        SpatialGrid grid = SpatialGrid.build(x, y, z, size, 75);
+        Set<Long> found = new HashSet<>();
+        grid.forEachPairWithin(60, (i, j, distance) -> {
+            assertTrue(i < j);
+            assertTrue(distance <= 60);
+            assertTrue(found.add(((long) i << 32) | j), "pair visited twice");
+        });
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, found);
+    }
+
+    @Test
+    void radiusQueryMatchesBruteForce() {
+        Random random = new Random(7);
+        int size = 1000;
+        double[] x = random(random, size, 500);
+        double[] y = random(random, size, 500);
+        double[] z = random(random, size, 500);
+
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            if (Math.sqrt(Math.pow(x[i] - 10, 2) + Math.pow(y[i] + 20, 2) + Math.pow(z[i], 2)) <= 180) {
+                expected.add(i);
+            }
+        }
+
+        Set<Integer> found = new HashSet<>();
+        SpatialGrid.build(x, y, z, size, 50).forEachWithin(10, -20, 0, 180, found::add);
+
+        assertEquals(expected, found);
+    }
+
+    @Test
+    void rejectsSearchDistanceLargerThanCells() {
+        SpatialGrid grid = SpatialGrid.build(new double[1], new double[1], new double[1], 1, 10);
+        assertThrows(IllegalArgumentException.class, () -> grid.forEachPairWithin(11, (i, j, d) -> { }));
+    }
+}
@@ -0,0 +1,88 @@
+package com.debriswatch.debristracker.service;
+
+import com.debriswatch.debristracker.PropagationFixture;
+import com.debriswatch.debristracker.dto.BatchPredictionDto;
+import com.debriswatch.debristracker.model.Debris;
+import com.debriswatch.debristracker.model.RocketBody;
+import com.debriswatch.debristracker.model.Satellite;
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.model.Trajectory;
+import com.debriswatch.debristracker.repository.TleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static com.debriswatch.debristracker.TestTles.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BatchPredictionServiceTest {
+
+    private TleRepository tleRepository;
+    private PropagationFixture fixture;
+    private OrbitService orbitService;
+    private BatchPredictionService service;
+
+    @BeforeEach
+    void setUp() {
+        tleRepository = mock(TleRepository.class);
+        fixture = new PropagationFixture(tleRepository);
+        orbitService = fixture.orbitService();
+        service = new BatchPredictionService(tleRepository, fixture.ephemerisCache(), fixture.earthModel(),
+                fixture.batchPropagationService(), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.close();
+    }
+
+    @Test
+    void tracksMatchSingleObjectPrediction() {
+        Instant start = Instant.parse("2024-06-01T00:00:00Z");
+        TleData iss = object(25544, ISS_LINE2);
+
+        BatchPredictionDto result = service.predict(List.of(iss, object(7, "garbage")), start, 60, 121);
+
+        assertEquals(start.toString(), result.getStart());
+        assertEquals(121, result.getSteps());
+        BatchPredictionDto.Track track = result.getTracks().get(0);
+        assertEquals(25544, track.getNoradId());
+        assertEquals(121, track.getLatitude().length);
+
+        Trajectory single = orbitService.predictTrajectory(iss, start, 7200, 60);
+        for (int i = 0; i < 121; i++) {
+            assertEquals(single.getLatitude()[i], track.getLatitude()[i], 1e-9);
+            assertEquals(single.getLongitude()[i], track.getLongitude()[i], 1e-9);
+            assertEquals(single.getAltitude()[i], track.getAltitude()[i], 1e-3);
+        }
+
+        // a broken element set gives an empty track, not a failed batch
+        assertEquals(0, result.getTracks().get(1).getLatitude().length);
+    }
+
+    @Test
+    void idsAreResolvedInOneQueryInRequestOrder() {
+        TleData a = object(1, ISS_LINE2);
+        TleData b = object(2, ISS_LINE2);
+        // a repeated object keeps its first row
+        when(tleRepository.findLatestByNoradCatIdIn(List.of(2, 3, 1))).thenReturn(List.of(a, b, object(2, ISS_LINE2)));
+
+        List<TleData> found = service.findLatest(List.of(2, 3, 1));
+
+        assertEquals(List.of(b, a), found);
+        verify(tleRepository, times(1)).findLatestByNoradCatIdIn(any());
+    }
+
+    @Test
+    void typeNamesFollowTheEntitySplit() {
+        assertEquals(Debris.class, BatchPredictionService.entityType("debris"));
+        assertEquals(RocketBody.class, BatchPredictionService.entityType("Rocket Body"));
+        assertEquals(RocketBody.class, BatchPredictionService.entityType("ROCKET_BODY"));
+        assertEquals(Satellite.class, BatchPredictionService.entityType(" satellite "));
+        assertNull(BatchPredictionService.entityType("payload"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.debriswatch.debristracker.service;
+
+import com.debriswatch.debristracker.PropagationFixture;
+import com.debriswatch.debristracker.model.OrbitPoint;
+import com.debriswatch.debristracker.model.PositionBatch;
+import com.debriswatch.debristracker.model.TleData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.debriswatch.debristracker.TestTles.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchPropagationServiceTest {
+
+    private PropagationFixture fixture;
+    private EarthModel earthModel;
+    private SimpleMeterRegistry meterRegistry;
+    private BatchPropagationService batchService;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new PropagationFixture();
+        earthModel = fixture.earthModel();
+        meterRegistry = fixture.meterRegistry();
+        batchService = fixture.batchPropagationService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.close();
+    }
+
+    private static List<TleData> catalog(int size) {
+        List<TleData> tles = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            tles.add(object(1000 + i, ISS_LINE2));
+        }
+        return tles;
+    }
+
+    @Test
+    void parallelBatchMatchesSequentialComputation() {
+        List<TleData> tles = catalog(100);
+        Instant instant = Instant.parse("2024-05-29T13:00:00Z");
+
+        PositionBatch batch = batchService.propagate(tles, instant);
+        OrbitPoint[] expected = fixture.orbitService().computeOrbitPoints(tles, earthModel.toAbsoluteDate(instant));
+
+        assertEquals(100, batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(1000 + i, batch.getNoradIds()[i]);
+            assertEquals(expected[i].getLatitude(), batch.getLatitude()[i], 1e-9);
+            assertEquals(expected[i].getLongitude(), batch.getLongitude()[i], 1e-9);
+            assertEquals(expected[i].getAltitude(), batch.getAltitude()[i], 1e-6);
+        }
+    }
+
+    @Test
+    void failedObjectsAreNaNAndCounted() {
+        List<TleData> tles = catalog(10);
+        tles.get(3).setTleLine2("garbage");
+
+        PositionBatch batch = batchService.propagate(tles, Instant.parse("2024-05-29T13:00:00Z"));
+
+        assertFalse(batch.isValid(3));
+        assertEquals(9, batch.validCount());
+        assertEquals(1, batchService.getStats().getLastBatchFailures());
+        assertEquals(1, meterRegistry.get("orbit.propagation.failures").tag("objectType", "SATELLITE").counter().count());
+        assertEquals(1, meterRegistry.get("orbit.propagation.batch").timer().count());
+        assertEquals(9, meterRegistry.get("orbit.propagation.object").tag("source", "batch").timer().count());
+    }
+
+    @Test
+    void statsReportThroughput() {
+        batchService.propagate(catalog(50), Instant.parse("2024-05-29T13:00:00Z"));
+
+        assertEquals(1, batchService.getStats().getBatches());
+        assertEquals(50, batchService.getStats().getLastBatchSize());
+        assertEquals(4, batchService.getStats().getParallelism());
+        assertTrue(batchService.getStats().getLastObjectsPerSecond() > 0);
+    }
+}
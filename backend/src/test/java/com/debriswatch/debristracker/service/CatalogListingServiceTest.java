@@ -0,0 +1,74 @@
+package com.debriswatch.debristracker.service;
+
+import com.debriswatch.debristracker.dto.TlePageDto;
+import com.debriswatch.debristracker.model.CatalogStore;
+import com.debriswatch.debristracker.model.TleData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogListingServiceTest {
+
+    private OrbitSnapshotService snapshotService;
+    private CatalogListingService service;
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = mock(OrbitSnapshotService.class);
+        service = new CatalogListingService(snapshotService);
+
+        // debris on odd NORAD IDs, in no particular order
+        List<TleData> tles = new ArrayList<>();
+        for (int id : new int[] {9, 4, 1, 7, 2, 5, 3}) {
+            TleData tle = new TleData();
+            tle.setNoradCatId(id);
+            tle.setObjectName("OBJECT " + id);
+            tle.setObjectType(id % 2 == 1 ? "DEBRIS" : "PAYLOAD");
+            tle.setEpoch("2024-05-29T12:00:00.500000");
+            tles.add(tle);
+        }
+        when(snapshotService.getCatalog()).thenReturn(CatalogStore.from(tles));
+    }
+
+    @Test
+    void pagesFollowNoradOrderWithCursor() {
+        List<String> fields = List.of("noradCatId");
+
+        TlePageDto first = service.page(CatalogStore.TYPE_DEBRIS, 0, 2, fields);
+        assertEquals(List.of(Map.of("noradCatId", 1), Map.of("noradCatId", 3)), first.getItems());
+        assertEquals(3, first.getNextCursor());
+
+        TlePageDto second = service.page(CatalogStore.TYPE_DEBRIS, first.getNextCursor(), 2, fields);
+        assertEquals(List.of(Map.of("noradCatId", 5), Map.of("noradCatId", 7)), second.getItems());
+
+        TlePageDto last = service.page(CatalogStore.TYPE_DEBRIS, second.getNextCursor(), 2, fields);
+        assertEquals(List.of(Map.of("noradCatId", 9)), last.getItems());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void itemsHoldOnlyRequestedFields() {
+        TlePageDto page = service.page(CatalogStore.TYPE_SATELLITE, 0, 10, CatalogListingService.DEFAULT_FIELDS);
+
+        assertEquals(2, page.getItems().size());
+        Map<String, Object> item = page.getItems().get(0);
+        assertEquals(List.of("noradCatId", "objectName", "objectType", "epoch"), List.copyOf(item.keySet()));
+        assertEquals("OBJECT 2", item.get("objectName"));
+        assertEquals("SATELLITE", item.get("objectType"));
+        assertEquals("2024-05-29T12:00:00.500Z", item.get("epoch"));
+    }
+
+    @Test
+    void typeNamesAndFieldsAreValidated() {
+        assertEquals(CatalogStore.TYPE_ROCKET_BODY, CatalogListingService.typeCode("rocket body"));
+        assertEquals(-1, CatalogListingService.typeCode("payload"));
+        assertTrue(CatalogListingService.isKnownField("tleLine1"));
+        assertFalse(CatalogListingService.isKnownField("password"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.debriswatch.debristracker.service;
+
+import com.debriswatch.debristracker.model.CatalogStore;
+import com.debriswatch.debristracker.model.PositionBatch;
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.repository.TleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CatalogSnapshotStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private final BatchPropagationService batchPropagationService = mock(BatchPropagationService.class);
+    private final TleRepository tleRepository = mock(TleRepository.class);
+
+    private OrbitSnapshotService snapshotService() {
+        return new OrbitSnapshotService(batchPropagationService, mock(TleService.class), tleRepository,
+                new SimpleMeterRegistry(), 0);
+    }
+
+    private static TleData tle(int noradId, String name) {
+        TleData tle = new TleData();
+        tle.setNoradCatId(noradId);
+        tle.setObjectName(name);
+        return tle;
+    }
+
+    private static PositionBatch batch(CatalogStore catalog) {
+        PositionBatch batch = new PositionBatch(Instant.parse("2024-05-29T12:00:00Z"), catalog.getSize());
+        System.arraycopy(catalog.getNoradIds(), 0, batch.getNoradIds(), 0, catalog.getSize());
+        for (int i = 0; i < catalog.getSize(); i++) {
+            batch.getLatitude()[i] = 10 + i;
+            batch.getAltitude()[i] = 400_000;
+        }
+        return batch;
+    }
+
+    @Test
+    void restoresSavedCatalogAndPositionsAfterRestart() throws Exception {
+        Path file = dir.resolve("snapshots/catalog.bin");
+        OrbitSnapshotService running = snapshotService();
+        when(tleRepository.findCurrentElementSets()).thenReturn(List.of(tle(25544, "ISS"), tle(20580, "HST")));
+        when(batchPropagationService.propagate(any(CatalogStore.class), any())).thenAnswer(i -> batch(i.getArgument(0)));
+        running.reloadCatalog();
+
+        assertTrue(new CatalogSnapshotStore(running, file.toString()).save());
+        assertTrue(Files.isRegularFile(file));
+
+        OrbitSnapshotService restarted = snapshotService();
+        new CatalogSnapshotStore(restarted, file.toString()).restore();
+
+        assertEquals(2, restarted.getCatalog().getSize());
+        assertEquals(running.getCatalogLoadedAt().toEpochMilli(), restarted.getCatalogLoadedAt().toEpochMilli());
+        assertEquals(Instant.parse("2024-05-29T12:00:00Z"), restarted.getSnapshot().getComputedAt());
+        assertEquals("HST", restarted.getSnapshot().getPositions().get(1).getObjectName());
+        assertEquals(11, restarted.getSnapshot().getPositions().get(1).getLatitude());
+    }
+
+    @Test
+    void loadedCatalogIsNotReplacedByRestore() throws Exception {
+        Path file = dir.resolve("catalog.bin");
+        when(tleRepository.findCurrentElementSets()).thenReturn(List.of(tle(25544, "ISS")));
+        when(batchPropagationService.propagate(any(CatalogStore.class), any())).thenAnswer(i -> batch(i.getArgument(0)));
+        OrbitSnapshotService saved = snapshotService();
+        saved.reloadCatalog();
+        new CatalogSnapshotStore(saved, file.toString()).save();
+
+        OrbitSnapshotService loaded = snapshotService();
+        when(tleRepository.findCurrentElementSets()).thenReturn(List.of(tle(20580, "HST"), tle(43013, "NOAA 20")));
+        loaded.reloadCatalog();
+        new CatalogSnapshotStore(loaded, file.toString()).restore();
+
+        assertEquals(2, loaded.getCatalog().getSize());
+    }
+
+    @Test
+    void ignoresCorruptSnapshotAndSkipsEmptyCatalog() throws Exception {
+        Path file = Files.writeString(dir.resolve("catalog.bin"), "garbage");
+        OrbitSnapshotService service = snapshotService();
+        CatalogSnapshotStore store = new CatalogSnapshotStore(service, file.toString());
+
+        store.restore();
+
+        assertTrue(service.getCatalog().isEmpty());
+        assertFalse(store.save());
+        assertEquals("garbage", Files.readString(file));
+    }
+}
@@ -0,0 +1,103 @@
+package com.debriswatch.debristracker.service;
+
+import com.debriswatch.debristracker.OrekitTestData;
+import com.debriswatch.debristracker.dto.ConjunctionAlertDto;
+import com.debriswatch.debristracker.model.CatalogStore;
+import com.debriswatch.debristracker.model.TleData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ConjunctionScreeningServiceTest {
+
+    // both objects sit on the ascending node at epoch, one prograde and one retrograde
+    private static final Instant EPOCH = Instant.parse("2024-05-29T12:00:00Z");
+
+    private BatchPropagationService batchService;
+    private ConjunctionScreeningService screeningService;
+
+    @BeforeAll
+    static void loadOrekitData() {
+        OrekitTestData.load();
+    }
+
+    @BeforeEach
+    void setUp() {
+        EarthModel earthModel = new EarthModel();
+        TlePropagatorCache cache = new TlePropagatorCache(100);
+        batchService = new BatchPropagationService(cache, earthModel, new SimpleMeterRegistry(), 2, 8);
+        screeningService = new ConjunctionScreeningService(mock(OrbitSnapshotService.class), batchService, cache,
+                earthModel, 24, 30, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.shutdown();
+    }
+
+    private static TleData tle(int noradId, String name, String type, String line1, String line2, double apogee, double perigee) {
+        TleData tle = new TleData();
+        tle.setNoradCatId(noradId);
+        tle.setObjectName(name);
+        tle.setObjectType(type);
+        tle.setEpoch("2024-05-29T12:00:00");
+        tle.setTleLine1(line1);
+        tle.setTleLine2(line2);
+        tle.setApogee(apogee);
+        tle.setPerigee(perigee);
+        return tle;
+    }
+
+    private static final TleData PROGRADE = tle(90001, "TEST SAT", "PAYLOAD",
+            "1 90001U 24001A   24150.50000000  .00016717  00000-0  10270-3 0  9999",
+            "2 90001  51.6400 208.9163 0006317   0.0000   0.0000 15.49815311 45674", 423, 414);
+    private static final TleData RETROGRADE = tle(90002, "TEST DEB", "DEBRIS",
+            "1 90002U 24001B   24150.50000000  .00016717  00000-0  10270-3 0  9990",
+            "2 90002 128.3600 208.9163 0006317   0.0000   0.0000 15.49815311 45679", 423, 414);
+    private static final TleData GEOSTATIONARY = tle(90003, "TEST GEO", "PAYLOAD",
+            "1 90003U 24001C   24150.50000000  .00000100  00000-0  10000-4 0  9992",
+            "2 90003   0.0500  10.0000 0002000   0.0000 180.0000  1.00270000 12341", 35800, 35780);
+
+    @Test
+    void findsNodeCrossingAndRefinesTca() {
+        CatalogStore catalog = CatalogStore.from(List.of(PROGRADE, RETROGRADE, GEOSTATIONARY));
+        Instant start = EPOCH.minusSeconds(45);
+
+        List<ConjunctionAlertDto> alerts = screeningService.screen(catalog, start, 90, 30, 5000);
+
+        assertEquals(1, alerts.size());
+        ConjunctionAlertDto alert = alerts.get(0);
+        assertEquals(90002, alert.getObjectNoradId(), "debris is reported as the threat");
+        assertEquals(90001, alert.getTargetNoradId());
+        assertTrue(alert.getMissDistance() < 1, "miss " + alert.getMissDistance());
+        assertEquals("critical", alert.getSeverity());
+        assertEquals("LEO", alert.getOrbitRegion());
+        assertTrue(alert.getRelativeVelocity() > 8 && alert.getRelativeVelocity() < 11);
+        long offset = Duration.between(EPOCH, Instant.parse(alert.getImpactTime())).abs().toMillis();
+        assertTrue(offset < 2000, "TCA off by " + offset + " ms");
+    }
+
+    @Test
+    void disjointShellsAreNotScreened() {
+        TleData lifted = tle(90002, "TEST DEB", "DEBRIS", RETROGRADE.getTleLine1(), RETROGRADE.getTleLine2(), 1300, 1290);
+        CatalogStore catalog = CatalogStore.from(List.of(PROGRADE, lifted));
+
+        assertTrue(screeningService.screen(catalog, EPOCH.minusSeconds(45), 90, 30, 5000).isEmpty());
+    }
+
+    @Test
+    void noAlertsOutsideTheWindow() {
+        CatalogStore catalog = CatalogStore.from(List.of(PROGRADE, RETROGRADE));
+
+        assertTrue(screeningService.screen(catalog, EPOCH.plusSeconds(300), 600, 30, 5000).isEmpty());
+    }
+}
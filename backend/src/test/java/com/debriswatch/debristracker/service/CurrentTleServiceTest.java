@@ -0,0 +1,108 @@
+package com.debriswatch.debristracker.service;
+
+import com.debriswatch.debristracker.model.CurrentTle;
+import com.debriswatch.debristracker.model.Satellite;
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.model.TleEpoch;
+import com.debriswatch.debristracker.repository.CurrentTleRepository;
+import com.debriswatch.debristracker.repository.TleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentTleServiceTest {
+
+    @Mock private CurrentTleRepository currentTleRepository;
+    @Mock private TleRepository tleRepository;
+
+    private CurrentTleService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CurrentTleService(currentTleRepository, tleRepository);
+    }
+
+    private static TleData tle(int noradId, int elementSetNo, String epoch) {
+        TleData tle = new Satellite();
+        tle.setNoradCatId(noradId);
+        tle.setElementSetNo(elementSetNo);
+        tle.setEpoch(epoch);
+        return tle;
+    }
+
+    private static CurrentTle stored(TleData tle) {
+        CurrentTle pointer = new CurrentTle(tle, tle.getEpochSeconds());
+        pointer.setStored(true);
+        return pointer;
+    }
+
+    @Test
+    void advanceCreatesMissingAndMovesOlderPointers() {
+        CurrentTle older = stored(tle(1, 10, "2024-05-28T00:00:00"));
+        CurrentTle newer = stored(tle(2, 20, "2024-06-01T00:00:00"));
+        when(currentTleRepository.findAllById(List.of(1, 2, 3))).thenReturn(List.of(older, newer));
+
+        TleData update = tle(1, 11, "2024-05-29T00:00:00");
+        TleData stale = tle(2, 19, "2024-05-30T00:00:00");
+        TleData first = tle(3, 5, "2024-05-29T00:00:00");
+        TleData firstRepeat = tle(3, 4, "2024-05-28T00:00:00");
+        service.advance(List.of(update, stale, first, firstRepeat));
+
+        assertSame(update, older.getTle());
+        assertEquals(TleEpoch.toEpochSeconds("2024-05-29T00:00:00"), older.getEpochSeconds());
+        assertEquals(20, newer.getTle().getElementSetNo(), "an older element set never replaces the pointer");
+        verify(currentTleRepository).saveAll(argThat((List<CurrentTle> created) ->
+                created.size() == 1 && created.get(0).getTle() == first && created.get(0).isNew()));
+    }
+
+    @Test
+    void advanceSkipsUnparseableEpochs() {
+        CurrentTle valid = stored(tle(1, 10, "2024-05-28T00:00:00"));
+        when(currentTleRepository.findAllById(List.of(1))).thenReturn(List.of(valid));
+
+        service.advance(List.of(tle(1, 11, "not a date"), tle(2, 1, "not a date"), tle(1, 12, "2024-05-29T00:00:00")));
+
+        assertEquals(12, valid.getTle().getElementSetNo());
+        verify(currentTleRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void seedsFromHistoryOnlyWhenPointersAreMissing() {
+        when(currentTleRepository.count()).thenReturn(0L);
+        when(tleRepository.count()).thenReturn(3L);
+        when(tleRepository.scanLatestTlePerNoradCatId()).thenReturn(List.of(tle(1, 10, "2024-05-28T00:00:00")));
+
+        service.seedIfEmpty();
+
+        verify(currentTleRepository).saveAll(argThat((List<CurrentTle> created) -> created.size() == 1));
+
+        reset(tleRepository);
+        when(currentTleRepository.count()).thenReturn(1L);
+        service.seedIfEmpty();
+        verifyNoInteractions(tleRepository);
+    }
+
+    @Test
+    void backfillParsesLegacyRowsPageByPage() {
+        TleData legacy = tle(1, 10, null);
+        legacy.setIdData(7);
+        legacy.setEpoch("2024-05-28T00:00:00");
+        legacy.setEpochSeconds(null);
+        when(tleRepository.findTop500ByEpochSecondsIsNullAndIdDataGreaterThanOrderByIdDataAsc(Integer.MIN_VALUE))
+                .thenReturn(List.of(legacy));
+        when(tleRepository.findTop500ByEpochSecondsIsNullAndIdDataGreaterThanOrderByIdDataAsc(7)).thenReturn(List.of());
+
+        service.backfillEpochSeconds();
+
+        assertEquals(TleEpoch.toEpochSeconds("2024-05-28T00:00:00"), legacy.getEpochSeconds());
+        verify(tleRepository).saveAll(List.of(legacy));
+    }
+}
@@ -0,0 +1,99 @@
+package com.debriswatch.debristracker.service;
+
+import com.debriswatch.debristracker.OrekitTestData;
+import com.debriswatch.debristracker.model.TleData;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+
+import static com.debriswatch.debristracker.TestTles.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EphemerisCacheTest {
+
+    private EphemerisCache ephemerisCache;
+
+    @BeforeAll
+    static void loadOrekitData() {
+        OrekitTestData.load();
+    }
+
+    @BeforeEach
+    void setUp() {
+        ephemerisCache = new EphemerisCache(new TlePropagatorCache(100), 120, 6, 100, 64L << 20);
+    }
+
+    @Test
+    void interpolationStaysCloseToSgp4AcrossSegments() {
+        TLEPropagator sgp4 = TLEPropagator.selectExtrapolator(new TLE(ISS_LINE1, ISS_LINE2));
+        AbsoluteDate start = ephemerisCache.epochOf(iss(999)).shiftedBy(-3 * 3600 + 17.3);
+        int count = 200;
+        double[] out = new double[3 * count];
+
+        // 97 s steps over ~5.4 h: off-grid instants, before the epoch and across 6 h segment boundaries
+        ephemerisCache.positionsAt(iss(999), start, 97, count, out);
+
+        for (int i = 0; i < count; i++) {
+            Vector3D expected = sgp4.getPVCoordinates(start.shiftedBy(i * 97)).getPosition();
+            Vector3D actual = new Vector3D(out[3 * i], out[3 * i + 1], out[3 * i + 2]);
+            assertEquals(0, Vector3D.distance(expected, actual), 10.0, "sample " + i);
+        }
+    }
+
+    @Test
+    void oneEntryPerObjectReplacedByNewElementSet() {
+        TleData first = iss(999);
+        TleData second = iss(1000);
+        double[] out = new double[3];
+
+        ephemerisCache.positionsAt(first, ephemerisCache.epochOf(first), 60, 1, out);
+        ephemerisCache.positionsAt(first, ephemerisCache.epochOf(first), 60, 1, out);
+        assertEquals(1, ephemerisCache.size());
+
+        ephemerisCache.positionsAt(second, ephemerisCache.epochOf(second), 60, 1, out);
+        assertEquals(1, ephemerisCache.size());
+    }
+
+    @Test
+    void gridNodesAreExact() {
+        TleData tle = iss(999);
+        AbsoluteDate epoch = ephemerisCache.epochOf(tle);
+        double[] out = new double[3];
+
+        ephemerisCache.positionsAt(tle, epoch.shiftedBy(240), 60, 1, out);
+
+        Vector3D expected = TLEPropagator.selectExtrapolator(new TLE(ISS_LINE1, ISS_LINE2)).getPVCoordinates(epoch.shiftedBy(240)).getPosition();
+        assertEquals(expected.getX(), out[0], 1e-6);
+        assertEquals(expected.getZ(), out[2], 1e-6);
+    }
+
+    @Test
+    void fullBudgetEvictsLeastRecentlyUsedSegment() {
+        TlePropagatorCache propagators = spy(new TlePropagatorCache(100));
+        // room for 3 segments of 181 nodes x 6 doubles
+        EphemerisCache cache = new EphemerisCache(propagators, 120, 6, 100, 3 * 181 * 6 * Double.BYTES);
+        TleData tle = iss(999);
+        AbsoluteDate epoch = cache.epochOf(tle);
+        double[] out = new double[3];
+        double segment = 6 * 3600;
+
+        for (int s : new int[] {0, 1, 2, 0, 3}) {
+            cache.positionsAt(tle, epoch.shiftedBy(s * segment + 60), 60, 1, out);
+        }
+        clearInvocations(propagators);
+
+        // segment 1 was the least recently used when 3 came in, the others are still there
+        for (int s : new int[] {0, 2, 3}) {
+            cache.positionsAt(tle, epoch.shiftedBy(s * segment + 60), 60, 1, out);
+        }
+        verify(propagators, never()).withPropagator(any(TleData.class), any());
+        cache.positionsAt(tle, epoch.shiftedBy(segment + 60), 60, 1, out);
+        verify(propagators, times(1)).withPropagator(any(TleData.class), any());
+    }
+}
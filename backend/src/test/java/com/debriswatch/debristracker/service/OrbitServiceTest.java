@@ -0,0 +1,139 @@
+package com.debriswatch.debristracker.service;
+
+import com.debriswatch.debristracker.PropagationFixture;
+import com.debriswatch.debristracker.model.OrbitPoint;
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.model.Trajectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.frames.Frame;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.debriswatch.debristracker.TestTles.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrbitServiceTest {
+
+    private PropagationFixture fixture;
+    private EarthModel earthModel;
+    private OrbitService orbitService;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new PropagationFixture();
+        earthModel = fixture.earthModel();
+        orbitService = fixture.orbitService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.close();
+    }
+
+    @Test
+    void batchMatchesPerObjectEme2000Route() {
+        TLE tle = new TLE(ISS_LINE1, ISS_LINE2);
+        AbsoluteDate date = tle.getDate().shiftedBy(3600);
+
+        // reference: the original EME2000 based computation
+        Frame eme2000 = earthModel.getInertialFrame();
+        GeodeticPoint expected = earthModel.getEllipsoid().transform(
+                TLEPropagator.selectExtrapolator(tle).propagate(date).getPVCoordinates(eme2000).getPosition(),
+                eme2000, date);
+
+        OrbitPoint[] points = orbitService.computeOrbitPoints(List.of(iss(), iss()), date);
+
+        assertEquals(2, points.length);
+        for (OrbitPoint point : points) {
+            assertEquals(Math.toDegrees(expected.getLatitude()), point.getLatitude(), 1e-6);
+            assertEquals(Math.toDegrees(expected.getLongitude()), point.getLongitude(), 1e-6);
+            assertEquals(expected.getAltitude(), point.getAltitude(), 1e-2);
+        }
+    }
+
+    @Test
+    void batchLeavesFailedObjectsNull() {
+        TleData broken = iss();
+        broken.setNoradCatId(1);
+        broken.setTleLine1("not a tle");
+
+        OrbitPoint[] points = orbitService.computeOrbitPoints(List.of(broken, iss()), new TLE(ISS_LINE1, ISS_LINE2).getDate());
+
+        assertNull(points[0]);
+        assertNotNull(points[1]);
+    }
+
+    @Test
+    void predictionStartsAtEpochWithTenMinuteSteps() {
+        List<OrbitPoint> points = orbitService.predictOrbitForDays(iss(), 1);
+
+        assertEquals(24 * 6 + 1, points.size());
+        points.forEach(p -> assertTrue(p.getAltitude() > 300_000 && p.getAltitude() < 500_000));
+    }
+
+    @Test
+    void predictionHonoursStartAndStep() {
+        Instant start = Instant.parse("2024-06-02T00:00:00Z");
+
+        Trajectory track = orbitService.predictTrajectory(iss(), start, 3600, 60);
+
+        assertEquals(start, track.getStart());
+        assertEquals(61, track.getSize());
+
+        // interpolated point matches a direct SGP4 + transform at the same instant
+        AbsoluteDate date = earthModel.toAbsoluteDate(start.plusSeconds(1800));
+        OrbitPoint direct = orbitService.computeOrbitPoints(List.of(iss()), date)[0];
+        assertEquals(direct.getLatitude(), track.getLatitude()[30], 1e-3);
+        assertEquals(direct.getLongitude(), track.getLongitude()[30], 1e-3);
+        assertEquals(direct.getAltitude(), track.getAltitude()[30], 50);
+    }
+
+    @Test
+    void brokenTleGivesEmptyPrediction() {
+        TleData broken = iss();
+        broken.setTleLine2("garbage");
+
+        assertEquals(0, orbitService.predictOrbitForDays(broken, 1).size());
+    }
+
+    @Test
+    void adaptiveStreamSamplesEachRevolutionEvenly() throws Exception {
+        List<Instant> times = new ArrayList<>();
+        double periodSeconds = 86400 / 15.49815311;
+
+        int written = orbitService.streamTrajectory(iss(), null, periodSeconds, 600, 90,
+                (time, lat, lon, alt) -> times.add(time));
+
+        assertEquals(times.size(), written);
+        assertTrue(written >= 88 && written <= 93, "points per revolution: " + written);
+        for (int i = 1; i < times.size(); i++) {
+            long step = Duration.between(times.get(i - 1), times.get(i)).toMillis();
+            assertTrue(step > 55_000 && step < 70_000, "step " + step);
+        }
+    }
+
+    @Test
+    void fixedStepStreamMatchesTrajectory() throws Exception {
+        Instant start = Instant.parse("2024-06-02T00:00:00Z");
+        Trajectory track = orbitService.predictTrajectory(iss(), start, 7200, 300);
+        List<double[]> streamed = new ArrayList<>();
+
+        orbitService.streamTrajectory(iss(), start, 7200, 300, 0,
+                (time, lat, lon, alt) -> streamed.add(new double[] {lat, lon, alt}));
+
+        assertEquals(track.getSize(), streamed.size());
+        for (int i = 0; i < streamed.size(); i++) {
+            assertEquals(track.getLatitude()[i], streamed.get(i)[0], 1e-9);
+            assertEquals(track.getAltitude()[i], streamed.get(i)[2], 1e-3);
+        }
+    }
+}
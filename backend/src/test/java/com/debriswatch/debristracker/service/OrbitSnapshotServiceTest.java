@@ -0,0 +1,166 @@
+package com.debriswatch.debristracker.service;
+
+import com.debriswatch.debristracker.model.CatalogStore;
+import com.debriswatch.debristracker.model.PositionBatch;
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.repository.TleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrbitSnapshotServiceTest {
+
+    @Mock private BatchPropagationService batchPropagationService;
+    @Mock private TleService tleService;
+    @Mock private TleRepository tleRepository;
+
+    private OrbitSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = new OrbitSnapshotService(batchPropagationService, tleService, tleRepository, new SimpleMeterRegistry(), 0);
+        lenient().when(tleService.fetchAndProcessTleData()).thenReturn(true);
+    }
+
+    private static int nextNoradId = 1;
+
+    private static TleData tle(String name) {
+        TleData tle = new TleData();
+        tle.setNoradCatId(nextNoradId++);
+        tle.setObjectName(name);
+        return tle;
+    }
+
+    // one position per altitude, NaN marks a failed object
+    private static PositionBatch batch(double... altitudes) {
+        PositionBatch batch = new PositionBatch(Instant.now(), altitudes.length);
+        for (int i = 0; i < altitudes.length; i++) {
+            batch.getLatitude()[i] = 1;
+            batch.getLongitude()[i] = 2;
+            batch.getAltitude()[i] = altitudes[i];
+        }
+        return batch;
+    }
+
+    @Test
+    void snapshotIsEmptyBeforeFirstRefresh() {
+        assertTrue(snapshotService.getSnapshot().isEmpty());
+    }
+
+    @Test
+    void refreshCatalog_publishesPositions() {
+        TleData iss = tle("ISS");
+        when(tleRepository.findCurrentElementSets()).thenReturn(List.of(iss));
+        when(batchPropagationService.propagate(any(CatalogStore.class), any())).thenAnswer(i -> batch(400_000));
+
+        snapshotService.refreshCatalog();
+
+        assertEquals(1, snapshotService.getSnapshot().getPositions().size());
+        assertEquals("ISS", snapshotService.getSnapshot().getPositions().get(0).getObjectName());
+    }
+
+    @Test
+    void recomputeSnapshot_doesNotTouchDatabase() {
+        TleData iss = tle("ISS");
+        when(tleRepository.findCurrentElementSets()).thenReturn(List.of(iss));
+        when(batchPropagationService.propagate(any(CatalogStore.class), any())).thenAnswer(i -> batch(400_000));
+        snapshotService.refreshCatalog();
+
+        snapshotService.recomputeSnapshot();
+
+        verify(tleRepository, times(1)).findCurrentElementSets();
+        verify(tleService, times(1)).fetchAndProcessTleData();
+    }
+
+    @Test
+    void emptyRefresh_keepsPreviousCatalog() {
+        TleData iss = tle("ISS");
+        when(tleRepository.findCurrentElementSets()).thenReturn(List.of(iss), List.of());
+        when(batchPropagationService.propagate(any(CatalogStore.class), any())).thenAnswer(i -> batch(400_000));
+        snapshotService.refreshCatalog();
+
+        snapshotService.refreshCatalog();
+        snapshotService.recomputeSnapshot();
+
+        assertEquals(1, snapshotService.getSnapshot().getPositions().size());
+    }
+
+    @Test
+    void failedPropagation_isSkipped() {
+        TleData ok = tle("OK");
+        TleData broken = tle("BROKEN");
+        when(tleRepository.findCurrentElementSets()).thenReturn(List.of(ok, broken));
+        when(batchPropagationService.propagate(any(CatalogStore.class), any()))
+                .thenReturn(batch(400_000, Double.NaN));
+
+        snapshotService.refreshCatalog();
+
+        assertEquals(1, snapshotService.getSnapshot().getPositions().size());
+    }
+
+    @Test
+    void recomputeSnapshot_reusesRecentResult() {
+        OrbitSnapshotService throttled = new OrbitSnapshotService(batchPropagationService, tleService, tleRepository, new SimpleMeterRegistry(), 60_000);
+        when(tleRepository.findCurrentElementSets()).thenReturn(List.of(tle("ISS")));
+        when(batchPropagationService.propagate(any(CatalogStore.class), any())).thenAnswer(i -> batch(400_000));
+        throttled.refreshCatalog();
+
+        throttled.recomputeSnapshot();
+        throttled.recomputeSnapshot();
+
+        // the refresh propagates the new catalog, the two ticks share one more run
+        verify(batchPropagationService, times(2)).propagate(any(CatalogStore.class), any());
+        assertEquals(1, throttled.getSnapshot().getPositions().size());
+    }
+
+    @Test
+    void failedFetch_doesNotReloadCatalog() {
+        when(tleService.fetchAndProcessTleData()).thenReturn(false);
+
+        snapshotService.refreshCatalog();
+
+        verifyNoInteractions(tleRepository, batchPropagationService);
+        assertNull(snapshotService.getCatalogLoadedAt());
+    }
+
+    @Test
+    void unchangedCatalog_keepsLoadTime() {
+        TleData iss = tle("ISS");
+        when(tleRepository.findCurrentElementSets()).thenReturn(List.of(iss));
+        when(batchPropagationService.propagate(any(CatalogStore.class), any())).thenAnswer(i -> batch(400_000));
+        snapshotService.refreshCatalog();
+        Instant loadedAt = snapshotService.getCatalogLoadedAt();
+        CatalogStore catalog = snapshotService.getCatalog();
+
+        snapshotService.refreshCatalog();
+
+        assertSame(loadedAt, snapshotService.getCatalogLoadedAt());
+        assertSame(catalog, snapshotService.getCatalog());
+    }
+
+    @Test
+    void ageGaugesFollowTheSnapshot() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OrbitSnapshotService measured = new OrbitSnapshotService(batchPropagationService, tleService, tleRepository, meterRegistry, 0);
+        assertTrue(Double.isNaN(meterRegistry.get("orbit.snapshot.age").gauge().value()));
+
+        when(tleRepository.findCurrentElementSets()).thenReturn(List.of(tle("ISS")));
+        when(batchPropagationService.propagate(any(CatalogStore.class), any())).thenAnswer(i -> batch(400_000));
+        measured.refreshCatalog();
+
+        assertTrue(meterRegistry.get("orbit.snapshot.age").gauge().value() < 60);
+        assertTrue(meterRegistry.get("orbit.catalog.age").gauge().value() < 60);
+        assertEquals(1, meterRegistry.get("orbit.catalog.size").gauge().value());
+    }
+}
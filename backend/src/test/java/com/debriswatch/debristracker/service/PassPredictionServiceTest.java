@@ -0,0 +1,111 @@
+package com.debriswatch.debristracker.service;
+
+import com.debriswatch.debristracker.PropagationFixture;
+import com.debriswatch.debristracker.dto.PassPredictionDto;
+import com.debriswatch.debristracker.dto.PassPredictionRequestDto.GroundStation;
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.model.Trajectory;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.bodies.GeodeticPoint;
+
+import java.time.Instant;
+import java.util.List;
+
+import static com.debriswatch.debristracker.TestTles.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PassPredictionServiceTest {
+
+    private static final Instant START = Instant.parse("2024-06-01T00:00:00Z");
+
+    private PropagationFixture fixture;
+    private EarthModel earthModel;
+    private OrbitService orbitService;
+    private PassPredictionService service;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new PropagationFixture();
+        earthModel = fixture.earthModel();
+        orbitService = fixture.orbitService();
+        service = new PassPredictionService(fixture.ephemerisCache(), earthModel, fixture.batchPropagationService(), 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.close();
+    }
+
+    private static GroundStation station(String name, double latitude, double longitude, double minElevation) {
+        GroundStation station = new GroundStation();
+        station.setName(name);
+        station.setLatitude(latitude);
+        station.setLongitude(longitude);
+        station.setAltitude(75);
+        station.setMinElevation(minElevation);
+        return station;
+    }
+
+    // elevation from an independent single-object prediction, full Orekit transforms
+    private double elevationAt(TleData tle, GroundStation station, String time) {
+        Trajectory trajectory = orbitService.predictTrajectory(tle, Instant.parse(time), 60, 60);
+        GeodeticPoint object = new GeodeticPoint(Math.toRadians(trajectory.getLatitude()[0]),
+                Math.toRadians(trajectory.getLongitude()[0]), trajectory.getAltitude()[0]);
+        GeodeticPoint site = new GeodeticPoint(Math.toRadians(station.getLatitude()),
+                Math.toRadians(station.getLongitude()), station.getAltitude());
+        Vector3D line = earthModel.getEllipsoid().transform(object).subtract(earthModel.getEllipsoid().transform(site));
+        return 90 - Math.toDegrees(Vector3D.angle(line, site.getZenith()));
+    }
+
+    @Test
+    void passesMatchIndependentElevations() {
+        GroundStation rabat = station("Rabat", 34.02, -6.84, 10);
+
+        PassPredictionDto result = service.predict(List.of(iss()), List.of(rabat), START, 60, 1441);
+
+        assertEquals("2024-06-02T00:00:00Z", result.getEnd());
+        assertFalse(result.getPasses().isEmpty());
+        for (PassPredictionDto.Pass pass : result.getPasses()) {
+            assertEquals("Rabat", pass.getStation());
+            assertTrue(pass.getDurationSeconds() > 0 && pass.getDurationSeconds() < 900);
+            assertTrue(pass.getMaxElevation() >= 10 && pass.getMaxElevation() <= 90);
+            assertEquals(10, elevationAt(iss(), rabat, pass.getAos()), 0.02);
+            assertEquals(10, elevationAt(iss(), rabat, pass.getLos()), 0.02);
+            assertEquals(pass.getMaxElevation(), elevationAt(iss(), rabat, pass.getMaxElevationTime()), 0.02);
+        }
+    }
+
+    @Test
+    void coarseStepFindsTheSamePassesAsFineSampling() {
+        List<GroundStation> stations = List.of(station("Rabat", 34.02, -6.84, 10), station("Kourou", 5.25, -52.8, 5));
+
+        List<PassPredictionDto.Pass> coarse = service.predict(List.of(iss()), stations, START, 60, 721).getPasses();
+        List<PassPredictionDto.Pass> fine = service.predict(List.of(iss()), stations, START, 2, 21601).getPasses();
+
+        assertEquals(fine.size(), coarse.size());
+        for (int i = 0; i < fine.size(); i++) {
+            assertEquals(fine.get(i).getStation(), coarse.get(i).getStation());
+            assertEquals(Instant.parse(fine.get(i).getAos()).toEpochMilli(),
+                    Instant.parse(coarse.get(i).getAos()).toEpochMilli(), 500);
+            assertEquals(Instant.parse(fine.get(i).getLos()).toEpochMilli(),
+                    Instant.parse(coarse.get(i).getLos()).toEpochMilli(), 500);
+            assertEquals(fine.get(i).getMaxElevation(), coarse.get(i).getMaxElevation(), 0.01);
+        }
+    }
+
+    @Test
+    void unreachableStationsAndBrokenElementSetsHaveNoPasses() {
+        TleData broken = iss();
+        broken.setNoradCatId(7);
+        broken.setTleLine2("garbage");
+
+        // the ISS never climbs 10 degrees above the Svalbard horizon
+        PassPredictionDto result = service.predict(List.of(iss(), broken),
+                List.of(station("Svalbard", 78.23, 15.4, 10)), START, 60, 1441);
+
+        assertTrue(result.getPasses().isEmpty());
+    }
+}
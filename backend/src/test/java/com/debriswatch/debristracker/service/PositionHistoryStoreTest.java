@@ -0,0 +1,99 @@
+package com.debriswatch.debristracker.service;
+
+import com.debriswatch.debristracker.dto.HistoricalPositionDto;
+import com.debriswatch.debristracker.dto.HistoryFrameDto;
+import com.debriswatch.debristracker.model.PositionBatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionHistoryStoreTest {
+
+    private static final Instant T0 = Instant.parse("2024-05-29T12:58:00Z");
+
+    @TempDir
+    Path directory;
+
+    private PositionHistoryStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new PositionHistoryStore(directory.toString(), 48);
+    }
+
+    // three objects out of NORAD order, the second one failed
+    private static PositionBatch batch(Instant epoch, double offset) {
+        PositionBatch batch = new PositionBatch(epoch, 3);
+        int[] ids = {300, 100, 200};
+        for (int i = 0; i < 3; i++) {
+            batch.getNoradIds()[i] = ids[i];
+            batch.getLatitude()[i] = ids[i] / 10.0 + offset;
+            batch.getLongitude()[i] = -ids[i] / 10.0;
+            batch.getAltitude()[i] = 400_000 + ids[i];
+        }
+        batch.markFailed(1);
+        return batch;
+    }
+
+    @Test
+    void framesAreSplitPerHourAndReadBackSorted() throws Exception {
+        for (int minute = 0; minute < 4; minute++) {
+            store.append(batch(T0.plusSeconds(60L * minute), minute));
+        }
+
+        // 12:58 and 12:59 in one segment, 13:00 and 13:01 in the next
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+
+        List<HistoryFrameDto> frames = store.framesBetween(T0.plusSeconds(60), T0.plusSeconds(180));
+        assertEquals(3, frames.size());
+        HistoryFrameDto frame = frames.get(0);
+        assertEquals("2024-05-29T12:59:00Z", frame.getTime());
+        assertArrayEquals(new int[] {200, 300}, frame.getNoradIds());
+        assertArrayEquals(new float[] {21f, 31f}, frame.getLatitude());
+        assertArrayEquals(new float[] {-20f, -30f}, frame.getLongitude());
+        assertArrayEquals(new float[] {400_200f, 400_300f}, frame.getAltitude());
+        assertEquals("2024-05-29T13:01:00Z", frames.get(2).getTime());
+    }
+
+    @Test
+    void positionAtPicksClosestFrameWithinGap() throws Exception {
+        store.append(batch(T0, 0));
+        store.append(batch(T0.plusSeconds(60), 1));
+        store.append(batch(T0.plusSeconds(120), 2));
+
+        HistoricalPositionDto position = store.positionAt(300, T0.plusSeconds(130), 120);
+        assertEquals("2024-05-29T13:00:00Z", position.getTime());
+        assertEquals(32.0, position.getLatitude(), 1e-5);
+        assertEquals(400_300.0, position.getAltitude(), 1e-3);
+
+        assertNull(store.positionAt(100, T0, 120), "failed rows are not recorded");
+        assertNull(store.positionAt(300, T0.plusSeconds(3600), 120));
+    }
+
+    @Test
+    void tornTailIsDroppedBeforeNextAppend() throws Exception {
+        store.append(batch(T0, 0));
+        Path segment;
+        try (var files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        // half a frame, as left by a crash mid-write
+        Files.write(segment, new byte[20], StandardOpenOption.APPEND);
+
+        PositionHistoryStore restarted = new PositionHistoryStore(directory.toString(), 48);
+        assertEquals(1, restarted.framesBetween(T0, T0).size());
+        restarted.append(batch(T0.plusSeconds(30), 1));
+
+        assertEquals(2, restarted.framesBetween(T0, T0.plusSeconds(60)).size());
+    }
+}
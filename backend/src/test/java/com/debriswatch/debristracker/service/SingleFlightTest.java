@@ -0,0 +1,77 @@
+package com.debriswatch.debristracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneRun() throws Exception {
+        SingleFlight<Integer> flight = new SingleFlight<>(0);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() -> flight.run(() -> {
+                started.countDown();
+                await(release);
+                return runs.incrementAndGet();
+            }), pool);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // registered while the leader is still running
+            CompletableFuture<Integer> first = flight.submit(runs::incrementAndGet, pool);
+            CompletableFuture<Integer> second = flight.submit(runs::incrementAndGet, pool);
+            release.countDown();
+
+            assertEquals(1, leader.get(5, TimeUnit.SECONDS));
+            assertEquals(1, first.get(5, TimeUnit.SECONDS));
+            assertEquals(1, second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, runs.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void recentResultIsReusedUntilIntervalPasses() {
+        AtomicLong now = new AtomicLong(1_000);
+        SingleFlight<Integer> flight = new SingleFlight<>(500, now::get);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertEquals(1, flight.run(runs::incrementAndGet));
+        now.addAndGet(499);
+        assertEquals(1, flight.run(runs::incrementAndGet));
+        now.addAndGet(1);
+        assertEquals(2, flight.run(runs::incrementAndGet));
+    }
+
+    @Test
+    void failureIsRethrownAndNotReused() {
+        SingleFlight<Integer> flight = new SingleFlight<>(60_000);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> flight.run(() -> { throw new IllegalStateException("down"); }));
+        assertEquals("down", error.getMessage());
+        assertEquals(7, flight.run(() -> 7));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
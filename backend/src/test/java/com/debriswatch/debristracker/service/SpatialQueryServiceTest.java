@@ -0,0 +1,81 @@
+package com.debriswatch.debristracker.service;
+
+import com.debriswatch.debristracker.dto.OrbitResponseDto;
+import com.debriswatch.debristracker.dto.SpatialQueryDto;
+import com.debriswatch.debristracker.model.CatalogStore;
+import com.debriswatch.debristracker.model.OrbitSnapshot;
+import com.debriswatch.debristracker.model.PositionBatch;
+import com.debriswatch.debristracker.model.TleData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SpatialQueryServiceTest {
+
+    private SpatialQueryService service;
+
+    private static TleData tle(int noradId, String name, String type) {
+        TleData tle = new TleData();
+        tle.setNoradCatId(noradId);
+        tle.setObjectName(name);
+        tle.setObjectType(type);
+        return tle;
+    }
+
+    // objects along the equator, 1 degree apart, all at 550 km but the last one
+    @BeforeEach
+    void setUp() {
+        CatalogStore catalog = CatalogStore.from(List.of(tle(1, "A", "PAYLOAD"), tle(2, "B DEB", "DEBRIS"),
+                tle(3, "C", "PAYLOAD"), tle(4, "D R/B", "ROCKET BODY")));
+        PositionBatch batch = new PositionBatch(Instant.parse("2024-06-01T00:00:00Z"), 4);
+        for (int i = 0; i < 4; i++) {
+            double altitude = i == 3 ? 800_000 : 550_000;
+            double r = 6_371_000 + altitude;
+            batch.getNoradIds()[i] = i + 1;
+            batch.getLongitude()[i] = i;
+            batch.getAltitude()[i] = altitude;
+            batch.getX()[i] = r * Math.cos(Math.toRadians(i));
+            batch.getY()[i] = r * Math.sin(Math.toRadians(i));
+        }
+        OrbitSnapshotService snapshotService = mock(OrbitSnapshotService.class);
+        when(snapshotService.getCatalog()).thenReturn(catalog);
+        when(snapshotService.getSnapshot()).thenReturn(new OrbitSnapshot(batch, List.of(new OrbitResponseDto("A", 0, 0, 0))));
+        service = new SpatialQueryService(snapshotService, 100);
+    }
+
+    @Test
+    void boxCountsEveryMatchAndKeepsTheLimit() {
+        SpatialQueryDto result = service.inBox(-1, 1, -0.5, 2.5, 0, 600_000, 2);
+
+        assertEquals("2024-06-01T00:00:00Z", result.getComputedAt());
+        assertEquals(3, result.getCount());
+        assertEquals(2, result.getObjects().size());
+        assertEquals("B DEB", result.getObjects().get(1).getObjectName());
+        assertEquals("DEBRIS", result.getObjects().get(1).getObjectType());
+        assertNull(result.getObjects().get(1).getDistance());
+    }
+
+    @Test
+    void nearPointIsSortedByGroundDistance() {
+        SpatialQueryDto result = service.nearPoint(0, 2.9, 150_000, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 10);
+
+        assertEquals(List.of(4, 3), result.getObjects().stream().map(SpatialQueryDto.Match::getNoradId).toList());
+        assertEquals(11_119, result.getObjects().get(0).getDistance(), 1);
+    }
+
+    @Test
+    void shellAndNearestUseTheSnapshot() {
+        assertEquals(List.of(4), service.inShell(700_000, 900_000, 10).getObjects().stream()
+                .map(SpatialQueryDto.Match::getNoradId).toList());
+
+        SpatialQueryDto nearest = service.nearest(1, 2);
+        assertEquals(List.of(2, 3), nearest.getObjects().stream().map(SpatialQueryDto.Match::getNoradId).toList());
+        assertTrue(nearest.getObjects().get(0).getDistance() < nearest.getObjects().get(1).getDistance());
+        assertNull(service.nearest(99, 2));
+    }
+}
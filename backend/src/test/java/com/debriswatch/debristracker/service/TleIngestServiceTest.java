@@ -0,0 +1,124 @@
+package com.debriswatch.debristracker.service;
+
+import com.debriswatch.debristracker.Factory.TleObjectFactory;
+import com.debriswatch.debristracker.model.Debris;
+import com.debriswatch.debristracker.model.TleData;
+import com.debriswatch.debristracker.repository.TleElementSetView;
+import com.debriswatch.debristracker.repository.TleRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TleIngestServiceTest {
+
+    @Mock private TleRepository tleRepo;
+    @Mock private TleObjectFactory tleObjectFactory;
+    @Mock private TlePropagatorCache propagatorCache;
+    @Mock private CurrentTleService currentTleService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TleIngestService ingestService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        ingestService = new TleIngestService(tleRepo, tleObjectFactory, propagatorCache, currentTleService, meterRegistry,
+                TransactionOperations.withoutTransaction());
+    }
+
+    private static TleData elementSet(int noradId, int elementSetNo) {
+        TleData tle = new TleData();
+        tle.setNoradCatId(noradId);
+        tle.setElementSetNo(elementSetNo);
+        tle.setObjectType("DEBRIS");
+        return tle;
+    }
+
+    private static TleData elementSet(int noradId, int elementSetNo, String epoch) {
+        TleData tle = elementSet(noradId, elementSetNo);
+        tle.setEpoch(epoch);
+        return tle;
+    }
+
+    private static TleElementSetView stored(int noradId, int elementSetNo) {
+        return stored(noradId, elementSetNo, null);
+    }
+
+    private static TleElementSetView stored(int noradId, int elementSetNo, Double epochSeconds) {
+        return new TleElementSetView() {
+            public int getNoradCatId() { return noradId; }
+            public int getElementSetNo() { return elementSetNo; }
+            public Double getEpochSeconds() { return epochSeconds; }
+        };
+    }
+
+    @Test
+    void store_savesDebris() {
+        TleData tle = elementSet(12345, 1);
+        Debris mockDebris = new Debris();
+        when(tleObjectFactory.create(tle)).thenReturn(mockDebris);
+
+        assertEquals(1, ingestService.store(List.of(tle)));
+
+        // stored once, as the typed row only
+        verify(tleRepo, times(1)).saveAll(any());
+        verify(tleRepo).saveAll(List.of(mockDebris));
+        verify(propagatorCache).evictOutdated(List.of(tle));
+        verify(currentTleService).advance(List.of(mockDebris));
+    }
+
+    @Test
+    void store_insertsOnlyNewElementSets() {
+        TleData known = elementSet(12345, 998);
+        TleData newer = elementSet(12345, 999);
+        TleData other = elementSet(54321, 10);
+        TleData repeated = elementSet(54321, 10);
+        when(tleRepo.findElementSetsByNoradCatIdIn(List.of(12345, 54321))).thenReturn(List.of(stored(12345, 998)));
+        when(tleObjectFactory.create(any())).thenAnswer(i -> new Debris(i.getArgument(0)));
+
+        assertEquals(2, ingestService.store(List.of(known, newer, other, repeated)));
+
+        verify(tleRepo).saveAll(argThat((List<TleData> saved) -> saved.size() == 2
+                && saved.get(0) instanceof Debris && saved.get(0).getElementSetNo() == 999
+                && saved.get(1).getNoradCatId() == 54321));
+        verify(propagatorCache).evictOutdated(List.of(newer, other));
+        assertEquals(4, meterRegistry.get("tle.ingest.received").counter().count());
+        assertEquals(2, meterRegistry.get("tle.ingest.persisted").counter().count());
+    }
+
+    @Test
+    void store_nothingNewWritesNothing() {
+        TleData known = elementSet(12345, 998);
+        when(tleRepo.findElementSetsByNoradCatIdIn(any())).thenReturn(List.of(stored(12345, 998)));
+
+        assertEquals(0, ingestService.store(List.of(known)));
+
+        verify(tleRepo, never()).saveAll(any());
+        verifyNoInteractions(propagatorCache, currentTleService);
+    }
+
+    @Test
+    void store_sameElementSetNumberWithNewerEpochIsNew() {
+        // CelesTrak numbers every element set 999
+        TleData first = elementSet(25544, 999, "2024-05-29T12:00:00");
+        TleData second = elementSet(25544, 999, "2024-05-30T12:00:00");
+        when(tleRepo.findElementSetsByNoradCatIdIn(List.of(25544)))
+                .thenReturn(List.of(stored(25544, 999, first.getEpochSeconds())));
+        when(tleObjectFactory.create(any())).thenAnswer(i -> new Debris(i.getArgument(0)));
+
+        assertEquals(1, ingestService.store(List.of(first, second)));
+
+        verify(tleRepo).saveAll(argThat((List<TleData> saved) -> saved.size() == 1
+                && saved.get(0).getEpochSeconds() == second.getEpochSeconds()));
+    }
+}
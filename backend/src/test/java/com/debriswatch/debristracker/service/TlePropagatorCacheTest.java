@@ -0,0 +1,78 @@
+package com.debriswatch.debristracker.service;
+
+import com.debriswatch.debristracker.OrekitTestData;
+import com.debriswatch.debristracker.model.TleData;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+
+import java.util.List;
+
+import static com.debriswatch.debristracker.TestTles.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TlePropagatorCacheTest {
+
+    @BeforeAll
+    static void loadOrekitData() {
+        OrekitTestData.load();
+    }
+
+    @Test
+    void sameElementSet_reusesParsedTle() {
+        TlePropagatorCache cache = new TlePropagatorCache(10);
+
+        TLE first = cache.withPropagator(iss(), TLEPropagator::getTLE);
+        TLE second = cache.withPropagator(iss(), TLEPropagator::getTLE);
+
+        assertSame(first, second);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void newerElementSet_replacesEntry() {
+        TlePropagatorCache cache = new TlePropagatorCache(10);
+
+        TLE first = cache.withPropagator(iss(), TLEPropagator::getTLE);
+        TLE second = cache.withPropagator(issNext(), TLEPropagator::getTLE);
+
+        assertNotSame(first, second);
+        assertEquals(1000, second.getElementNumber());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void evictOutdated_dropsOnlyChangedObjects() {
+        TlePropagatorCache cache = new TlePropagatorCache(10);
+        cache.withPropagator(iss(), TLEPropagator::getTLE);
+
+        cache.evictOutdated(List.of(iss()));
+        assertEquals(1, cache.size());
+
+        cache.evictOutdated(List.of(issNext()));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void nestedBorrow_getsDistinctPropagator() {
+        TlePropagatorCache cache = new TlePropagatorCache(10);
+
+        boolean distinct = cache.withPropagator(iss(),
+                outer -> cache.withPropagator(iss(), inner -> inner != outer));
+
+        assertTrue(distinct);
+    }
+
+    @Test
+    void cacheIsBounded() {
+        TlePropagatorCache cache = new TlePropagatorCache(1);
+        TleData other = iss();
+        other.setNoradCatId(99999);
+
+        cache.withPropagator(iss(), TLEPropagator::getTLE);
+        cache.withPropagator(other, TLEPropagator::getTLE);
+
+        assertEquals(1, cache.size());
+    }
+}
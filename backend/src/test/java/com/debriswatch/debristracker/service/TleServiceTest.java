@@ -1,15 +1,20 @@
 package com.debriswatch.debristracker.service;
 
 import com.debriswatch.debristracker.fetcher.SpaceTrackTleFetcher;
+import com.debriswatch.debristracker.repository.CurrentTleRepository;
 import com.debriswatch.debristracker.repository.DebrisRepository;
 import com.debriswatch.debristracker.repository.RocketBodyRepository;
 import com.debriswatch.debristracker.repository.SatelliteRepository;
 import com.debriswatch.debristracker.repository.TleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.mockito.Mockito.*;
 
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,17 +27,23 @@ class TleServiceTest {
     @Mock private DebrisRepository debrisRepository;
     @Mock private RocketBodyRepository rocketBodyRepository;
     @Mock private TleRepository tleRepository;
+    @Mock private CurrentTleRepository currentTleRepository;
 
+    private SimpleMeterRegistry meterRegistry;
     private TleService tleService;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
         tleService = new TleService(
                 tleFetcher,
                 satelliteRepository,
                 debrisRepository,
                 rocketBodyRepository,
-                tleRepository
+                tleRepository,
+                currentTleRepository,
+                meterRegistry,
+                0
         );
     }
 
@@ -48,17 +59,44 @@ class TleServiceTest {
         verify(tleFetcher, times(1)).fetchAndProcess();
     }
 
+    @Test
+    void fetchAndProcessTleDataAsync_runsFetcherOffTheCallingThread() throws Exception {
+        Thread caller = Thread.currentThread();
+        Thread[] ranOn = new Thread[1];
+        doAnswer(invocation -> {
+            ranOn[0] = Thread.currentThread();
+            return null;
+        }).when(tleFetcher).fetchAndProcess();
+
+        tleService.fetchAndProcessTleDataAsync().get();
+
+        verify(tleFetcher, times(1)).fetchAndProcess();
+        assertNotSame(caller, ranOn[0]);
+    }
+
+    @Test
+    void fetchAndProcessTleData_timesEachRunByOutcome() throws Exception {
+        doNothing().doThrow(new IllegalStateException("down")).when(tleFetcher).fetchAndProcess();
+
+        tleService.fetchAndProcessTleData();
+        tleService.fetchAndProcessTleData();
+
+        assertEquals(1, meterRegistry.get("tle.fetch").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("tle.fetch").tag("outcome", "failure").timer().count());
+    }
+
     @Test
     void fetchAndProcessTleData_handlesExceptionGracefully() throws Exception {
         // Arrange
         doThrow(new RuntimeException("TLE fetch failed")).when(tleFetcher).fetchAndProcess();
 
         // Act
-        tleService.fetchAndProcessTleData();
+        boolean fetched = tleService.fetchAndProcessTleData();
 
         // Assert
         verify(tleFetcher, times(1)).fetchAndProcess();
-        // No exception should be thrown; error should be printed
+        // No exception should be thrown; the failure is logged and reported
+        assertFalse(fetched);
     }
 
     @Test
@@ -67,6 +105,7 @@ class TleServiceTest {
         tleService.clearAllTleRelatedData();
 
         // Assert
+        verify(currentTleRepository).deleteAllCurrentTle();
         verify(satelliteRepository).deleteAllSatellites();
         verify(debrisRepository).deleteAllDebris();
         verify(rocketBodyRepository).deleteAllRocketBodies();